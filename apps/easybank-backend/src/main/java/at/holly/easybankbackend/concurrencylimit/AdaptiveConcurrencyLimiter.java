@@ -0,0 +1,173 @@
+package at.holly.easybankbackend.concurrencylimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive Concurrency Limiter
+ * Caps the number of requests in flight and adjusts the cap from observed latency with a
+ * gradient algorithm: a long-term average of response time serves as the no-load baseline, and
+ * every {@code windowSize} samples the limit is scaled by {@code tolerance * baseline / recent}
+ * (clamped to [0.5, 1]) plus a headroom of {@code sqrt(limit)}.
+ * <p>
+ * While latency stays within {@code tolerance} times the baseline the limit keeps growing, so a
+ * healthy service is never throttled; once the database slows down and requests queue up, the
+ * gradient drops below one and the limit shrinks towards what the backend can actually serve.
+ * Requests beyond the limit are rejected immediately instead of waiting in Tomcat until
+ * everything times out at once.
+ * <p>
+ * Exposes {@code easybank.concurrency.limit}, {@code easybank.concurrency.inflight} and
+ * {@code easybank.concurrency.shed}, tagged with the limiter group.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  /** Windows averaged into the latency baseline */
+  private static final double BASELINE_WINDOWS = 100;
+  /** Weight of each new limit estimate */
+  private static final double SMOOTHING = 0.2;
+
+  private final String group;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final int windowSize;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Counter shed;
+  private volatile int limit;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  // Guarded by lock
+  private double estimatedLimit;
+  private double baselineRtt;
+  private long windowRttSum;
+  private int windowCount;
+  private int windowMaxInFlight;
+
+  /**
+   * @param group metric tag, e.g. "public"
+   * @param initialLimit limit before any latency has been observed
+   * @param minLimit lower bound of the limit
+   * @param maxLimit upper bound of the limit
+   * @param tolerance latency growth over the baseline that is still considered healthy (e.g. 2.0)
+   * @param windowSize samples per limit update
+   * @param meterRegistry registry for the limiter metrics
+   */
+  public AdaptiveConcurrencyLimiter(String group, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                    int windowSize, MeterRegistry meterRegistry) {
+    if (minLimit < 1 || maxLimit < minLimit || tolerance < 1 || windowSize < 1) {
+      throw new IllegalArgumentException("Invalid concurrency limit settings for group " + group);
+    }
+    this.group = group;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.windowSize = windowSize;
+    this.estimatedLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+    this.limit = (int) estimatedLimit;
+
+    Gauge.builder("easybank.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit")
+        .tag("group", group)
+        .register(meterRegistry);
+    Gauge.builder("easybank.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+        .description("Requests currently holding a concurrency permit")
+        .tag("group", group)
+        .register(meterRegistry);
+    this.shed = Counter.builder("easybank.concurrency.shed")
+        .description("Requests rejected because the concurrency limit was reached")
+        .tag("group", group)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Take a permit if the limit allows it; every successful call must be paired with {@link #release(long)}
+   *
+   * @return true if the request may proceed, false if it should be shed
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        shed.increment();
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Return a permit and feed the request's latency into the limit
+   *
+   * @param rttNanos time the permit was held
+   */
+  public void release(long rttNanos) {
+    int inFlightBefore = inFlight.getAndDecrement();
+    // A sample that races a limit update is dropped rather than queueing request threads on the lock
+    if (!lock.tryLock()) {
+      return;
+    }
+    try {
+      windowRttSum += Math.max(1, rttNanos);
+      windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+      if (++windowCount >= windowSize) {
+        updateLimit();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void updateLimit() {
+    double recentRtt = (double) windowRttSum / windowCount;
+    int maxInFlight = windowMaxInFlight;
+    windowRttSum = 0;
+    windowCount = 0;
+    windowMaxInFlight = 0;
+
+    if (baselineRtt == 0) {
+      baselineRtt = recentRtt;
+    } else {
+      baselineRtt += (recentRtt - baselineRtt) / BASELINE_WINDOWS;
+    }
+    // Baseline far above recent latency (e.g. after an outage): let it recover faster
+    if (baselineRtt > 2 * recentRtt) {
+      baselineRtt *= 0.95;
+    }
+    // Mostly idle: the window says nothing about how much concurrency the backend can take
+    if (maxInFlight < estimatedLimit / 2) {
+      return;
+    }
+
+    double gradient = Math.clamp(tolerance * baselineRtt / recentRtt, 0.5, 1.0);
+    double candidate = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    estimatedLimit = Math.clamp(estimatedLimit * (1 - SMOOTHING) + candidate * SMOOTHING, minLimit, maxLimit);
+    limit = (int) estimatedLimit;
+  }
+
+  /**
+   * @return limiter group (metric tag)
+   */
+  public String getGroup() {
+    return group;
+  }
+
+  /**
+   * @return current concurrency limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return requests currently holding a permit
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
@@ -0,0 +1,49 @@
+package at.holly.easybankbackend.concurrencylimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Concurrency Limit Configuration
+ * Puts separate adaptive limiters around the public and the authenticated controllers, so a
+ * flood of anonymous traffic cannot take the capacity signed-in customers need (and vice versa).
+ * <p>
+ * The transaction export and the internal bulk feed are not limited: they stream for as long as
+ * the data takes, and their latency would teach the limiter a meaningless baseline.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "easybank.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+  static final String[] PUBLIC_PATHS = {"/api/v1/notices", "/api/v1/contact", "/api/v1/register"};
+  static final String[] UNLIMITED_PATHS = {"/api/v1/myBalance/export", "/api/v1/internal/**"};
+
+  private final ConcurrencyLimitInterceptor publicLimit;
+  private final ConcurrencyLimitInterceptor authenticatedLimit;
+
+  public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+    this.publicLimit = interceptor("public", properties.publicRoutes(), properties, meterRegistry);
+    this.authenticatedLimit = interceptor("authenticated", properties.authenticated(), properties, meterRegistry);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(publicLimit).addPathPatterns(PUBLIC_PATHS);
+    registry.addInterceptor(authenticatedLimit)
+        .addPathPatterns("/api/v1/**")
+        .excludePathPatterns(PUBLIC_PATHS)
+        .excludePathPatterns(UNLIMITED_PATHS);
+  }
+
+  private static ConcurrencyLimitInterceptor interceptor(String group, ConcurrencyLimitProperties.Group limits,
+                                                         ConcurrencyLimitProperties properties,
+                                                         MeterRegistry meterRegistry) {
+    return new ConcurrencyLimitInterceptor(new AdaptiveConcurrencyLimiter(group, limits.initialLimit(),
+        limits.minLimit(), limits.maxLimit(), properties.tolerance(), properties.windowSize(), meterRegistry));
+  }
+}
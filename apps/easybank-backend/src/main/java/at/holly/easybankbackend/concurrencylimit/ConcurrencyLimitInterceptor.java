@@ -0,0 +1,55 @@
+package at.holly.easybankbackend.concurrencylimit;
+
+import at.holly.easybankbackend.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Concurrency Limit Interceptor
+ * Holds an {@link AdaptiveConcurrencyLimiter} permit for the duration of a controller call.
+ * When no permit is available the request fails fast with {@link ServiceOverloadedException},
+ * which GlobalExceptionHandler turns into 503 with Retry-After.
+ * <p>
+ * The permit is tracked in a request attribute, so an async re-dispatch of the same request
+ * neither takes a second permit nor leaks the first.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+  static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final String permitAttribute;
+
+  public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+    this.limiter = limiter;
+    this.permitAttribute = ConcurrencyLimitInterceptor.class.getName() + "." + limiter.getGroup();
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (request.getAttribute(permitAttribute) != null) {
+      return true;
+    }
+    if (!limiter.tryAcquire()) {
+      throw new ServiceOverloadedException("Concurrency limit reached for " + limiter.getGroup() + " routes",
+          RETRY_AFTER);
+    }
+    request.setAttribute(permitAttribute, System.nanoTime());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(permitAttribute) instanceof Long startNanos) {
+      request.removeAttribute(permitAttribute);
+      limiter.release(System.nanoTime() - startNanos);
+    }
+  }
+
+  AdaptiveConcurrencyLimiter getLimiter() {
+    return limiter;
+  }
+}
@@ -0,0 +1,33 @@
+package at.holly.easybankbackend.concurrencylimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Concurrency limit configuration ({@code easybank.concurrency-limit.*})
+ *
+ * @param enabled whether controllers are guarded by the limiter
+ * @param tolerance latency growth over the baseline that is still considered healthy
+ * @param windowSize samples per limit update
+ * @param publicRoutes limits for unauthenticated routes (notices, contact, register)
+ * @param authenticated limits for all other {@code /api/v1/**} routes
+ */
+@ConfigurationProperties("easybank.concurrency-limit")
+public record ConcurrencyLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("2.0") double tolerance,
+    @DefaultValue("20") int windowSize,
+    @DefaultValue Group publicRoutes,
+    @DefaultValue Group authenticated) {
+
+  /**
+   * Limit bounds of one route group
+   *
+   * @param initialLimit limit before any latency has been observed
+   * @param minLimit lower bound
+   * @param maxLimit upper bound
+   */
+  public record Group(@DefaultValue("20") int initialLimit, @DefaultValue("2") int minLimit,
+                      @DefaultValue("200") int maxLimit) {
+  }
+}
@@ -0,0 +1,107 @@
+package at.holly.easybankbackend.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Query Fan-Out
+ * Opens {@link QueryScope}s for services that run several independent read queries per request
+ * (page fetch plus summary aggregates). Toggled by easybank.query-fan-out.enabled:
+ * <ul>
+ *   <li>true - queries run concurrently on virtual threads, each in its own read-only transaction,
+ *       so request latency is max() of the queries instead of sum()</li>
+ *   <li>false - queries run one after another in the caller's transaction</li>
+ * </ul>
+ * Scope latency is recorded as easybank.query.fanout{scope, mode} to compare the two modes; meters
+ * are registered once per scope name, not per request.
+ * <p>
+ * Connections: the caller usually already holds a pooled connection (its own read-only transaction)
+ * while the forks borrow more, so unbounded forking would be nested acquisition - under load every
+ * connection ends up held by a caller waiting for forks that wait for a connection. Forks therefore
+ * draw on a shared budget (easybank.query-fan-out.max-connections, kept well below the pool size).
+ * A fork never waits for the budget: when it is used up the query runs inline in the caller's
+ * transaction instead, counted as easybank.query.fanout.inline{scope}. A scope opened inside a forked
+ * query (e.g. the dashboard forking the cards service, which opens its own scope) runs its queries
+ * inline in that fork's transaction, so one request holds at most one connection per top-level fork.
+ * <p>
+ * Consistency: forked queries run in separate transactions, so a page and its summary aggregates
+ * are not read from one snapshot - a write committing in between can make them disagree (e.g. the
+ * count is one higher than the rows listed). That is acceptable for display; anything that must
+ * reconcile (exports, balance verification) does not use the fan-out.
+ */
+@Component
+public class QueryFanOut {
+
+  private static final String METRIC = "easybank.query.fanout";
+
+  private final boolean parallel;
+  private final Semaphore connections;
+  private final TransactionTemplate readOnlyTransaction;
+  private final MeterRegistry meterRegistry;
+  // Per scope name: the timer for this instance's mode, the timer for nested scopes, the inline counter
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, Timer> nestedTimers = new ConcurrentHashMap<>();
+  private final Map<String, Counter> inlineCounters = new ConcurrentHashMap<>();
+
+  public QueryFanOut(@Value("${easybank.query-fan-out.enabled:false}") boolean parallel,
+                     @Value("${easybank.query-fan-out.max-connections:5}") int maxConnections,
+                     PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry) {
+    if (maxConnections < 1) {
+      throw new IllegalArgumentException("easybank.query-fan-out.max-connections must be at least 1");
+    }
+    this.parallel = parallel;
+    this.connections = new Semaphore(maxConnections);
+    this.meterRegistry = meterRegistry;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Open a new scope
+   *
+   * @param name scope name used as metric tag (e.g. "cards")
+   * @return the scope, to be used in try-with-resources
+   */
+  public QueryScope open(String name) {
+    boolean nested = parallel && QueryScope.isForked();
+    if (nested) {
+      Timer timer = nestedTimers.computeIfAbsent(name, key -> timer(key, "nested"));
+      return new QueryScope(null, null, readOnlyTransaction, timer, null);
+    }
+    Timer timer = timers.computeIfAbsent(name, key -> timer(key, parallel ? "parallel" : "sequential"));
+    if (!parallel) {
+      return new QueryScope(null, null, readOnlyTransaction, timer, null);
+    }
+    Counter inline = inlineCounters.computeIfAbsent(name, key -> Counter.builder(METRIC + ".inline")
+        .description("Forked queries run inline because the fan-out connection budget was used up")
+        .tag("scope", key)
+        .register(meterRegistry));
+    return new QueryScope(Executors.newVirtualThreadPerTaskExecutor(), connections, readOnlyTransaction, timer, inline);
+  }
+
+  private Timer timer(String name, String mode) {
+    return Timer.builder(METRIC)
+        .description("Latency of fanned-out read queries per request")
+        .tag("scope", name)
+        .tag("mode", mode)
+        .register(meterRegistry);
+  }
+
+  /**
+   * @return whether queries are fanned out in parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+}
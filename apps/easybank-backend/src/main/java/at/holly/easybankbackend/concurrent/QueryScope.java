@@ -0,0 +1,169 @@
+package at.holly.easybankbackend.concurrent;
+
+import at.holly.easybankbackend.shard.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Query Scope
+ * Structured fan-out of independent read queries, modelled on StructuredTaskScope.ShutdownOnFailure
+ * (which is still a preview API on Java 21).
+ * <p>
+ * In parallel mode every forked query runs on its own virtual thread inside its own read-only
+ * transaction, as long as a connection permit of the fan-out budget is free - otherwise it runs
+ * inline (see {@link QueryFanOut}); {@link #join()} waits for all of them and fails fast on the first
+ * error, cancelling the rest; {@link #close()} never lets a task outlive the scope and returns the
+ * permits it took.
+ * In sequential mode forked queries run immediately on the caller's thread and transaction.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * try (QueryScope scope = queryFanOut.open("cards")) {
+ *   Supplier<BigDecimal> limit = scope.fork(() -> cardRepository.sumTotalLimitByUserId(userId));
+ *   Supplier<Long> count = scope.fork(() -> cardRepository.countByUserId(userId));
+ *   scope.join();
+ *   ... limit.get(), count.get()
+ * }
+ * }</pre>
+ */
+public class QueryScope implements AutoCloseable {
+
+  // Set on the virtual thread of a forked query, so scopes opened inside it do not fan out again
+  private static final ThreadLocal<Boolean> FORKED = new ThreadLocal<>();
+
+  private final ExecutorService executor;
+  private final Semaphore connections;
+  private final Counter inline;
+  private final CompletionService<Object> completionService;
+  private final TransactionTemplate readOnlyTransaction;
+  private final List<Future<Object>> futures = new ArrayList<>();
+  private final Timer timer;
+  private final Timer.Sample sample;
+  private int permits;
+
+  /**
+   * @param executor executor for forked queries, or null to run them inline (sequential mode)
+   * @param connections fan-out connection budget, one permit per running fork (parallel mode)
+   * @param readOnlyTransaction template used to wrap each forked query in parallel mode
+   * @param timer timer recording the lifetime of the scope
+   * @param inline counter of forks run inline for lack of a permit (parallel mode)
+   */
+  QueryScope(ExecutorService executor, Semaphore connections, TransactionTemplate readOnlyTransaction,
+             Timer timer, Counter inline) {
+    this.executor = executor;
+    this.connections = connections;
+    this.inline = inline;
+    this.completionService = executor != null ? new ExecutorCompletionService<>(executor) : null;
+    this.readOnlyTransaction = readOnlyTransaction;
+    this.timer = timer;
+    this.sample = Timer.start();
+  }
+
+  /**
+   * Start a query in this scope
+   *
+   * @param query the query to run
+   * @return supplier of the result, valid after {@link #join()}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Supplier<T> fork(Supplier<T> query) {
+    if (executor == null) {
+      return runInline(query);
+    }
+    // Never wait for a permit while the caller holds its own connection - run in its transaction instead.
+    // Permits are returned on close(), so a fork cancelled before it started cannot leak one
+    if (!connections.tryAcquire()) {
+      inline.increment();
+      return runInline(query);
+    }
+    permits++;
+    // Carry the caller's SecurityContext and shard over, so per-user routing (read-your-writes,
+    // sharding) sees the same user; the shard is bound before the transaction's first statement
+    Integer shard = ShardContext.current();
+    Future<Object> future = completionService.submit(new DelegatingSecurityContextCallable<>(
+        () -> ShardContext.callOn(shard, () -> readOnlyTransaction.execute(status -> runForked(query)))));
+    futures.add(future);
+    return () -> (T) future.resultNow();
+  }
+
+  private static <T> T runForked(Supplier<T> query) {
+    FORKED.set(Boolean.TRUE);
+    try {
+      return query.get();
+    } finally {
+      FORKED.remove();
+    }
+  }
+
+  /**
+   * @return whether the current thread runs a forked query of some scope
+   */
+  static boolean isForked() {
+    return FORKED.get() != null;
+  }
+
+  private static <T> Supplier<T> runInline(Supplier<T> query) {
+    T value = query.get();
+    return () -> value;
+  }
+
+  /**
+   * Wait for all forked queries. On the first failure the remaining queries are cancelled
+   * and the failure is rethrown.
+   */
+  public void join() {
+    if (executor == null) {
+      return;
+    }
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        completionService.take().get();
+      }
+    } catch (ExecutionException e) {
+      cancelAll();
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Parallel query failed", e.getCause());
+    } catch (InterruptedException e) {
+      cancelAll();
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for parallel queries");
+    }
+  }
+
+  /**
+   * Cancel anything still running and wait for all threads of this scope to finish
+   */
+  @Override
+  public void close() {
+    if (executor != null) {
+      cancelAll();
+      executor.close();
+      connections.release(permits);
+      permits = 0;
+    }
+    sample.stop(timer);
+  }
+
+  private void cancelAll() {
+    for (Future<Object> future : futures) {
+      if (!future.isDone()) {
+        future.cancel(true);
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package at.holly.easybankbackend.concurrent;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped Lock
+ * Fixed-size table of locks indexed by key hash.
+ * Keys that map to different stripes never contend, and memory stays bounded
+ * regardless of how many distinct keys are seen (no per-key cleanup needed).
+ * Uses ReentrantLock instead of monitors so virtual threads are not pinned while waiting.
+ */
+public class StripedLock {
+
+  private final ReentrantLock[] stripes;
+  private final int mask;
+
+  /**
+   * Create a striped lock table
+   *
+   * @param minStripes minimum number of stripes (rounded up to the next power of two)
+   */
+  public StripedLock(int minStripes) {
+    if (minStripes <= 0) {
+      throw new IllegalArgumentException("Stripe count must be positive");
+    }
+    int size = Integer.highestOneBit(minStripes - 1) << 1;
+    if (size <= 0) {
+      size = 1;
+    }
+    this.stripes = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Get the lock guarding the given key
+   *
+   * @param key the key to lock on (never {@code null})
+   * @return the stripe lock for the key
+   */
+  public ReentrantLock get(Object key) {
+    return forHash(key.hashCode());
+  }
+
+  /**
+   * Get the lock guarding a precomputed hash (no boxing for primitive keys)
+   *
+   * @param hash the key hash
+   * @return the stripe lock for the hash
+   */
+  public ReentrantLock forHash(int hash) {
+    int h = hash;
+    // Spread high bits so keys with similar hashes land on different stripes
+    h ^= (h >>> 16);
+    return stripes[h & mask];
+  }
+
+  /**
+   * @return the number of stripes in this table
+   */
+  public int size() {
+    return stripes.length;
+  }
+}
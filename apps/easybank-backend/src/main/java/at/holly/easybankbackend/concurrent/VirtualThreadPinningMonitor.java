@@ -0,0 +1,112 @@
+package at.holly.easybankbackend.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual Thread Pinning Monitor
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process while virtual threads are enabled.
+ * A virtual thread is pinned when it blocks inside a {@code synchronized} block or a native frame,
+ * which holds its carrier thread hostage and silently caps concurrency at the carrier pool size.
+ * <p>
+ * Every pinned event above the threshold is recorded in the {@code easybank.virtualthreads.pinned}
+ * timer (tagged with the top application frame, one timer per frame) and logged with its stack.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final String METRIC = "easybank.virtualthreads.pinned";
+  private static final String APP_PACKAGE = "at.holly.";
+  private static final int LOGGED_FRAMES = 8;
+
+  private final MeterRegistry meterRegistry;
+  private final Duration threshold;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                     @Value("${easybank.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+    this.meterRegistry = meterRegistry;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public void start() {
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::onPinned);
+    stream.startAsync();
+    log.info("Virtual thread pinning monitor started (threshold {})", threshold);
+  }
+
+  @Override
+  public void stop() {
+    if (stream != null) {
+      stream.close();
+      stream = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  void onPinned(RecordedEvent event) {
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    String site = pinningSite(stackTrace);
+    timers.computeIfAbsent(site, key -> Timer.builder(METRIC)
+            .description("Virtual thread blocked while pinned to its carrier thread")
+            .tag("site", key)
+            .register(meterRegistry))
+        .record(event.getDuration());
+    log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, formatStack(stackTrace));
+  }
+
+  /**
+   * First application frame on the stack, so the metric points at code we can fix
+   * (falls back to the top frame, or "unknown" without a stack)
+   */
+  private static String pinningSite(RecordedStackTrace stackTrace) {
+    if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+      return "unknown";
+    }
+    return stackTrace.getFrames().stream()
+        .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+        .findFirst()
+        .or(() -> stackTrace.getFrames().stream().findFirst())
+        .map(VirtualThreadPinningMonitor::formatFrame)
+        .orElse("unknown");
+  }
+
+  private static String formatStack(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "";
+    }
+    return stackTrace.getFrames().stream()
+        .limit(LOGGED_FRAMES)
+        .map(frame -> "\n\tat " + formatFrame(frame))
+        .collect(Collectors.joining());
+  }
+
+  private static String formatFrame(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+  }
+}
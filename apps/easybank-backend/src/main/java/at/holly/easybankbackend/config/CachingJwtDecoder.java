@@ -0,0 +1,150 @@
+package at.holly.easybankbackend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Caching JWT Decoder
+ * Remembers tokens that already passed signature verification and validation, so a client
+ * polling with the same bearer token pays the RSA verify only once.
+ * <p>
+ * Entries are keyed by the SHA-256 of the raw token (raw tokens are never used as keys) and expire
+ * at the earlier of {@code exp - expirySkew} and {@code verifiedAt + maxTtl}: an entry never outlives
+ * its token, and a token verified with a key that is later rotated out is accepted from cache no
+ * longer than the JWK set itself is cached by the delegate. Tokens without {@code exp} and failed
+ * verifications are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+  static final String CACHE_NAME = "verifiedJwt";
+
+  private final JwtDecoder delegate;
+  private final Cache<String, Jwt> cache;
+  private final Duration expirySkew;
+  private final Duration maxTtl;
+  private final Clock clock;
+
+  /**
+   * @param delegate the verifying decoder
+   * @param maximumSize maximum number of cached tokens
+   * @param expirySkew how long before {@code exp} an entry is dropped
+   * @param maxTtl upper bound on how long a verification is reused
+   * @param meterRegistry registry for hit/miss metrics (cache name "verifiedJwt")
+   */
+  public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration expirySkew, Duration maxTtl,
+                           MeterRegistry meterRegistry) {
+    this(delegate, maximumSize, expirySkew, maxTtl, meterRegistry, Clock.systemUTC());
+  }
+
+  CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration expirySkew, Duration maxTtl,
+                    MeterRegistry meterRegistry, Clock clock) {
+    this.delegate = delegate;
+    this.expirySkew = expirySkew;
+    this.maxTtl = maxTtl;
+    this.clock = clock;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new TokenExpiry())
+        .ticker(clockTicker(clock))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    Jwt cached = getIfVerified(token);
+    if (cached != null) {
+      return cached;
+    }
+
+    Jwt jwt = delegate.decode(token);
+    if (jwt.getExpiresAt() != null && usableUntil(jwt).isAfter(clock.instant())) {
+      cache.put(sha256(token), jwt);
+    }
+    return jwt;
+  }
+
+  /**
+   * Look up a token that already passed verification, without verifying anything
+   *
+   * @param token the raw bearer token
+   * @return the cached Jwt, or {@code null} if the token has not been verified (or its entry expired)
+   */
+  public Jwt getIfVerified(String token) {
+    Jwt cached = cache.getIfPresent(sha256(token));
+    // Compare the raw token too: a hash collision must never authenticate a different token
+    if (cached != null && cached.getTokenValue().equals(token) && usableUntil(cached).isAfter(clock.instant())) {
+      return cached;
+    }
+    return null;
+  }
+
+  /**
+   * Drop every cached verification (e.g. after an emergency key revocation)
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private Instant usableUntil(Jwt jwt) {
+    return jwt.getExpiresAt().minus(expirySkew);
+  }
+
+  /**
+   * Per-entry lifetime: until shortly before exp, capped at maxTtl
+   */
+  private class TokenExpiry implements Expiry<String, Jwt> {
+
+    @Override
+    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+      Duration untilExpiry = Duration.between(clock.instant(), usableUntil(jwt));
+      Duration lifetime = untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+      return Math.max(0, lifetime.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  private static Ticker clockTicker(Clock clock) {
+    if (clock.equals(Clock.systemUTC())) {
+      return Ticker.systemTicker();
+    }
+    return () -> {
+      Instant now = clock.instant();
+      return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    };
+  }
+
+  private static String sha256(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -19,7 +19,8 @@ public class CorsConfig {
     ));
     cors.setAllowedMethods(List.of("GET","POST","PUT","DELETE","OPTIONS"));
     cors.setAllowedHeaders(List.of("Content-Type","Authorization"));
-    cors.setExposedHeaders(List.of("Authorization"));
+    // Retry-After on 429/503, so clients can back off as told
+    cors.setExposedHeaders(List.of("Authorization", "Retry-After"));
     cors.setAllowCredentials(true);
     cors.setMaxAge(1800L); // 30 min preflight cache
 
@@ -0,0 +1,35 @@
+package at.holly.easybankbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Duration;
+
+/**
+ * JWT Decoder Configuration
+ * Verifies bearer tokens against the Keycloak JWK set (same as Spring Boot's default decoder)
+ * and puts a verified-token cache in front of it. Used by both SecurityConfig and ProdSecurityConfig.
+ */
+@Configuration
+public class JwtDecoderConfig {
+
+  @Bean
+  public JwtDecoder jwtDecoder(
+      @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+      @Value("${easybank.jwt-cache.enabled:true}") boolean cacheEnabled,
+      @Value("${easybank.jwt-cache.maximum-size:10000}") long maximumSize,
+      @Value("${easybank.jwt-cache.expiry-skew:30s}") Duration expirySkew,
+      @Value("${easybank.jwt-cache.max-ttl:5m}") Duration maxTtl,
+      MeterRegistry meterRegistry) {
+    NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
+    if (!cacheEnabled) {
+      return decoder;
+    }
+    return new CachingJwtDecoder(decoder, maximumSize, expirySkew, maxTtl, meterRegistry);
+  }
+
+}
@@ -10,10 +10,19 @@ import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keycloak Role Converter
+ * Maps Keycloak realm roles to Spring Security authorities.
+ * Runs on every authenticated request, and most users share a handful of role combinations,
+ * so authority sets are interned per distinct role list: the hit path is a single map lookup
+ * that returns a shared immutable set without allocating.
+ */
 @Component
 @Slf4j
 public class KeyCloakRoleConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
@@ -21,19 +30,32 @@ public class KeyCloakRoleConverter implements Converter<Jwt, Collection<GrantedA
   private static final String REALM_ACCESS_CLAIM = "realm_access";
   private static final String ROLES_CLAIM = "roles";
   private static final String ROLE_PREFIX = "ROLE_";
+  private static final int DEFAULT_MAXIMUM_ROLE_SETS = 256;
+
+  private final Map<List<String>, Set<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+  private final int maximumRoleSets;
+
+  public KeyCloakRoleConverter() {
+    this(DEFAULT_MAXIMUM_ROLE_SETS);
+  }
+
+  /**
+   * @param maximumRoleSets maximum number of distinct role lists to intern (0 disables caching);
+   *                        beyond that, conversions are computed but not cached
+   */
+  KeyCloakRoleConverter(int maximumRoleSets) {
+    this.maximumRoleSets = maximumRoleSets;
+  }
 
   /**
    * Converts Keycloak JWT realm roles to Spring Security GrantedAuthority objects.
    * Extracts roles from the 'realm_access.roles' claim and prefixes them with 'ROLE_'.
    *
    * @param jwt the JWT token containing Keycloak claims (never {@code null})
-   * @return a collection of GrantedAuthority objects, or empty collection if no roles found
+   * @return an immutable collection of GrantedAuthority objects, or empty collection if no roles found
    */
   @Override
   public Collection<GrantedAuthority> convert(@NonNull Jwt jwt) {
-    log.info("Converting Keycloak JWT roles to Spring Security authorities");
-    log.debug("JWT Subject: {}, Issuer: {}", jwt.getSubject(), jwt.getIssuer());
-
     Map<String, Object> realmAccess = extractRealmAccess(jwt);
 
     if (realmAccess == null || realmAccess.isEmpty()) {
@@ -48,21 +70,30 @@ public class KeyCloakRoleConverter implements Converter<Jwt, Collection<GrantedA
       return Collections.emptySet();
     }
 
-    Set<GrantedAuthority> authorities = roles.stream()
-      .map(role -> new SimpleGrantedAuthority(ROLE_PREFIX + role))
-      .collect(Collectors.toSet());
-
-    log.info("Converted {} Keycloak roles to authorities: {}", authorities.size(),
-      authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()));
+    // Claim arrays are Lists, so the claim itself is the lookup key - no copy on the hit path
+    List<String> roleList = roles instanceof List<String> list ? list : List.copyOf(roles);
+    Set<GrantedAuthority> authorities = authoritiesByRoles.get(roleList);
+    if (authorities == null) {
+      authorities = authoritiesByRoles.size() < maximumRoleSets
+          ? authoritiesByRoles.computeIfAbsent(List.copyOf(roleList), KeyCloakRoleConverter::toAuthorities)
+          : toAuthorities(roleList);
+      log.debug("Converted {} Keycloak roles to authorities: {}", roleList.size(), roleList);
+    }
     return authorities;
   }
 
+  private static Set<GrantedAuthority> toAuthorities(List<String> roles) {
+    Set<GrantedAuthority> authorities = new HashSet<>();
+    for (String role : roles) {
+      authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role));
+    }
+    return Collections.unmodifiableSet(authorities);
+  }
+
   @SuppressWarnings("unchecked")
   private Map<String, Object> extractRealmAccess(Jwt jwt) {
     try {
-      Map<String, Object> realmAccess = (Map<String, Object>) jwt.getClaims().get(REALM_ACCESS_CLAIM);
-      log.debug("Extracted realm_access: {}", realmAccess);
-      return realmAccess;
+      return (Map<String, Object>) jwt.getClaims().get(REALM_ACCESS_CLAIM);
     } catch (ClassCastException e) {
       log.error("realm_access claim has unexpected type. Available claims: {}", jwt.getClaims().keySet(), e);
       return null;
@@ -72,9 +103,7 @@ public class KeyCloakRoleConverter implements Converter<Jwt, Collection<GrantedA
   @SuppressWarnings("unchecked")
   private Collection<String> extractRoles(Map<String, Object> realmAccess) {
     try {
-      Collection<String> roles = (Collection<String>) realmAccess.get(ROLES_CLAIM);
-      log.debug("Extracted roles from realm_access: {}", roles);
-      return roles;
+      return (Collection<String>) realmAccess.get(ROLES_CLAIM);
     } catch (ClassCastException e) {
       log.error("roles claim has unexpected type in realm_access", e);
       return null;
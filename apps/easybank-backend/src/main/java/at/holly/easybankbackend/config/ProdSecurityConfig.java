@@ -26,7 +26,8 @@ public class ProdSecurityConfig {
       .redirectToHttps(withDefaults()) //only https
       .authorizeHttpRequests(
         (requests) -> requests
-          .requestMatchers("/api/v1/myAccount", "/api/v1/myLoans", "/api/v1/myCards", "/api/v1/myBalance", "/api/v1/user").authenticated()
+          .requestMatchers("/api/v1/myAccount", "/api/v1/myLoans", "/api/v1/myCards", "/api/v1/myBalance", "/api/v1/myBalance/**", "/api/v1/dashboard", "/api/v1/user").authenticated()
+          .requestMatchers("/api/v1/internal/**").hasRole("INGEST")
           .requestMatchers("/api/v1/register", "/api/v1/contact", "/api/v1/notices", "/error").permitAll()
           .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
       )
@@ -0,0 +1,13 @@
+package at.holly.easybankbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables @Scheduled background jobs (e.g. balance summary verification)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
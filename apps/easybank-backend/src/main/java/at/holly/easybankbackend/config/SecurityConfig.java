@@ -30,7 +30,8 @@ public class SecurityConfig {
       .sessionManagement(sessionManagement -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
       .authorizeHttpRequests(
         (requests) -> requests
-          .requestMatchers("/api/v1/myAccount", "/api/v1/myLoans", "/api/v1/myCards", "/api/v1/myBalance", "/api/v1/user", "/api/v1/logout").hasRole("USER")
+          .requestMatchers("/api/v1/myAccount", "/api/v1/myLoans", "/api/v1/myCards", "/api/v1/myBalance", "/api/v1/myBalance/**", "/api/v1/dashboard", "/api/v1/user", "/api/v1/logout").hasRole("USER")
+          .requestMatchers("/api/v1/internal/**").hasRole("INGEST")
           .requestMatchers("/api/v1/register", "/api/v1/contact", "/api/v1/notices", "/error").permitAll()
           .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
           .requestMatchers("/actuator/**").permitAll()
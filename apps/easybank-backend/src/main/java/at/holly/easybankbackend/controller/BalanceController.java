@@ -2,16 +2,31 @@ package at.holly.easybankbackend.controller;
 
 import at.holly.easybankbackend.dto.AccountTransactionDto;
 import at.holly.easybankbackend.dto.BalanceSummary;
+import at.holly.easybankbackend.dto.CursorPageResponse;
 import at.holly.easybankbackend.dto.PageResponse;
 import at.holly.easybankbackend.service.BalanceService;
+import at.holly.easybankbackend.service.TransactionExportService;
+import at.holly.easybankbackend.service.UserDataVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * Balance Controller
@@ -23,24 +38,123 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class BalanceController {
 
+  private static final int MAX_SCROLL_SIZE = 100;
+  private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+  private static final MediaType APPLICATION_NDJSON = MediaType.APPLICATION_NDJSON;
+
   private final BalanceService balanceService;
+  private final TransactionExportService transactionExportService;
+  private final ConditionalResponses conditionalResponses;
 
   /**
    * Get transaction history for authenticated user (paginated) with balance summary
-   * Supports query parameters: ?page=0&size=10&sort=transactionDt,desc
+   * Supports query parameters: ?page=0&size=10&sort=transactionDt,desc&slice=true
+   * With slice=true the COUNT query is skipped and totalElements is taken from the summary metadata
    * Returns PageResponse with:
    * - page: Spring Data Page with transaction content and pagination metadata
    * - metadata: BalanceSummary with current balance, total credits/debits (computed from ALL transactions)
    *
    * @param authentication the authentication object containing JWT token
    * @param pageable pagination and sorting parameters (default: page 0, size 20, sorted by transactionDt desc)
-   * @return page response with transaction DTOs and balance summary
+   * @param slice whether to use count-free slice mode (default: false)
+   * @param webRequest the current request (for If-None-Match)
+   * @return page response with transaction DTOs and balance summary, or 304 Not Modified
    */
   @GetMapping("/myBalance")
-  public PageResponse<AccountTransactionDto, BalanceSummary> getBalanceDetails(
+  public ResponseEntity<PageResponse<AccountTransactionDto, BalanceSummary>> getBalanceDetails(
       Authentication authentication,
-      @PageableDefault(size = 20, sort = "transactionDt", direction = Sort.Direction.DESC) Pageable pageable) {
-    return balanceService.getTransactionsWithSummary(authentication, pageable);
+      @PageableDefault(size = 20, sort = "transactionDt", direction = Sort.Direction.DESC) Pageable pageable,
+      @RequestParam(defaultValue = "false") boolean slice,
+      WebRequest webRequest) {
+    return conditionalResponses.page(authentication, UserDataVersions.Resource.BALANCE, pageable, slice, webRequest,
+        user -> balanceService.getTransactionsWithSummary(user, pageable, slice));
+  }
+
+  /**
+   * Get transaction history for authenticated user using keyset (cursor) pagination
+   * Supports query parameters: ?after=CURSOR&size=50
+   * Omit "after" for the first page, then pass back nextCursor from the previous response.
+   * Pages are ordered by transactionDt desc, transactionId desc; no total count is computed.
+   *
+   * @param authentication the authentication object containing JWT token
+   * @param after opaque cursor from the previous page (optional)
+   * @param size page size (1-100, default 20)
+   * @return cursor page response with transaction DTOs, next cursor and balance summary
+   */
+  @GetMapping("/myBalance/scroll")
+  public CursorPageResponse<AccountTransactionDto, BalanceSummary> scrollBalanceDetails(
+      Authentication authentication,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "20") int size) {
+    if (size < 1 || size > MAX_SCROLL_SIZE) {
+      throw new IllegalArgumentException("size must be between 1 and " + MAX_SCROLL_SIZE);
+    }
+    return balanceService.getTransactionsAfter(authentication, after, size);
+  }
+
+  /**
+   * Export the full transaction history of the authenticated user
+   * Streams CSV (Accept: text/csv) or NDJSON (Accept: application/x-ndjson, the default when Accept
+   * is absent or *&#47;*); any other Accept gets 406, a malformed one 400.
+   * ?format=csv|ndjson overrides the Accept header for plain browser downloads.
+   * Rows are written as they are read from the database, so memory use is constant.
+   *
+   * @param authentication the authentication object containing JWT token
+   * @param format explicit format override (optional)
+   * @param accept the Accept header (optional)
+   * @return streaming response body with the export
+   * @throws HttpMediaTypeNotAcceptableException if the Accept header allows neither CSV nor NDJSON
+   */
+  @GetMapping("/myBalance/export")
+  public ResponseEntity<StreamingResponseBody> exportBalanceDetails(
+      Authentication authentication,
+      @RequestParam(required = false) String format,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+      throws HttpMediaTypeNotAcceptableException {
+    TransactionExportService.Format exportFormat = resolveExportFormat(format, accept);
+    MediaType contentType = exportFormat == TransactionExportService.Format.CSV ? TEXT_CSV : APPLICATION_NDJSON;
+    String filename = "transactions." + exportFormat.name().toLowerCase();
+
+    return ResponseEntity.ok()
+        .contentType(contentType)
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+        .body(transactionExportService.exportTransactions(authentication, exportFormat));
+  }
+
+  /**
+   * Pick the export format from the explicit parameter, else the most preferred acceptable media type
+   */
+  private TransactionExportService.Format resolveExportFormat(String format, String accept)
+      throws HttpMediaTypeNotAcceptableException {
+    if (format != null) {
+      try {
+        return TransactionExportService.Format.valueOf(format.toUpperCase());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("format must be csv or ndjson");
+      }
+    }
+    if (accept == null || accept.isBlank()) {
+      return TransactionExportService.Format.NDJSON;
+    }
+    List<MediaType> mediaTypes;
+    try {
+      mediaTypes = MediaType.parseMediaTypes(accept);
+    } catch (InvalidMediaTypeException e) {
+      throw new IllegalArgumentException("Malformed Accept header: " + e.getMessage());
+    }
+    mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+    for (MediaType mediaType : mediaTypes) {
+      if (mediaType.getQualityValue() == 0) {
+        continue;
+      }
+      if (mediaType.isWildcardType() || mediaType.isCompatibleWith(APPLICATION_NDJSON)) {
+        return TransactionExportService.Format.NDJSON;
+      }
+      if (mediaType.isCompatibleWith(TEXT_CSV)) {
+        return TransactionExportService.Format.CSV;
+      }
+    }
+    throw new HttpMediaTypeNotAcceptableException(List.of(APPLICATION_NDJSON, TEXT_CSV));
   }
 
 }
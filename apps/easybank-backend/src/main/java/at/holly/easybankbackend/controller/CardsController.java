@@ -4,13 +4,17 @@ import at.holly.easybankbackend.dto.CardDto;
 import at.holly.easybankbackend.dto.CardSummary;
 import at.holly.easybankbackend.dto.PageResponse;
 import at.holly.easybankbackend.service.CardService;
+import at.holly.easybankbackend.service.UserDataVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Cards Controller
@@ -23,23 +27,30 @@ import org.springframework.web.bind.annotation.RestController;
 public class CardsController {
 
   private final CardService cardService;
+  private final ConditionalResponses conditionalResponses;
 
   /**
    * Get card details for authenticated user (paginated) with card summary
-   * Supports query parameters: ?page=0&size=10&sort=cardId,desc
+   * Supports query parameters: ?page=0&size=10&sort=cardId,desc&slice=true
+   * With slice=true the COUNT query is skipped and totalElements is taken from the summary metadata
    * Returns PageResponse with:
    * - page: Spring Data Page with card content and pagination metadata
    * - metadata: CardSummary with total credit limit, total used, utilization percentage (computed from ALL cards)
    *
    * @param authentication the authentication object containing JWT token
    * @param pageable pagination and sorting parameters (default: page 0, size 20)
-   * @return page response with card DTOs and card summary
+   * @param slice whether to use count-free slice mode (default: false)
+   * @param webRequest the current request (for If-None-Match)
+   * @return page response with card DTOs and card summary, or 304 Not Modified
    */
   @GetMapping("/myCards")
-  public PageResponse<CardDto, CardSummary> getCardsDetails(
+  public ResponseEntity<PageResponse<CardDto, CardSummary>> getCardsDetails(
       Authentication authentication,
-      @PageableDefault(size = 20) Pageable pageable) {
-    return cardService.getCardsWithSummary(authentication, pageable);
+      @PageableDefault(size = 20) Pageable pageable,
+      @RequestParam(defaultValue = "false") boolean slice,
+      WebRequest webRequest) {
+    return conditionalResponses.page(authentication, UserDataVersions.Resource.CARDS, pageable, slice, webRequest,
+        user -> cardService.getCardsWithSummary(user, pageable, slice));
   }
 
 }
@@ -0,0 +1,57 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.service.UserDataVersions;
+import at.holly.easybankbackend.service.UserProvisioningService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+
+/**
+ * Conditional Responses
+ * Conditional GET for the polled per-user pages (balance, cards, loans). The ETag is resolved from the
+ * user's data version, so a 304 is answered without running the page or summary queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+
+  // Per-user data: clients may keep it but must revalidate (ETag) before every reuse
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+  private final UserProvisioningService userProvisioningService;
+  private final UserDataVersions userDataVersions;
+
+  /**
+   * Answer a page request with 304 if the client's ETag is current, else with the page
+   * Automatically provisions user from Keycloak on first access (JIT provisioning)
+   *
+   * @param authentication the authentication object containing JWT token
+   * @param resource the versioned resource the page is built from
+   * @param pageable the requested page (part of the ETag)
+   * @param slice whether count-free slice mode is requested (part of the ETag)
+   * @param webRequest the current request (for If-None-Match)
+   * @param page builds the body for the resolved user, only called when it is sent
+   * @return the page with ETag and Cache-Control, or 304 Not Modified
+   */
+  public <T> ResponseEntity<T> page(Authentication authentication, UserDataVersions.Resource resource,
+                                    Pageable pageable, boolean slice, WebRequest webRequest,
+                                    Function<User, T> page) {
+    User user = userProvisioningService.getOrCreateUser(authentication);
+    String etag = userDataVersions.etag(user.getId(), resource, pageable + "|slice=" + slice);
+    if (webRequest.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(REVALIDATE)
+        .body(page.apply(user));
+  }
+}
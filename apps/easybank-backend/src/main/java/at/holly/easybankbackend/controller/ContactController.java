@@ -4,6 +4,7 @@ import at.holly.easybankbackend.dto.ContactDto;
 import at.holly.easybankbackend.service.ContactService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -25,6 +26,7 @@ public class ContactController {
   /**
    * Submit a contact/support inquiry
    * This endpoint is public - no authentication required
+   * Responds 202 Accepted in write-behind mode (journaled, written later) and 503 when its queue is full
    *
    * @param contactDto the contact inquiry details (validated)
    * @return the saved contact inquiry DTO with generated ID and timestamp
@@ -32,7 +34,8 @@ public class ContactController {
   @PostMapping("/contact")
   public ResponseEntity<ContactDto> saveContactInquiryDetails(@Valid @RequestBody ContactDto contactDto) {
     ContactDto savedContact = contactService.saveContactInquiry(contactDto);
-    return ResponseEntity.ok(savedContact);
+    HttpStatus status = contactService.isWriteBehind() ? HttpStatus.ACCEPTED : HttpStatus.OK;
+    return ResponseEntity.status(status).body(savedContact);
   }
 
 }
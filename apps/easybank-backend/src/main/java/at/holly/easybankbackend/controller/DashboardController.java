@@ -0,0 +1,70 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.dto.DashboardResponse;
+import at.holly.easybankbackend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dashboard Controller
+ * Handles the aggregated dashboard HTTP endpoint
+ * Delegates business logic to DashboardService
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class DashboardController {
+
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final DashboardService dashboardService;
+
+  /**
+   * Get account, balance, cards and loans for authenticated user in one response
+   * Replaces separate calls to /myAccount, /myBalance, /myCards and /myLoans.
+   * Supports query parameters: ?sections=account,cards&size=5
+   * Omitted sections are not queried and not included in the response.
+   *
+   * @param authentication the authentication object containing JWT token
+   * @param sections sections to include: account, balance, cards, loans (default: all)
+   * @param size size of the first page of each list section (1-100, default 5)
+   * @return dashboard response with the requested sections
+   */
+  @GetMapping("/dashboard")
+  public DashboardResponse getDashboard(
+      Authentication authentication,
+      @RequestParam(required = false) List<String> sections,
+      @RequestParam(defaultValue = "5") int size) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    return dashboardService.getDashboard(authentication, resolveSections(sections), size);
+  }
+
+  /**
+   * Parse requested section names (case-insensitive), all sections if none given
+   */
+  private Set<DashboardService.Section> resolveSections(List<String> sections) {
+    if (sections == null || sections.isEmpty()) {
+      return EnumSet.allOf(DashboardService.Section.class);
+    }
+    Set<DashboardService.Section> resolved = EnumSet.noneOf(DashboardService.Section.class);
+    for (String section : sections) {
+      try {
+        resolved.add(DashboardService.Section.valueOf(section.trim().toUpperCase()));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("sections must be any of account, balance, cards, loans");
+      }
+    }
+    return resolved;
+  }
+
+}
@@ -4,14 +4,18 @@ import at.holly.easybankbackend.dto.LoanDto;
 import at.holly.easybankbackend.dto.LoanSummary;
 import at.holly.easybankbackend.dto.PageResponse;
 import at.holly.easybankbackend.service.LoanService;
+import at.holly.easybankbackend.service.UserDataVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Loans Controller
@@ -24,23 +28,30 @@ import org.springframework.web.bind.annotation.RestController;
 public class LoansController {
 
   private final LoanService loanService;
+  private final ConditionalResponses conditionalResponses;
 
   /**
    * Get loan details for authenticated user (paginated) with loan summary
-   * Supports query parameters: ?page=0&size=10&sort=startDt,desc
+   * Supports query parameters: ?page=0&size=10&sort=startDt,desc&slice=true
+   * With slice=true the COUNT query is skipped and totalElements is taken from the summary metadata
    * Returns PageResponse with:
    * - page: Spring Data Page with loan content and pagination metadata
    * - metadata: LoanSummary with total loan amount, outstanding amount, active loan count (computed from ALL loans)
    *
    * @param authentication the authentication object containing JWT token
    * @param pageable pagination and sorting parameters (default: page 0, size 20, sorted by startDt desc)
-   * @return page response with loan DTOs and loan summary
+   * @param slice whether to use count-free slice mode (default: false)
+   * @param webRequest the current request (for If-None-Match)
+   * @return page response with loan DTOs and loan summary, or 304 Not Modified
    */
   @GetMapping("/myLoans")
-  public PageResponse<LoanDto, LoanSummary> getLoansDetails(
+  public ResponseEntity<PageResponse<LoanDto, LoanSummary>> getLoansDetails(
       Authentication authentication,
-      @PageableDefault(size = 20, sort = "startDt", direction = Sort.Direction.DESC) Pageable pageable) {
-    return loanService.getLoansWithSummary(authentication, pageable);
+      @PageableDefault(size = 20, sort = "startDt", direction = Sort.Direction.DESC) Pageable pageable,
+      @RequestParam(defaultValue = "false") boolean slice,
+      WebRequest webRequest) {
+    return conditionalResponses.page(authentication, UserDataVersions.Resource.LOANS, pageable, slice, webRequest,
+        user -> loanService.getLoansWithSummary(user, pageable, slice));
   }
 
 }
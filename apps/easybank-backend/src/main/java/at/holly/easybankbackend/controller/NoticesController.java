@@ -1,15 +1,23 @@
 package at.holly.easybankbackend.controller;
 
-import at.holly.easybankbackend.dto.NoticeDto;
+import at.holly.easybankbackend.service.NoticeResponseCache;
 import at.holly.easybankbackend.service.NoticeService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
 
 /**
  * Notices Controller
@@ -18,23 +26,57 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @RestController
 @RequestMapping("/api/v1")
-@RequiredArgsConstructor
 public class NoticesController {
 
   private final NoticeService noticeService;
+  private final NoticeResponseCache noticeResponseCache;
+  private final CacheControl cacheControl;
+
+  public NoticesController(NoticeService noticeService,
+                           NoticeResponseCache noticeResponseCache,
+                           @Value("${easybank.notices.cache-max-age:PT1M}") Duration cacheMaxAge) {
+    this.noticeService = noticeService;
+    this.noticeResponseCache = noticeResponseCache;
+    this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+  }
 
   /**
    * Get all active system notices (paginated)
    * This endpoint is public - no authentication required
    * Supports query parameters: ?page=0&size=10&sort=noticBegDt,desc
+   * The JSON page (a Spring Data Page of NoticeDto) is served from pre-serialized bytes,
+   * gzip- or deflate-compressed according to Accept-Encoding.
+   * Responses carry a strong ETag and Cache-Control; a matching If-None-Match is answered with 304.
    *
    * @param pageable pagination and sorting parameters (default: page 0, size 20, sorted by noticBegDt desc)
-   * @return page of active notice DTOs
+   * @param acceptEncoding the Accept-Encoding header (optional)
+   * @param webRequest the current request (for If-None-Match)
+   * @param response the servlet response the bytes are written to
    */
-  @GetMapping("/notices")
-  public Page<NoticeDto> getNotices(
-      @PageableDefault(size = 20, sort = "noticBegDt", direction = Sort.Direction.DESC) Pageable pageable) {
-    return noticeService.getActiveNotices(pageable);
+  @GetMapping(value = "/notices", produces = MediaType.APPLICATION_JSON_VALUE)
+  public void getNotices(
+      @PageableDefault(size = 20, sort = "noticBegDt", direction = Sort.Direction.DESC) Pageable pageable,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      WebRequest webRequest,
+      HttpServletResponse response) throws IOException {
+    NoticeResponseCache.EncodedPage page = noticeResponseCache.get(noticeService.getSnapshot(), pageable);
+    NoticeResponseCache.Encoding encoding = page.effective(NoticeResponseCache.Encoding.negotiate(acceptEncoding));
+    String etag = page.etag(encoding);
+
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+    response.setHeader(HttpHeaders.ETAG, etag);
+    if (webRequest.checkNotModified(etag)) {
+      return;
+    }
+
+    byte[] body = page.body(encoding);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    if (encoding != NoticeResponseCache.Encoding.IDENTITY) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
   }
 
 }
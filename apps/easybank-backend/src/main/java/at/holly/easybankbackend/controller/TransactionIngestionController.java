@@ -0,0 +1,71 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.dto.AccountTransactionDto;
+import at.holly.easybankbackend.dto.IngestionReport;
+import at.holly.easybankbackend.dto.TransactionIngestItem;
+import at.holly.easybankbackend.mapper.AccountTransactionMapper;
+import at.holly.easybankbackend.posting.PostingEngine;
+import at.holly.easybankbackend.service.TransactionIngestionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Transaction Ingestion Controller
+ * Handles the internal transaction feed endpoints
+ * Delegates business logic to TransactionIngestionService (bulk) and PostingEngine (live postings)
+ */
+@RestController
+@RequestMapping("/api/v1/internal")
+@RequiredArgsConstructor
+public class TransactionIngestionController {
+
+  private final TransactionIngestionService transactionIngestionService;
+  private final PostingEngine postingEngine;
+  private final AccountTransactionMapper accountTransactionMapper;
+
+  /**
+   * Post a single live transaction
+   * Postings to the same account are applied one after another, so the closing balance always
+   * continues from the account's previous posting.
+   * Requires the INGEST role.
+   * Returns 201 with the posted transaction, 400 if it is invalid or rejected (foreign account,
+   * back-dated), or 503 if the posting queue is full.
+   *
+   * @param item the transaction to post
+   * @return the posted transaction with id and closing balance
+   */
+  @PostMapping("/transactions")
+  public ResponseEntity<AccountTransactionDto> postTransaction(@Valid @RequestBody TransactionIngestItem item) {
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(accountTransactionMapper.toDto(postingEngine.post(item)));
+  }
+
+  /**
+   * Ingest a batch of transactions from the core-banking feed
+   * Accepts a JSON array (application/json) or one object per line (application/x-ndjson); the body is
+   * read as a stream, so a request may carry many thousands of items.
+   * Requires the INGEST role.
+   * Returns 200 with the report when the whole body was read (individual items may still be rejected),
+   * or 400 with the report when reading stopped early - items before that point are written.
+   *
+   * @param body the raw request body
+   * @return ingestion report with accepted/rejected counts and per-item errors
+   * @throws IOException if the request body cannot be read
+   */
+  @PostMapping(value = "/transactions:batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<IngestionReport> ingestTransactions(InputStream body) throws IOException {
+    IngestionReport report = transactionIngestionService.ingest(body);
+    return ResponseEntity.status(report.isComplete() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(report);
+  }
+}
@@ -0,0 +1,226 @@
+package at.holly.easybankbackend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read Replica Routing DataSource
+ * Sends connections of read-only transactions ({@code @Transactional(readOnly = true)}) to a healthy
+ * replica, round robin, and everything else to the primary:
+ * <ul>
+ *   <li>no transaction or read-write transaction - primary</li>
+ *   <li>read-only, current user wrote recently ({@link ReadYourWrites}) - primary</li>
+ *   <li>read-only, no replica within the lag limit - primary</li>
+ *   <li>read-only - next healthy replica</li>
+ * </ul>
+ * The decision is made when a physical connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} - otherwise the connection
+ * is taken before the transaction's read-only flag is known.
+ * <p>
+ * Replica health is refreshed by {@link #checkReplicas()} every {@code easybank.datasource.replica.check-interval}.
+ * Every decision is counted in {@code easybank.datasource.route{target, reason}}; each replica exposes
+ * {@code easybank.datasource.replica.lag} (seconds) and {@code easybank.datasource.replica.healthy}.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  static final String PRIMARY = "primary";
+  private static final int CHECK_TIMEOUT_SECONDS = 2;
+  private static final String MYSQL_LAG_COLUMN = "Seconds_Behind_Source";
+
+  /**
+   * One replica pool and its last health check
+   */
+  public static final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final Counter routed;
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.NaN;
+
+    public Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+      this.name = name;
+      this.dataSource = dataSource;
+      this.routed = routeCounter(meterRegistry, name, "read-only");
+      Gauge.builder("easybank.datasource.replica.lag", this, replica -> replica.lagSeconds)
+          .description("Replication lag seen by the last health check (NaN if unknown)")
+          .baseUnit("seconds")
+          .tag("replica", name)
+          .register(meterRegistry);
+      Gauge.builder("easybank.datasource.replica.healthy", this, replica -> replica.healthy ? 1 : 0)
+          .description("Whether the replica currently receives read-only transactions")
+          .tag("replica", name)
+          .register(meterRegistry);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public DataSource getDataSource() {
+      return dataSource;
+    }
+
+    public boolean isHealthy() {
+      return healthy;
+    }
+  }
+
+  private final List<Replica> replicas;
+  private final ReadYourWrites readYourWrites;
+  private final Duration maxLag;
+  private final String lagQuery;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+  private final Counter readWriteRoutes;
+  private final Counter readYourWritesRoutes;
+  private final Counter fallbackRoutes;
+
+  /**
+   * @param primary the primary pool
+   * @param replicas replica pools, unhealthy until the first {@link #checkReplicas()}
+   * @param readYourWrites recent writers to keep on the primary
+   * @param maxLag lag beyond which a replica is skipped
+   * @param lagQuery query returning the lag in seconds (see {@link ReplicaProperties#lagQuery()})
+   * @param meterRegistry registry for routing metrics
+   */
+  public ReadReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWrites readYourWrites,
+                                      Duration maxLag, String lagQuery, MeterRegistry meterRegistry) {
+    this.replicas = List.copyOf(replicas);
+    this.readYourWrites = readYourWrites;
+    this.maxLag = maxLag;
+    this.lagQuery = lagQuery;
+    this.readWriteRoutes = routeCounter(meterRegistry, PRIMARY, "read-write");
+    this.readYourWritesRoutes = routeCounter(meterRegistry, PRIMARY, "read-your-writes");
+    this.fallbackRoutes = routeCounter(meterRegistry, PRIMARY, "no-healthy-replica");
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (Replica replica : this.replicas) {
+      targets.put(replica.name, replica.dataSource);
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      readWriteRoutes.increment();
+      return PRIMARY;
+    }
+    if (readYourWrites.isRecentWriter()) {
+      readYourWritesRoutes.increment();
+      return PRIMARY;
+    }
+    Replica replica = nextHealthyReplica();
+    if (replica == null) {
+      fallbackRoutes.increment();
+      return PRIMARY;
+    }
+    replica.routed.increment();
+    return replica.name;
+  }
+
+  private Replica nextHealthyReplica() {
+    int size = replicas.size();
+    int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (replica.healthy) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Run the lag query against every replica and update which ones receive reads
+   */
+  @Scheduled(fixedDelayString = "${easybank.datasource.replica.check-interval:PT2S}",
+      initialDelayString = "${easybank.datasource.replica.check-interval:PT2S}")
+  public void checkReplicas() {
+    for (Replica replica : replicas) {
+      boolean wasHealthy = replica.healthy;
+      double lag = measureLag(replica);
+      replica.lagSeconds = lag;
+      replica.healthy = !Double.isNaN(lag) && lag <= maxLag.toSeconds();
+      if (wasHealthy != replica.healthy) {
+        log.warn("Replica {} is now {} (lag {} s)", replica.name, replica.healthy ? "healthy" : "unhealthy", lag);
+      }
+    }
+  }
+
+  private double measureLag(Replica replica) {
+    try (Connection connection = replica.dataSource.getConnection();
+         Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+      try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+        if (!resultSet.next()) {
+          // Not configured as a replica (e.g. SHOW REPLICA STATUS on a standalone server)
+          return Double.NaN;
+        }
+        long lag = hasColumn(resultSet, MYSQL_LAG_COLUMN) ? resultSet.getLong(MYSQL_LAG_COLUMN) : resultSet.getLong(1);
+        return resultSet.wasNull() ? Double.NaN : lag;
+      }
+    } catch (SQLException e) {
+      log.debug("Health check of replica {} failed: {}", replica.name, e.getMessage());
+      return Double.NaN;
+    }
+  }
+
+  private static boolean hasColumn(ResultSet resultSet, String column) throws SQLException {
+    for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
+      if (column.equalsIgnoreCase(resultSet.getMetaData().getColumnLabel(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the replicas, in routing order
+   */
+  public List<Replica> getReplicas() {
+    return replicas;
+  }
+
+  /**
+   * Close the replica pools (the primary pool is owned by its own bean)
+   */
+  @Override
+  public void destroy() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable pool) {
+        pool.close();
+      }
+    }
+  }
+
+  private static Counter routeCounter(MeterRegistry meterRegistry, String target, String reason) {
+    return Counter.builder("easybank.datasource.route")
+        .description("Connections routed to the primary or a read replica")
+        .tag("target", target)
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+}
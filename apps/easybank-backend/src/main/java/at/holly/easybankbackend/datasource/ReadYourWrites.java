@@ -0,0 +1,99 @@
+package at.holly.easybankbackend.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+
+/**
+ * Read Your Writes
+ * Remembers users whose data just changed on the primary, so their read-only transactions skip the
+ * replicas for a short window and cannot observe replication lag:
+ * <ul>
+ *   <li>after their own write (e.g. a freshly provisioned user that does not exist on the replica
+ *   yet) - write paths call {@link #recordWrite(Authentication)}</li>
+ *   <li>while a change to their data, by anyone, may not have reached every replica - conditional
+ *   GETs call {@link #recordChange(Duration)} with the age of the data version they put in the ETag,
+ *   so a lagging replica cannot serve an old body under the new ETag</li>
+ * </ul>
+ * Users are identified by JWT subject (falling back to the authentication name) and looked up from
+ * the current SecurityContext. The window is per instance - behind a load balancer it holds for
+ * requests that land on the same instance; {@link #recordChange(Duration)} is re-evaluated on every request.
+ */
+public class ReadYourWrites {
+
+  private static final int MAXIMUM_USERS = 100_000;
+
+  private final Duration window;
+  private final Duration maxStaleness;
+  // user -> System.nanoTime() until which reads stay on the primary
+  private final Cache<String, Long> pinnedUntil;
+
+  /**
+   * @param window how long reads stay on the primary after a write; zero disables the window
+   * @param maxStaleness how far behind the primary a replica that receives reads may be
+   */
+  public ReadYourWrites(Duration window, Duration maxStaleness) {
+    this.window = window.isNegative() ? Duration.ZERO : window;
+    this.maxStaleness = maxStaleness;
+    Duration longest = this.window.compareTo(maxStaleness) > 0 ? this.window : maxStaleness;
+    this.pinnedUntil = longest.isZero() || longest.isNegative()
+        ? null
+        : Caffeine.newBuilder().expireAfterWrite(longest).maximumSize(MAXIMUM_USERS).build();
+  }
+
+  /**
+   * Pin the user's reads to the primary for the configured window
+   *
+   * @param authentication the user who wrote
+   */
+  public void recordWrite(Authentication authentication) {
+    pin(keyOf(authentication), window);
+  }
+
+  /**
+   * Pin the current user's reads to the primary while a change to their data may still be missing
+   * on a replica
+   *
+   * @param age time since the change was committed on the primary
+   */
+  public void recordChange(Duration age) {
+    Duration remaining = maxStaleness.minus(age);
+    if (remaining.isPositive()) {
+      pin(keyOf(SecurityContextHolder.getContext().getAuthentication()), remaining);
+    }
+  }
+
+  /**
+   * @return whether the current user's reads are pinned to the primary
+   */
+  public boolean isRecentWriter() {
+    if (pinnedUntil == null) {
+      return false;
+    }
+    String key = keyOf(SecurityContextHolder.getContext().getAuthentication());
+    Long until = key != null ? pinnedUntil.getIfPresent(key) : null;
+    return until != null && until - System.nanoTime() > 0;
+  }
+
+  private void pin(String key, Duration duration) {
+    if (pinnedUntil == null || key == null || duration.isZero()) {
+      return;
+    }
+    long until = System.nanoTime() + duration.toNanos();
+    pinnedUntil.asMap().merge(key, until, (current, next) -> next - current > 0 ? next : current);
+  }
+
+  private static String keyOf(Authentication authentication) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return null;
+    }
+    if (authentication.getPrincipal() instanceof Jwt jwt && jwt.getSubject() != null) {
+      return jwt.getSubject();
+    }
+    return authentication.getName();
+  }
+}
@@ -0,0 +1,45 @@
+package at.holly.easybankbackend.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replica configuration ({@code easybank.datasource.replica.*})
+ *
+ * @param urls JDBC URLs of the replicas; routing is only installed when at least one is set
+ * @param username replica user (defaults to the primary's)
+ * @param password replica password (defaults to the primary's)
+ * @param poolSize connections per replica pool
+ * @param maxLag replication lag beyond which a replica stops receiving reads
+ * @param lagQuery query returning the replica's lag in seconds - either in a
+ *                 {@code Seconds_Behind_Source} column (MySQL {@code SHOW REPLICA STATUS}) or the first
+ *                 column; NULL (replication stopped) or an error marks the replica unhealthy
+ * @param readYourWritesWindow how long a user's reads stay on the primary after their own write
+ * @param checkInterval how often replica lag is measured
+ */
+@ConfigurationProperties("easybank.datasource.replica")
+public record ReplicaProperties(
+    List<String> urls,
+    String username,
+    String password,
+    @DefaultValue("10") int poolSize,
+    @DefaultValue("5s") Duration maxLag,
+    @DefaultValue("SHOW REPLICA STATUS") String lagQuery,
+    @DefaultValue("5s") Duration readYourWritesWindow,
+    @DefaultValue("2s") Duration checkInterval) {
+
+  public ReplicaProperties {
+    urls = urls == null ? List.of() : List.copyOf(urls);
+  }
+
+  /**
+   * @return how far behind the primary a replica that still receives reads can be: the lag limit,
+   *     plus what it may fall behind between two checks
+   */
+  public Duration maxStaleness() {
+    return maxLag.plus(checkInterval);
+  }
+}
@@ -0,0 +1,69 @@
+package at.holly.easybankbackend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replica Routing Configuration
+ * Installed only when {@code easybank.datasource.replica.urls} is set. Replaces the auto-configured
+ * DataSource with: LazyConnectionDataSourceProxy -> {@link ReadReplicaRoutingDataSource} -> primary or
+ * replica Hikari pools. The primary pool is still configured through {@code spring.datasource.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "easybank.datasource.replica.urls")
+public class ReplicaRoutingConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReadYourWrites readYourWrites(ReplicaProperties properties) {
+    return new ReadYourWrites(properties.readYourWritesWindow(), properties.maxStaleness());
+  }
+
+  @Bean
+  public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                   DataSourceProperties dataSourceProperties,
+                                                                   ReplicaProperties properties,
+                                                                   ReadYourWrites readYourWrites,
+                                                                   MeterRegistry meterRegistry) {
+    List<ReadReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+    for (int i = 0; i < properties.urls().size(); i++) {
+      String name = "replica-" + i;
+      HikariDataSource pool = new HikariDataSource();
+      pool.setPoolName(name);
+      pool.setJdbcUrl(properties.urls().get(i));
+      pool.setUsername(properties.username() != null ? properties.username() : dataSourceProperties.determineUsername());
+      pool.setPassword(properties.password() != null ? properties.password() : dataSourceProperties.determinePassword());
+      pool.setMaximumPoolSize(properties.poolSize());
+      pool.setReadOnly(true);
+      replicas.add(new ReadReplicaRoutingDataSource.Replica(name, pool, meterRegistry));
+    }
+    ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primaryDataSource, replicas,
+        readYourWrites, properties.maxLag(), properties.lagQuery(), meterRegistry);
+    routing.checkReplicas();
+    return routing;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+  }
+}
@@ -0,0 +1,38 @@
+package at.holly.easybankbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Balance Verification Report
+ * Result of comparing the balance_summary read model against a full
+ * recomputation from account_transactions
+ */
+@Getter
+@Builder
+public class BalanceVerificationReport {
+
+  /**
+   * Number of accounts recomputed from account_transactions
+   */
+  private int accountsChecked;
+
+  /**
+   * Account numbers whose stored summary differed from the recomputed one (or was missing/orphaned)
+   */
+  private List<Long> driftedAccounts;
+
+  /**
+   * Whether drifted rows were rewritten from the recomputed values (all of them, or only the missing ones)
+   */
+  private boolean repaired;
+
+  /**
+   * @return true if no drift was found
+   */
+  public boolean isConsistent() {
+    return driftedAccounts.isEmpty();
+  }
+}
@@ -0,0 +1,57 @@
+package at.holly.easybankbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Generic wrapper for keyset (cursor) paginated responses with custom metadata
+ * Unlike PageResponse there is no total count or page number - clients pass
+ * nextCursor back as the "after" parameter to fetch the following page.
+ *
+ * @param <T> The content type (e.g., AccountTransactionDto)
+ * @param <M> The metadata/summary type (e.g., BalanceSummary)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponse<T, M> {
+
+  /**
+   * Page content, in cursor order
+   */
+  private List<T> content;
+
+  /**
+   * Requested page size
+   */
+  private int size;
+
+  /**
+   * Whether more rows exist after this page
+   */
+  private boolean hasNext;
+
+  /**
+   * Opaque cursor for the next page, or null if this is the last page
+   */
+  private String nextCursor;
+
+  /**
+   * Custom domain-specific metadata (aggregates, summaries, totals)
+   */
+  private M metadata;
+
+  /**
+   * Factory method to create CursorPageResponse
+   *
+   * @param content page content
+   * @param size requested page size
+   * @param nextCursor cursor for the next page, or null if none
+   * @param metadata Custom metadata/summary
+   * @return CursorPageResponse instance
+   */
+  public static <T, M> CursorPageResponse<T, M> of(List<T> content, int size, String nextCursor, M metadata) {
+    return new CursorPageResponse<>(content, size, nextCursor != null, nextCursor, metadata);
+  }
+}
@@ -0,0 +1,37 @@
+package at.holly.easybankbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Dashboard Response DTO
+ * Everything the dashboard needs in a single round-trip: account details plus the
+ * first page and summary of balance, cards and loans.
+ * Sections that were not requested are left null and omitted from the JSON.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardResponse {
+
+  /**
+   * Account details (null if the user has no account)
+   */
+  private AccountDto account;
+
+  /**
+   * First page of transactions with balance summary
+   */
+  private PageResponse<AccountTransactionDto, BalanceSummary> balance;
+
+  /**
+   * First page of cards with card summary
+   */
+  private PageResponse<CardDto, CardSummary> cards;
+
+  /**
+   * First page of loans with loan summary
+   */
+  private PageResponse<LoanDto, LoanSummary> loans;
+}
@@ -0,0 +1,81 @@
+package at.holly.easybankbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ingestion Report
+ * Outcome of a bulk transaction ingestion request. Accepted items are committed;
+ * rejected items are listed by their zero-based position in the request.
+ */
+@Getter
+@Builder
+public class IngestionReport {
+
+  /**
+   * Number of items read from the request
+   */
+  private int received;
+
+  /**
+   * Number of items written
+   */
+  private int accepted;
+
+  /**
+   * Number of items not written
+   */
+  private int rejected;
+
+  /**
+   * Rejected items, in request order (capped - see {@link #isErrorsTruncated()})
+   */
+  private List<ItemError> errors;
+
+  /**
+   * Whether more items were rejected than are listed in {@link #getErrors()}
+   */
+  private boolean errorsTruncated;
+
+  /**
+   * Why reading stopped before the end of the request (malformed input, too many items), or null
+   */
+  private String abortReason;
+
+  /**
+   * Wall-clock time spent on the request
+   */
+  private long durationMs;
+
+  /**
+   * Accepted items per second of {@link #getDurationMs()}
+   */
+  private double rowsPerSecond;
+
+  /**
+   * @return true if the whole request was read
+   */
+  public boolean isComplete() {
+    return abortReason == null;
+  }
+
+  /**
+   * Nested class for individual rejected items
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ItemError {
+    /**
+     * Zero-based position in the request
+     */
+    private int index;
+    private String message;
+  }
+}
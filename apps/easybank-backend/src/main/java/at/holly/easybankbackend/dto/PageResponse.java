@@ -3,6 +3,8 @@ package at.holly.easybankbackend.dto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 
 /**
  * Generic wrapper for paginated responses with custom metadata
@@ -41,4 +43,18 @@ public class PageResponse<T, M> {
   public static <T, M> PageResponse<T, M> of(Page<T> page, M metadata) {
     return new PageResponse<>(page, metadata);
   }
+
+  /**
+   * Factory method to create PageResponse from a count-free Slice
+   * The total element count is supplied by the caller (typically from the summary metadata),
+   * so no separate COUNT query is needed to build the page.
+   *
+   * @param slice The Spring Data Slice
+   * @param totalElements total number of elements across all pages
+   * @param metadata Custom metadata/summary
+   * @return PageResponse instance
+   */
+  public static <T, M> PageResponse<T, M> ofSlice(Slice<T> slice, long totalElements, M metadata) {
+    return new PageResponse<>(new PageImpl<>(slice.getContent(), slice.getPageable(), totalElements), metadata);
+  }
 }
@@ -0,0 +1,50 @@
+package at.holly.easybankbackend.dto;
+
+import at.holly.easybankbackend.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Transaction Ingest Item
+ * One transaction from the core-banking feed. Id and closing balance are assigned on ingestion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionIngestItem {
+
+    @NotNull(message = "User id is required")
+    @Positive(message = "User id must be positive")
+    private Long userId;
+
+    @NotNull(message = "Account number is required")
+    @Positive(message = "Account number must be positive")
+    private Long accountNumber;
+
+    @NotNull(message = "Transaction date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private Date transactionDt;
+
+    @NotNull(message = "Transaction summary is required")
+    @Size(max = 255, message = "Transaction summary must not exceed 255 characters")
+    private String transactionSummary;
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType transactionType;
+
+    @NotNull(message = "Transaction amount is required")
+    @Positive(message = "Transaction amount must be positive")
+    @Digits(integer = 17, fraction = 2, message = "Transaction amount must have at most 2 decimal places")
+    private BigDecimal transactionAmt;
+}
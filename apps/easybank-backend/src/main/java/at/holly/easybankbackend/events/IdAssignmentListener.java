@@ -0,0 +1,34 @@
+package at.holly.easybankbackend.events;
+
+import at.holly.easybankbackend.id.IdGenerator;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.model.Contact;
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener for application-assigned string ids
+ * Gives transactions and contact messages persisted without an id a time-ordered one,
+ * keeping their human-readable prefix. Explicitly set ids are left alone.
+ * Instantiated through Spring's bean container by Hibernate.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdAssignmentListener {
+
+  private final IdGenerator idGenerator;
+
+  @PrePersist
+  public void assignId(Object entity) {
+    switch (entity) {
+      case AccountTransaction transaction when transaction.getTransactionId() == null ->
+          transaction.setTransactionId(idGenerator.nextId(AccountTransaction.ID_PREFIX));
+      case Contact contact when contact.getContactId() == null ->
+          contact.setContactId(idGenerator.nextId(Contact.ID_PREFIX));
+      default -> {
+      }
+    }
+  }
+
+}
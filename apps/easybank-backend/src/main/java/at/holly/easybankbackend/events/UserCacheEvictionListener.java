@@ -0,0 +1,39 @@
+package at.holly.easybankbackend.events;
+
+import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.service.UserIdentityCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener for User
+ * Evicts the identity cache whenever a user row is inserted, updated or deleted,
+ * so an email change or deletion can never leave a stale identity being served.
+ * Instantiated through Spring's bean container by Hibernate.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+  private final UserIdentityCache userIdentityCache;
+
+  /**
+   * A new id cannot be cached yet - only drop an entry left for its email (a constant-time lookup,
+   * not the scan over all entries that eviction by id needs)
+   */
+  @PostPersist
+  public void evictEmail(User user) {
+    userIdentityCache.evictByEmail(user.getEmail());
+  }
+
+  @PostUpdate
+  @PostRemove
+  public void evict(User user) {
+    userIdentityCache.evictByUserId(user.getId());
+    userIdentityCache.evictByEmail(user.getEmail());
+  }
+
+}
@@ -0,0 +1,43 @@
+package at.holly.easybankbackend.events;
+
+import at.holly.easybankbackend.model.AccountBalance;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.model.Card;
+import at.holly.easybankbackend.model.Loan;
+import at.holly.easybankbackend.service.UserDataVersions;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener for per-user financial data
+ * Bumps the user's data version whenever a transaction, balance summary, card or loan row
+ * is inserted, updated or deleted, so conditional GETs stop answering 304.
+ * Instantiated through Spring's bean container by Hibernate; UserDataVersions is resolved lazily
+ * because it needs the EntityManagerFactory this listener is part of.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDataVersionListener {
+
+  private final ObjectProvider<UserDataVersions> userDataVersionsProvider;
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void bump(Object entity) {
+    UserDataVersions userDataVersions = userDataVersionsProvider.getObject();
+    switch (entity) {
+      case AccountTransaction transaction -> userDataVersions.bump(transaction.getUserId(), UserDataVersions.Resource.BALANCE);
+      case AccountBalance balance -> userDataVersions.bump(balance.getUserId(), UserDataVersions.Resource.BALANCE);
+      case Card card -> userDataVersions.bump(card.getUserId(), UserDataVersions.Resource.CARDS);
+      case Loan loan -> userDataVersions.bump(loan.getUserId(), UserDataVersions.Resource.LOANS);
+      default -> {
+      }
+    }
+  }
+
+}
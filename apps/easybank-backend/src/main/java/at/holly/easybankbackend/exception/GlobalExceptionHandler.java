@@ -5,11 +5,13 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -203,6 +205,52 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
   }
 
+  /**
+   * Handle requests whose Accept header allows none of the representations on offer
+   * Returns 406 Not Acceptable without a body (the client accepts none we could write)
+   *
+   * @param ex the exception
+   * @param request the HTTP request
+   * @return empty response
+   */
+  @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+  public ResponseEntity<Void> handleMediaTypeNotAcceptable(
+      HttpMediaTypeNotAcceptableException ex,
+      HttpServletRequest request) {
+
+    log.warn("Not acceptable for request to {}: {}", request.getRequestURI(), ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+  }
+
+  /**
+   * Handle load shedding
+   * Returns 503 Service Unavailable with Retry-After
+   *
+   * @param ex the exception
+   * @param request the HTTP request
+   * @return error response
+   */
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleServiceOverloaded(
+      ServiceOverloadedException ex,
+      HttpServletRequest request) {
+
+    log.warn("Request to {} shed: {}", request.getRequestURI(), ex.getMessage());
+
+    ErrorResponse errorResponse = ErrorResponse.builder()
+        .timestamp(LocalDateTime.now())
+        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+        .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+        .message("The service is temporarily overloaded. Please try again shortly.")
+        .path(request.getRequestURI())
+        .build();
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+        .body(errorResponse);
+  }
+
   /**
    * Handle general runtime exceptions
    * Returns 500 Internal Server Error
@@ -0,0 +1,24 @@
+package at.holly.easybankbackend.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed because a bounded resource (queue, concurrency limit) is exhausted.
+ * Mapped to 503 Service Unavailable with a Retry-After header by GlobalExceptionHandler.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public ServiceOverloadedException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * @return how long the client should wait before retrying
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
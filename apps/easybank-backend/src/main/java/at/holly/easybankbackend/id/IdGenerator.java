@@ -0,0 +1,16 @@
+package at.holly.easybankbackend.id;
+
+/**
+ * Id Generator
+ * Source of primary keys for entities with application-assigned string ids.
+ */
+public interface IdGenerator {
+
+  /**
+   * Generate a new unique id
+   *
+   * @param prefix human-readable prefix, e.g. "SR-" or "TXN-"
+   * @return prefix followed by the generated key
+   */
+  String nextId(String prefix);
+}
@@ -0,0 +1,62 @@
+package at.holly.easybankbackend.model;
+
+import at.holly.easybankbackend.events.UserDataVersionListener;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Account Balance Entity
+ * Incrementally maintained read model of account_transactions, one row per account.
+ * Updated in the same transaction that writes an AccountTransaction, so balance
+ * summaries can be served without scanning the transaction history.
+ */
+@Entity
+@EntityListeners(UserDataVersionListener.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+    name = "balance_summary",
+    indexes = {
+        @Index(name = "idx_balance_summary_user_account", columnList = "user_id, account_number", unique = true)
+    }
+)
+public class AccountBalance {
+
+  @Id
+  @Column(name = "account_number")
+  private long accountNumber;
+
+  @Column(name = "user_id")
+  private long userId;
+
+  @Column(name = "current_balance", precision = 19, scale = 2)
+  private BigDecimal currentBalance;
+
+  @Column(name = "total_credits", precision = 19, scale = 2)
+  private BigDecimal totalCredits;
+
+  @Column(name = "total_debits", precision = 19, scale = 2)
+  private BigDecimal totalDebits;
+
+  @Column(name = "transaction_count")
+  private long transactionCount;
+
+  /**
+   * Date of the transaction currentBalance was taken from
+   */
+  @Column(name = "last_transaction_dt")
+  private Date lastTransactionDt;
+
+  /**
+   * Id of the transaction currentBalance was taken from (tie-breaker for equal dates)
+   */
+  @Column(name = "last_transaction_id")
+  private String lastTransactionId;
+
+}
@@ -1,6 +1,8 @@
 package at.holly.easybankbackend.model;
 
 import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.events.IdAssignmentListener;
+import at.holly.easybankbackend.events.UserDataVersionListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +10,7 @@ import java.math.BigDecimal;
 import java.sql.Date;
 
 @Entity
+@EntityListeners({IdAssignmentListener.class, UserDataVersionListener.class})
 @Getter
 @Setter
 @Builder
@@ -17,11 +20,14 @@ import java.sql.Date;
     name="account_transactions",
     indexes = {
         @Index(name = "idx_transaction_user_id", columnList = "user_id"),
-        @Index(name = "idx_transaction_account_number", columnList = "account_number")
+        @Index(name = "idx_transaction_account_number", columnList = "account_number"),
+        @Index(name = "idx_transaction_user_dt_id", columnList = "user_id, transaction_dt, transaction_id")
     }
 )
 public class AccountTransaction {
 
+  public static final String ID_PREFIX = "TXN-";
+
   @Id
   @Column(name = "transaction_id")
   private String transactionId;
@@ -1,7 +1,9 @@
 package at.holly.easybankbackend.model;
 
+import at.holly.easybankbackend.events.IdAssignmentListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.*;
@@ -9,6 +11,7 @@ import lombok.*;
 import java.sql.Date;
 
 @Entity
+@EntityListeners(IdAssignmentListener.class)
 @Getter
 @Setter
 @Builder
@@ -17,6 +20,8 @@ import java.sql.Date;
 @Table(name = "contact_messages")
 public class Contact {
 
+  public static final String ID_PREFIX = "SR-";
+
   @Id
   @Column(name = "contact_id")
   private String contactId;
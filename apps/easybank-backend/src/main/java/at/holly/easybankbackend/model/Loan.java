@@ -1,6 +1,7 @@
 package at.holly.easybankbackend.model;
 
 import at.holly.easybankbackend.enums.LoanType;
+import at.holly.easybankbackend.events.UserDataVersionListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +9,7 @@ import java.math.BigDecimal;
 import java.sql.Date;
 
 @Entity
+@EntityListeners(UserDataVersionListener.class)
 @Getter
 @Setter
 @Builder
@@ -1,5 +1,6 @@
 package at.holly.easybankbackend.model;
 
+import at.holly.easybankbackend.events.UserCacheEvictionListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -11,6 +12,7 @@ import java.sql.Date;
  * Represents an authenticated user in the system.
  */
 @Entity
+@EntityListeners(UserCacheEvictionListener.class)
 @Table(
     name = "users",
     indexes = {
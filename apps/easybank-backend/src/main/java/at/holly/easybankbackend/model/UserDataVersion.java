@@ -0,0 +1,51 @@
+package at.holly.easybankbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * User Data Version Entity
+ * Per-user, per-resource change counter backing the ETags of the polled financial endpoints.
+ * Read and incremented with plain JDBC by UserDataVersions; mapped here so the schema carries the table.
+ * Where the schema is only validated (prod) the table is created with db/schema/user_data_versions.sql.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(UserDataVersion.Key.class)
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+
+  @Id
+  @Column(name = "user_id")
+  private long userId;
+
+  @Id
+  @Column(name = "resource", length = 20)
+  private String resource;
+
+  @Column(name = "version")
+  private long version;
+
+  /**
+   * Database time of the last bump
+   */
+  @Column(name = "updated_at")
+  private Timestamp updatedAt;
+
+  /**
+   * Composite primary key
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private long userId;
+    private String resource;
+  }
+}
@@ -0,0 +1,389 @@
+package at.holly.easybankbackend.posting;
+
+import at.holly.easybankbackend.dto.TransactionIngestItem;
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.exception.ServiceOverloadedException;
+import at.holly.easybankbackend.id.IdGenerator;
+import at.holly.easybankbackend.model.AccountBalance;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.service.AccountBalanceService;
+import at.holly.easybankbackend.shard.ShardContext;
+import at.holly.easybankbackend.shard.ShardMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posting Engine
+ * Posts live transactions so that every closing balance is the previous closing balance of the
+ * same account plus or minus the amount. Each account has a single-writer lane: postings are
+ * queued per account and drained by one virtual thread at a time, so writers to one account never
+ * race for the previous balance, while different accounts drain fully in parallel. Lanes exist
+ * only while they have work.
+ * <p>
+ * A drain takes up to {@code group-size} queued postings of the same user and writes them in one
+ * transaction (lock the balance row, chain the closing balances, one JDBC batch). The row lock
+ * stays as the guard against other instances posting to the same account. If a group fails,
+ * its postings are retried one by one so a bad posting fails alone.
+ * <p>
+ * Postings dated before the account's latest posting are rejected: the balance summary would not
+ * move for them, and the chain would fork.
+ * <p>
+ * Backpressure: at most {@code capacity} postings may be queued; beyond that, and once the engine
+ * is shutting down, {@link #submit(TransactionIngestItem)} throws {@link ServiceOverloadedException} (503).
+ * A drainer that dies on an unexpected error fails the postings still queued on its lane and
+ * retires it, so later postings to the account start a fresh lane instead of waiting forever.
+ * Metrics: {@code easybank.posting.postings{outcome}} (throughput), {@code easybank.posting.queue.depth},
+ * {@code easybank.posting.lanes}, {@code easybank.posting.latency} (queued to committed) and
+ * {@code easybank.posting.group.size}.
+ */
+@Component
+@Slf4j
+public class PostingEngine implements DisposableBean {
+
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+  private final AccountBalanceService accountBalanceService;
+  private final IdGenerator idGenerator;
+  private final ObjectProvider<ShardMap> shardMap;
+  private final TransactionTemplate groupTransaction;
+  private final int capacity;
+  private final int groupSize;
+
+  private final Semaphore permits;
+  private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+  private final ExecutorService drainers = Executors.newVirtualThreadPerTaskExecutor();
+  private final Counter postedCounter;
+  private final Counter rejectedCounter;
+  private final Counter failedCounter;
+  private final Counter overloadedCounter;
+  private final Timer latencyTimer;
+  private final DistributionSummary groupSizes;
+
+  public PostingEngine(AccountBalanceService accountBalanceService,
+                       IdGenerator idGenerator,
+                       ObjectProvider<ShardMap> shardMap,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${easybank.posting.capacity:10000}") int capacity,
+                       @Value("${easybank.posting.group-size:50}") int groupSize) {
+    this.accountBalanceService = accountBalanceService;
+    this.idGenerator = idGenerator;
+    this.shardMap = shardMap;
+    this.groupTransaction = new TransactionTemplate(transactionManager);
+    this.capacity = capacity;
+    this.groupSize = groupSize;
+    this.permits = new Semaphore(capacity);
+
+    this.postedCounter = outcomeCounter(meterRegistry, "posted");
+    this.rejectedCounter = outcomeCounter(meterRegistry, "rejected");
+    this.failedCounter = outcomeCounter(meterRegistry, "failed");
+    this.overloadedCounter = outcomeCounter(meterRegistry, "overloaded");
+    Gauge.builder("easybank.posting.queue.depth", this, PostingEngine::pending)
+        .description("Postings queued but not yet committed, over all accounts")
+        .register(meterRegistry);
+    Gauge.builder("easybank.posting.lanes", lanes, Map::size)
+        .description("Accounts with postings in flight")
+        .register(meterRegistry);
+    this.latencyTimer = Timer.builder("easybank.posting.latency")
+        .description("Time from queueing a posting to its commit")
+        .register(meterRegistry);
+    this.groupSizes = DistributionSummary.builder("easybank.posting.group.size")
+        .description("Postings written per transaction")
+        .register(meterRegistry);
+  }
+
+  /**
+   * One queued posting
+   */
+  private record Task(TransactionIngestItem item, CompletableFuture<AccountTransaction> result, long queuedAt) {
+  }
+
+  /**
+   * Per-account queue. {@code pending} is only read and written inside {@code lanes.compute} for the
+   * lane's account, which is what makes "enqueue and maybe start a drainer" and "finish and maybe
+   * retire the lane" atomic with respect to each other.
+   */
+  private static final class Lane {
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    private int pending;
+  }
+
+  /**
+   * Outcome of one posting inside a group transaction
+   */
+  private record Outcome(AccountTransaction posted, RuntimeException error) {
+  }
+
+  /**
+   * Queue a posting on its account's lane
+   *
+   * @param item the posting; id and closing balance are assigned here
+   * @return completes with the committed transaction, or exceptionally with an
+   *     IllegalArgumentException (rejected) or the data access error
+   * @throws ServiceOverloadedException if {@code capacity} postings are already queued, or the engine is stopping
+   */
+  public CompletableFuture<AccountTransaction> submit(TransactionIngestItem item) {
+    if (!permits.tryAcquire()) {
+      overloadedCounter.increment();
+      throw new ServiceOverloadedException("Posting queue is full", RETRY_AFTER);
+    }
+    Task task = new Task(item, new CompletableFuture<>(), System.nanoTime());
+    long account = item.getAccountNumber();
+    boolean[] startDrainer = new boolean[1];
+    Lane lane = lanes.compute(account, (key, current) -> {
+      Lane target = current != null ? current : new Lane();
+      target.queue.add(task);
+      startDrainer[0] = target.pending++ == 0;
+      return target;
+    });
+    if (startDrainer[0]) {
+      try {
+        drainers.execute(() -> drain(account, lane));
+      } catch (RejectedExecutionException e) {
+        // Shutting down: nothing will drain the lane, so undo the enqueue (and any that joined it since)
+        ServiceOverloadedException stopping = new ServiceOverloadedException("Posting engine is stopping", RETRY_AFTER);
+        overloadedCounter.increment();
+        abandon(account, List.of(), stopping);
+        throw stopping;
+      }
+    }
+    return task.result();
+  }
+
+  /**
+   * Post and wait for the commit
+   *
+   * @param item the posting
+   * @return the committed transaction
+   * @throws IllegalArgumentException if the posting was rejected
+   */
+  public AccountTransaction post(TransactionIngestItem item) {
+    try {
+      return submit(item).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Posting failed", e.getCause());
+    }
+  }
+
+  /**
+   * @return postings queued but not yet committed
+   */
+  public int pending() {
+    return capacity - permits.availablePermits();
+  }
+
+  /**
+   * Stop accepting drains and wait for the running ones to finish
+   */
+  @Override
+  public void destroy() {
+    drainers.shutdown();
+    try {
+      if (!drainers.awaitTermination(30, TimeUnit.SECONDS)) {
+        log.warn("Posting engine stopped with {} postings pending", pending());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * The lane's only consumer: write groups until the lane is empty, then retire it
+   */
+  private void drain(long account, Lane lane) {
+    List<Task> group = new ArrayList<>(groupSize);
+    boolean retired = false;
+    try {
+      while (!retired) {
+        // pending > 0, and tasks are queued before pending is raised, so the queue is not empty
+        Task head = lane.queue.poll();
+        group.add(head);
+        Task next;
+        while (group.size() < groupSize && (next = lane.queue.peek()) != null
+            && next.item().getUserId().equals(head.item().getUserId())) {
+          group.add(lane.queue.poll());
+        }
+        writeGroup(group);
+
+        int done = group.size();
+        group.clear();
+        permits.release(done);
+        retired = lanes.compute(account, (key, current) -> {
+          current.pending -= done;
+          return current.pending == 0 ? null : current;
+        }) == null;
+      }
+    } finally {
+      if (!retired) {
+        // writeGroup threw something it does not handle (an Error): a lane left with pending > 0
+        // would never get another drainer, so fail its postings and retire it
+        log.error("Posting lane of account {} stopped with {} postings in flight", account, group.size() + lane.queue.size());
+        abandon(account, group, new IllegalStateException("Posting lane of account " + account + " stopped"));
+      }
+    }
+  }
+
+  /**
+   * Retire an account's lane: fail the postings still queued on it and those taken off it but
+   * not completed, and release their permits
+   *
+   * @param taken postings already taken off the queue (their futures may be completed already)
+   */
+  private void abandon(long account, List<Task> taken, RuntimeException cause) {
+    List<Task> dropped = new ArrayList<>(taken);
+    lanes.compute(account, (key, current) -> {
+      if (current != null) {
+        Task task;
+        while ((task = current.queue.poll()) != null) {
+          dropped.add(task);
+        }
+      }
+      return null;
+    });
+    permits.release(dropped.size());
+    for (Task task : dropped) {
+      if (task.result().completeExceptionally(cause)) {
+        failedCounter.increment();
+      }
+    }
+  }
+
+  /**
+   * Write a group in one transaction and complete its futures after the commit
+   */
+  private void writeGroup(List<Task> group) {
+    List<Outcome> outcomes;
+    try {
+      outcomes = writeInTransaction(group);
+    } catch (DataAccessException | TransactionException e) {
+      if (group.size() > 1) {
+        log.warn("Posting group of {} for account {} failed, retrying one by one: {}",
+            group.size(), group.getFirst().item().getAccountNumber(), e.getMessage());
+        for (Task task : group) {
+          writeGroup(List.of(task));
+        }
+        return;
+      }
+      log.error("Posting to account {} failed: {}", group.getFirst().item().getAccountNumber(), e.getMessage());
+      outcomes = List.of(new Outcome(null, e));
+    } catch (RuntimeException e) {
+      log.error("Posting group for account {} failed", group.getFirst().item().getAccountNumber(), e);
+      outcomes = group.stream().map(task -> new Outcome(null, e)).toList();
+    }
+
+    groupSizes.record(group.size());
+    long now = System.nanoTime();
+    for (int i = 0; i < group.size(); i++) {
+      Task task = group.get(i);
+      Outcome outcome = outcomes.get(i);
+      latencyTimer.record(now - task.queuedAt(), TimeUnit.NANOSECONDS);
+      if (outcome.error() == null) {
+        postedCounter.increment();
+        task.result().complete(outcome.posted());
+      } else {
+        (outcome.error() instanceof IllegalArgumentException ? rejectedCounter : failedCounter).increment();
+        task.result().completeExceptionally(outcome.error());
+      }
+    }
+  }
+
+  private List<Outcome> writeInTransaction(List<Task> group) {
+    ShardMap shards = shardMap.getIfAvailable();
+    Integer shard = shards != null ? shards.shardFor(group.getFirst().item().getUserId()) : null;
+    return ShardContext.callOn(shard, () -> groupTransaction.execute(status -> writeLocked(group)));
+  }
+
+  /**
+   * Lock the account, chain the closing balances in queue order and batch-insert.
+   * Runs inside the group transaction.
+   */
+  private List<Outcome> writeLocked(List<Task> group) {
+    long account = group.getFirst().item().getAccountNumber();
+    Map<Long, AccountBalance> locked =
+        accountBalanceService.lockBalances(Map.of(account, group.getFirst().item().getUserId()));
+    AccountBalance balance = locked.get(account);
+    long owner = balance.getUserId();
+    BigDecimal closing = balance.getCurrentBalance() != null ? balance.getCurrentBalance() : BigDecimal.ZERO;
+    Date latest = balance.getLastTransactionDt();
+
+    Date today = Date.valueOf(LocalDate.now());
+    List<Outcome> outcomes = new ArrayList<>(group.size());
+    List<AccountTransaction> transactions = new ArrayList<>(group.size());
+    for (Task task : group) {
+      TransactionIngestItem item = task.item();
+      if (owner != item.getUserId()) {
+        outcomes.add(new Outcome(null, new IllegalArgumentException(
+            "Account " + account + " does not belong to user " + item.getUserId())));
+        continue;
+      }
+      if (latest != null && item.getTransactionDt().before(latest)) {
+        outcomes.add(new Outcome(null, new IllegalArgumentException(
+            "Transaction date " + item.getTransactionDt() + " is before the latest posting to account "
+                + account + " (" + latest + ")")));
+        continue;
+      }
+      latest = item.getTransactionDt();
+      closing = item.getTransactionType() == TransactionType.CREDIT
+          ? closing.add(item.getTransactionAmt())
+          : closing.subtract(item.getTransactionAmt());
+
+      AccountTransaction transaction = AccountTransaction.builder()
+          .transactionId(idGenerator.nextId(AccountTransaction.ID_PREFIX))
+          .accountNumber(account)
+          .userId(item.getUserId())
+          .transactionDt(item.getTransactionDt())
+          .transactionSummary(item.getTransactionSummary())
+          .transactionType(item.getTransactionType())
+          .transactionAmt(item.getTransactionAmt())
+          .closingBalance(closing)
+          .createDt(today)
+          .build();
+      transactions.add(transaction);
+      outcomes.add(new Outcome(transaction, null));
+    }
+    if (!transactions.isEmpty()) {
+      accountBalanceService.recordBatch(transactions, locked);
+    }
+    return outcomes;
+  }
+
+  private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("easybank.posting.postings")
+        .description("Postings by outcome")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
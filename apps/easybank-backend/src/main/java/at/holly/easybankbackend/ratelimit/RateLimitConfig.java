@@ -0,0 +1,40 @@
+package at.holly.easybankbackend.ratelimit;
+
+import at.holly.easybankbackend.config.CachingJwtDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+/**
+ * Rate Limit Configuration
+ * Registers the rate limit filter just ahead of the Spring Security filter chain, with the
+ * application's CORS rules so rejections carry the same CORS headers as any other response.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "easybank.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                 ObjectProvider<JwtDecoder> jwtDecoder,
+                                                                 ObjectProvider<CorsConfigurationSource> corsConfigurationSource,
+                                                                 MeterRegistry meterRegistry) {
+    CachingJwtDecoder verifiedTokens = jwtDecoder.getIfAvailable() instanceof CachingJwtDecoder caching ? caching : null;
+    TokenBucketLimiter limiter = new TokenBucketLimiter(properties.maxClients(), properties.stripes());
+    FilterRegistrationBean<RateLimitFilter> registration =
+        new FilterRegistrationBean<>(new RateLimitFilter(properties, limiter, verifiedTokens,
+            corsConfigurationSource.getIfAvailable(), meterRegistry));
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+
+}
@@ -0,0 +1,158 @@
+package at.holly.easybankbackend.ratelimit;
+
+import at.holly.easybankbackend.config.CachingJwtDecoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limit Filter
+ * Applies per-route token buckets before the security filter chain, so a client hammering an
+ * endpoint is turned away before paying for token verification, provisioning or queries.
+ * <p>
+ * Public routes are keyed by client IP. User routes are keyed by the JWT subject when the bearer
+ * token has already been verified (looked up in the verified-JWT cache - this filter never trusts
+ * an unverified token, so a forged token cannot drain someone else's bucket); otherwise by IP.
+ * Rejected requests get 429 with Retry-After, counted in {@code easybank.ratelimit.rejected{route}}.
+ * <p>
+ * Running ahead of Spring Security also means running ahead of its CORS filter: CORS preflights are
+ * passed through unlimited, and rejections get the CORS headers of the application's
+ * {@link CorsConfigurationSource}, so browsers let the client read the 429 and its Retry-After.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private record CompiledRoute(int index, String name, List<PathPattern> patterns, RateLimitProperties.KeyType key,
+                               TokenBucketLimiter.Limit limit, Counter rejected) {
+  }
+
+  private final List<CompiledRoute> routes;
+  private final TokenBucketLimiter limiter;
+  private final CachingJwtDecoder verifiedTokens;
+  private final CorsConfigurationSource corsConfigurationSource;
+  private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+  /**
+   * @param properties route configuration
+   * @param limiter bucket table shared by all routes
+   * @param verifiedTokens verified-JWT cache for subject keys, or {@code null} to key every route by IP
+   * @param corsConfigurationSource CORS rules applied to rejections, or {@code null} for none
+   * @param meterRegistry registry for rejection counters
+   */
+  public RateLimitFilter(RateLimitProperties properties, TokenBucketLimiter limiter, CachingJwtDecoder verifiedTokens,
+                         CorsConfigurationSource corsConfigurationSource, MeterRegistry meterRegistry) {
+    this.limiter = limiter;
+    this.verifiedTokens = verifiedTokens;
+    this.corsConfigurationSource = corsConfigurationSource;
+    List<CompiledRoute> compiled = new ArrayList<>();
+    for (RateLimitProperties.Route route : properties.routes()) {
+      List<PathPattern> patterns = route.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+      Counter rejected = Counter.builder("easybank.ratelimit.rejected")
+          .description("Requests rejected by the rate limiter")
+          .tag("route", route.name())
+          .register(meterRegistry);
+      compiled.add(new CompiledRoute(compiled.size(), route.name(), patterns, route.key(),
+          TokenBucketLimiter.Limit.of(route.capacity(), route.refillPerSecond()), rejected));
+    }
+    this.routes = List.copyOf(compiled);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    // Preflights carry no credentials and are answered by the CORS filter - never spend tokens on them
+    CompiledRoute route = CorsUtils.isPreFlightRequest(request) ? null : match(request);
+    if (route == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String subject = route.key() == RateLimitProperties.KeyType.USER ? verifiedSubject(request) : null;
+    // Route index doubles as namespace: subject and IP buckets of one route never share a key
+    long key = subject != null
+        ? TokenBucketLimiter.hash(route.index() * 2 + 1, subject)
+        : TokenBucketLimiter.hash(route.index() * 2, request.getRemoteAddr());
+
+    long waitNanos = limiter.tryAcquire(key, route.limit(), System.nanoTime());
+    if (waitNanos == 0) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    route.rejected().increment();
+    log.debug("Rate limit exceeded on route {} for {}", route.name(), subject != null ? "subject" : "IP");
+    reject(request, response, waitNanos);
+  }
+
+  private CompiledRoute match(HttpServletRequest request) {
+    if (routes.isEmpty()) {
+      return null;
+    }
+    PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+    for (CompiledRoute route : routes) {
+      for (PathPattern pattern : route.patterns()) {
+        if (pattern.matches(path)) {
+          return route;
+        }
+      }
+    }
+    return null;
+  }
+
+  private String verifiedSubject(HttpServletRequest request) {
+    if (verifiedTokens == null) {
+      return null;
+    }
+    String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+      return null;
+    }
+    Jwt jwt = verifiedTokens.getIfVerified(authorization.substring(BEARER_PREFIX.length()).trim());
+    return jwt != null ? jwt.getSubject() : null;
+  }
+
+  private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+    CorsConfiguration cors = corsConfigurationSource != null ? corsConfigurationSource.getCorsConfiguration(request) : null;
+    if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+      // Disallowed origin - answered with 403 by the processor, as the CORS filter would
+      return;
+    }
+    long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    response.setHeader("easybank-error-reason", "Rate limit exceeded");
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setContentType("application/json;charset=utf-8");
+    response.getWriter().write("""
+        {
+        "status":"%s",
+        "path":"%s",
+        "timestamp": "%s",
+        "error": "%s"
+        }
+      """.formatted(HttpStatus.TOO_MANY_REQUESTS.value(), request.getRequestURI(), new Date(),
+        "Too many requests - retry after " + retryAfterSeconds + "s"));
+  }
+}
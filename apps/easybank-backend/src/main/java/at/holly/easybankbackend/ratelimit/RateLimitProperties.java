@@ -0,0 +1,49 @@
+package at.holly.easybankbackend.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Rate limit configuration ({@code easybank.rate-limit.*})
+ *
+ * @param enabled whether the filter is active
+ * @param maxClients bucket slots shared by all routes - bounds memory regardless of client count
+ * @param stripes lock stripes over the bucket table
+ * @param routes limited routes; the first route whose paths match wins, unmatched requests are not limited
+ */
+@ConfigurationProperties("easybank.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("65536") int maxClients,
+    @DefaultValue("64") int stripes,
+    List<Route> routes) {
+
+  public RateLimitProperties {
+    routes = routes == null ? List.of() : List.copyOf(routes);
+  }
+
+  /**
+   * Whose bucket a request draws from
+   */
+  public enum KeyType {
+    /** JWT subject of an already verified bearer token, falling back to the client IP */
+    USER,
+    /** Client IP address */
+    IP
+  }
+
+  /**
+   * One limited route
+   *
+   * @param name metric tag
+   * @param paths path patterns, e.g. {@code /api/v1/myBalance/**}
+   * @param key bucket key
+   * @param capacity burst size in requests
+   * @param refillPerSecond sustained requests per second
+   */
+  public record Route(String name, List<String> paths, @DefaultValue("IP") KeyType key, int capacity,
+                      double refillPerSecond) {
+  }
+}
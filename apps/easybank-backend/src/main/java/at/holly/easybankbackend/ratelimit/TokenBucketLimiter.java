@@ -0,0 +1,162 @@
+package at.holly.easybankbackend.ratelimit;
+
+import at.holly.easybankbackend.concurrent.StripedLock;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token Bucket Limiter
+ * Fixed-size table of token buckets keyed by a 64-bit client hash.
+ * <p>
+ * Each bucket is stored in its GCRA form - a single "theoretical arrival time" (TAT) - which is
+ * equivalent to a token bucket of {@code capacity} tokens refilled every {@code interval}: a request
+ * is allowed while {@code TAT - now <= (capacity - 1) * interval}, and each allowed request pushes
+ * TAT forward by one interval. A bucket whose TAT lies in the past is full, which makes it
+ * indistinguishable from an absent one - idle buckets are evicted for free, simply by reusing
+ * their slot.
+ * <p>
+ * State lives in two preallocated long arrays (keys and TATs), split into regions that are
+ * each guarded by one stripe of a {@link StripedLock}. A key probes a few slots of its region;
+ * when none is free or idle, the bucket with the oldest TAT is replaced. Memory is bounded by
+ * the table size and the hot path allocates nothing.
+ */
+public class TokenBucketLimiter {
+
+  static final int PROBE_LENGTH = 8;
+
+  /**
+   * Bucket shape
+   *
+   * @param capacity burst size in requests
+   * @param intervalNanos time to refill one token
+   */
+  public record Limit(int capacity, long intervalNanos) {
+
+    public Limit {
+      if (capacity <= 0 || intervalNanos <= 0) {
+        throw new IllegalArgumentException("Rate limit capacity and refill interval must be positive");
+      }
+    }
+
+    /**
+     * @param capacity burst size in requests
+     * @param refillPerSecond sustained requests per second
+     * @return the limit
+     */
+    public static Limit of(int capacity, double refillPerSecond) {
+      if (refillPerSecond <= 0) {
+        throw new IllegalArgumentException("Rate limit refill rate must be positive");
+      }
+      return new Limit(capacity, Math.max(1, Math.round(1_000_000_000L / refillPerSecond)));
+    }
+
+    long burstToleranceNanos() {
+      return (capacity - 1) * intervalNanos;
+    }
+  }
+
+  private final long[] keys;
+  private final long[] arrivals;
+  private final StripedLock locks;
+  private final int regionShift;
+  private final int regionMask;
+
+  /**
+   * @param maxEntries bucket slots (rounded up to a power of two, at least one probe run per stripe)
+   * @param stripes lock stripes (rounded up to a power of two)
+   */
+  public TokenBucketLimiter(int maxEntries, int stripes) {
+    this.locks = new StripedLock(stripes);
+    int regionSize = Math.max(PROBE_LENGTH, ceilPowerOfTwo(maxEntries) / locks.size());
+    int slots = regionSize * locks.size();
+    this.keys = new long[slots];
+    this.arrivals = new long[slots];
+    this.regionShift = Integer.numberOfTrailingZeros(regionSize);
+    this.regionMask = regionSize - 1;
+  }
+
+  /**
+   * Take one token from the client's bucket
+   *
+   * @param key 64-bit client hash (see {@link #hash(int, CharSequence)})
+   * @param limit the bucket shape
+   * @param nowNanos current {@link System#nanoTime()}
+   * @return 0 if the request is allowed, otherwise nanoseconds until a token is available
+   */
+  public long tryAcquire(long key, Limit limit, long nowNanos) {
+    long stored = key == 0 ? 1 : key;
+    int index = (int) (stored ^ (stored >>> 32)) & (keys.length - 1);
+    int regionStart = index & ~regionMask;
+    ReentrantLock lock = locks.forHash(index >>> regionShift);
+    lock.lock();
+    try {
+      int slot = findSlot(stored, index, regionStart);
+      long arrival = keys[slot] == stored ? Math.max(arrivals[slot], nowNanos) : nowNanos;
+      long wait = arrival - limit.burstToleranceNanos() - nowNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      keys[slot] = stored;
+      arrivals[slot] = arrival + limit.intervalNanos();
+      return 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The key's slot, else a never-used slot, else the slot whose bucket has refilled the most
+   * (an idle bucket is always such a candidate, since its arrival time lies in the past)
+   */
+  private int findSlot(long key, int index, int regionStart) {
+    int empty = -1;
+    int victim = -1;
+    long oldest = 0;
+    for (int i = 0; i < PROBE_LENGTH; i++) {
+      int slot = regionStart + ((index + i) & regionMask);
+      long current = keys[slot];
+      if (current == key) {
+        return slot;
+      }
+      if (current == 0) {
+        if (empty < 0) {
+          empty = slot;
+        }
+      } else if (victim < 0 || arrivals[slot] - oldest < 0) {
+        victim = slot;
+        oldest = arrivals[slot];
+      }
+    }
+    return empty >= 0 ? empty : victim;
+  }
+
+  /**
+   * 64-bit hash of a route and client identifier, computed without allocating
+   *
+   * @param route route index, so one client gets a separate bucket per route
+   * @param client subject or IP address
+   * @return the key
+   */
+  public static long hash(int route, CharSequence client) {
+    long h = 0xcbf29ce484222325L ^ route;
+    for (int i = 0; i < client.length(); i++) {
+      h ^= client.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    // Final avalanche (SplitMix64) so FNV's weak low bits still spread over the table
+    h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+    h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+    return h ^ (h >>> 31);
+  }
+
+  /**
+   * @return number of bucket slots
+   */
+  public int slots() {
+    return keys.length;
+  }
+
+  private static int ceilPowerOfTwo(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+}
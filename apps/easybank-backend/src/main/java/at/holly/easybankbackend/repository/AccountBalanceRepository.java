@@ -0,0 +1,45 @@
+package at.holly.easybankbackend.repository;
+
+import at.holly.easybankbackend.model.AccountBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, Long> {
+
+  /**
+   * Get balance row for account, locking it for the rest of the transaction
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT b FROM AccountBalance b WHERE b.accountNumber = :accountNumber")
+  Optional<AccountBalance> findForUpdate(@Param("accountNumber") long accountNumber);
+
+  /**
+   * Get balance rows for several accounts, locking them in account order for the rest of the transaction
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT b FROM AccountBalance b WHERE b.accountNumber IN :accountNumbers ORDER BY b.accountNumber")
+  List<AccountBalance> findAllForUpdate(@Param("accountNumbers") Collection<Long> accountNumbers);
+
+  /**
+   * Get balance summary figures for user by adding up the user's account rows
+   */
+  @Query("""
+      SELECT new at.holly.easybankbackend.repository.BalanceAggregate(
+        SUM(b.currentBalance),
+        COALESCE(SUM(b.totalCredits), 0),
+        COALESCE(SUM(b.totalDebits), 0),
+        COALESCE(SUM(b.transactionCount), 0))
+      FROM AccountBalance b WHERE b.userId = :userId
+      """)
+  BalanceAggregate sumByUserId(@Param("userId") Long userId);
+
+}
@@ -1,7 +1,10 @@
 package at.holly.easybankbackend.repository;
 
+import at.holly.easybankbackend.dto.AccountDto;
 import at.holly.easybankbackend.model.Account;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -9,4 +12,13 @@ public interface AccountRepository extends CrudRepository<Account, Long> {
 
   Account findByUserId(long userId);
 
+  /**
+   * Get account DTO for user, projected without hydrating the entity
+   */
+  @Query("""
+      SELECT new at.holly.easybankbackend.dto.AccountDto(a.accountNumber, a.userId, a.accountType, a.branchAddress, a.createDt)
+      FROM Account a WHERE a.userId = :userId
+      """)
+  AccountDto findDtoByUserId(@Param("userId") long userId);
+
 }
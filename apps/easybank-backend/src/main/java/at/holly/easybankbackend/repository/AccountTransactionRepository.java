@@ -1,42 +1,105 @@
 package at.holly.easybankbackend.repository;
 
+import at.holly.easybankbackend.dto.AccountTransactionDto;
+import at.holly.easybankbackend.model.AccountBalance;
 import at.holly.easybankbackend.model.AccountTransaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.sql.Date;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, String> {
 
-  Page<AccountTransaction> findByUserId(long userId, Pageable pageable);
+  String TRANSACTION_DTO = """
+      SELECT new at.holly.easybankbackend.dto.AccountTransactionDto(
+        t.transactionId, t.accountNumber, t.userId, t.transactionDt, t.transactionSummary,
+        t.transactionType, t.transactionAmt, t.closingBalance, t.createDt)
+      FROM AccountTransaction t WHERE t.userId = :userId
+      """;
 
   /**
-   * Get most recent transaction for user (for current balance)
+   * Get a page of transaction DTOs for user
+   * Projects straight into AccountTransactionDto, so no entities are hydrated or snapshotted for dirty checking
    */
-  @Query("SELECT t FROM AccountTransaction t WHERE t.userId = :userId ORDER BY t.transactionDt DESC LIMIT 1")
-  Optional<AccountTransaction> findLatestByUserId(@Param("userId") Long userId);
+  @Query(value = TRANSACTION_DTO, countQuery = "SELECT COUNT(t) FROM AccountTransaction t WHERE t.userId = :userId")
+  Page<AccountTransactionDto> findDtoPageByUserId(@Param("userId") long userId, Pageable pageable);
 
   /**
-   * Get total credits (money received) for user
+   * Get a slice of transaction DTOs for user without a count query (fetches size + 1 rows to derive hasNext)
    */
-  @Query("SELECT COALESCE(SUM(t.transactionAmt), 0) FROM AccountTransaction t WHERE t.userId = :userId AND t.transactionType = 'Credit'")
-  BigDecimal sumCreditsByUserId(@Param("userId") Long userId);
+  @Query(TRANSACTION_DTO)
+  Slice<AccountTransactionDto> findDtoSliceByUserId(@Param("userId") long userId, Pageable pageable);
 
   /**
-   * Get total debits (money spent) for user
+   * Get first keyset page for user, newest first
+   * Served by idx_transaction_user_dt_id, so no rows are skipped
    */
-  @Query("SELECT COALESCE(SUM(t.transactionAmt), 0) FROM AccountTransaction t WHERE t.userId = :userId AND t.transactionType = 'Debit'")
-  BigDecimal sumDebitsByUserId(@Param("userId") Long userId);
+  @Query(TRANSACTION_DTO + """
+      ORDER BY t.transactionDt DESC, t.transactionId DESC
+      """)
+  List<AccountTransactionDto> findFirstKeysetPage(@Param("userId") long userId, Limit limit);
 
   /**
-   * Get total transaction count for user
+   * Get keyset page for user seeking past the given (transactionDt, transactionId) position, newest first
+   * Latency does not depend on how far back the position is
    */
-  Long countByUserId(Long userId);
+  @Query(TRANSACTION_DTO + """
+        AND (t.transactionDt < :transactionDt
+             OR (t.transactionDt = :transactionDt AND t.transactionId < :transactionId))
+      ORDER BY t.transactionDt DESC, t.transactionId DESC
+      """)
+  List<AccountTransactionDto> findKeysetPageAfter(@Param("userId") long userId,
+                                               @Param("transactionDt") Date transactionDt,
+                                               @Param("transactionId") String transactionId,
+                                               Limit limit);
+
+  /**
+   * Balance summary rows recomputed from account_transactions, one row per (user, account).
+   * Latest closing balance is picked by date, then id.
+   */
+  String RECOMPUTE_BALANCES = """
+      SELECT new at.holly.easybankbackend.model.AccountBalance(
+        t.accountNumber,
+        t.userId,
+        (SELECT l.closingBalance FROM AccountTransaction l WHERE l.accountNumber = t.accountNumber
+           ORDER BY l.transactionDt DESC, l.transactionId DESC LIMIT 1),
+        COALESCE(SUM(CASE WHEN t.transactionType = at.holly.easybankbackend.enums.TransactionType.CREDIT
+                          THEN t.transactionAmt END), 0),
+        COALESCE(SUM(CASE WHEN t.transactionType = at.holly.easybankbackend.enums.TransactionType.DEBIT
+                          THEN t.transactionAmt END), 0),
+        COUNT(t),
+        MAX(t.transactionDt),
+        (SELECT l.transactionId FROM AccountTransaction l WHERE l.accountNumber = t.accountNumber
+           ORDER BY l.transactionDt DESC, l.transactionId DESC LIMIT 1))
+      FROM AccountTransaction t
+      """;
+
+  /**
+   * Recompute the balance_summary read model from the full transaction history
+   */
+  @Query(RECOMPUTE_BALANCES + """
+      GROUP BY t.accountNumber, t.userId
+      ORDER BY t.accountNumber
+      """)
+  List<AccountBalance> recomputeBalances();
+
+  /**
+   * Recompute the balance_summary rows of some accounts from their full transaction history
+   */
+  @Query(RECOMPUTE_BALANCES + """
+      WHERE t.accountNumber IN :accountNumbers
+      GROUP BY t.accountNumber, t.userId
+      ORDER BY t.accountNumber
+      """)
+  List<AccountBalance> recomputeBalances(@Param("accountNumbers") Collection<Long> accountNumbers);
 
 }
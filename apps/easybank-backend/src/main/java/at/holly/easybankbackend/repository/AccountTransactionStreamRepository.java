@@ -0,0 +1,88 @@
+package at.holly.easybankbackend.repository;
+
+import at.holly.easybankbackend.dto.AccountTransactionDto;
+import at.holly.easybankbackend.enums.TransactionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only streaming access to account_transactions
+ * Reads rows through a plain JDBC cursor with a fixed fetch size and hands each one
+ * to the caller as a DTO. No entities are created, so nothing accumulates in a
+ * persistence context and heap usage is independent of the history size.
+ * <p>
+ * On MySQL a positive fetch size is ignored without cursor fetch, so the query uses Connector/J's
+ * row streaming instead (forward-only, read-only, fetch size Integer.MIN_VALUE): rows are read off
+ * the socket one at a time and no connection setting is changed. While the result set is open the
+ * connection cannot run other statements - the consumer must not touch the database.
+ * Other drivers get the configured fetch size.
+ */
+@Repository
+public class AccountTransactionStreamRepository {
+
+  private static final String SELECT_BY_USER = """
+      SELECT transaction_id, account_number, user_id, transaction_dt, transaction_summary,
+             transaction_type, transaction_amt, closing_balance, create_dt
+      FROM account_transactions
+      WHERE user_id = ?
+      ORDER BY transaction_dt DESC, transaction_id DESC
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int fetchSize;
+
+  public AccountTransactionStreamRepository(JdbcTemplate jdbcTemplate,
+                                            @Value("${easybank.export.fetch-size:500}") int fetchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Stream all transactions of a user, newest first
+   *
+   * @param userId the user ID
+   * @param consumer called once per row, in order
+   */
+  public void streamByUserId(long userId, Consumer<AccountTransactionDto> consumer) {
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_USER,
+          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        statement.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : fetchSize);
+        statement.setLong(1, userId);
+        try (ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            consumer.accept(toDto(rs));
+          }
+        }
+      }
+      return null;
+    });
+  }
+
+  private static AccountTransactionDto toDto(ResultSet rs) throws SQLException {
+    String type = rs.getString("transaction_type");
+    return AccountTransactionDto.builder()
+        .transactionId(rs.getString("transaction_id"))
+        .accountNumber(rs.getLong("account_number"))
+        .userId(rs.getLong("user_id"))
+        .transactionDt(rs.getDate("transaction_dt"))
+        .transactionSummary(rs.getString("transaction_summary"))
+        .transactionType(type != null ? TransactionType.valueOf(type) : null)
+        .transactionAmt(rs.getBigDecimal("transaction_amt"))
+        .closingBalance(rs.getBigDecimal("closing_balance"))
+        .createDt(rs.getDate("create_dt"))
+        .build();
+  }
+
+  private static boolean isMySql(Connection connection) throws SQLException {
+    return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+  }
+}
@@ -0,0 +1,20 @@
+package at.holly.easybankbackend.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance Aggregate projection
+ * Result of {@link AccountBalanceRepository#sumByUserId(Long)}:
+ * all balance summary figures for a user read in a single statement.
+ *
+ * @param currentBalance sum of the latest closing balance of each account (null if none)
+ * @param totalCredits sum of all credit amounts
+ * @param totalDebits sum of all debit amounts
+ * @param transactionCount number of transactions
+ */
+public record BalanceAggregate(
+    BigDecimal currentBalance,
+    BigDecimal totalCredits,
+    BigDecimal totalDebits,
+    Long transactionCount) {
+}
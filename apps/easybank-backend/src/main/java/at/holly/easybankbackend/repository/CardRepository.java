@@ -1,8 +1,10 @@
 package at.holly.easybankbackend.repository;
 
+import at.holly.easybankbackend.dto.CardDto;
 import at.holly.easybankbackend.model.Card;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +15,24 @@ import java.math.BigDecimal;
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
 
-  Page<Card> findByUserId(long userId, Pageable pageable);
+  String CARD_DTO = """
+      SELECT new at.holly.easybankbackend.dto.CardDto(
+        c.cardId, c.userId, c.cardNumber, c.cardType, c.totalLimit, c.amountUsed, c.availableAmount, c.createDt)
+      FROM Card c WHERE c.userId = :userId
+      """;
+
+  /**
+   * Get a page of card DTOs for user
+   * Projects straight into CardDto, so no entities are hydrated or snapshotted for dirty checking
+   */
+  @Query(value = CARD_DTO, countQuery = "SELECT COUNT(c) FROM Card c WHERE c.userId = :userId")
+  Page<CardDto> findDtoPageByUserId(@Param("userId") long userId, Pageable pageable);
+
+  /**
+   * Get a slice of card DTOs for user without a count query (fetches size + 1 rows to derive hasNext)
+   */
+  @Query(CARD_DTO)
+  Slice<CardDto> findDtoSliceByUserId(@Param("userId") long userId, Pageable pageable);
 
   /**
    * Get total credit limit (sum of totalLimit) for user
@@ -1,8 +1,10 @@
 package at.holly.easybankbackend.repository;
 
+import at.holly.easybankbackend.dto.LoanDto;
 import at.holly.easybankbackend.model.Loan;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +15,24 @@ import java.math.BigDecimal;
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
 
-  Page<Loan> findByUserId(long userId, Pageable pageable);
+  String LOAN_DTO = """
+      SELECT new at.holly.easybankbackend.dto.LoanDto(
+        l.loanNumber, l.userId, l.startDt, l.loanType, l.totalLoan, l.amountPaid, l.outstandingAmount, l.createDt)
+      FROM Loan l WHERE l.userId = :userId
+      """;
+
+  /**
+   * Get a page of loan DTOs for user
+   * Projects straight into LoanDto, so no entities are hydrated or snapshotted for dirty checking
+   */
+  @Query(value = LOAN_DTO, countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.userId = :userId")
+  Page<LoanDto> findDtoPageByUserId(@Param("userId") long userId, Pageable pageable);
+
+  /**
+   * Get a slice of loan DTOs for user without a count query (fetches size + 1 rows to derive hasNext)
+   */
+  @Query(LOAN_DTO)
+  Slice<LoanDto> findDtoSliceByUserId(@Param("userId") long userId, Pageable pageable);
 
   /**
    * Get total loan amount (sum of totalLoan) for user
@@ -1,21 +1,21 @@
 package at.holly.easybankbackend.repository;
 
 import at.holly.easybankbackend.model.Notice;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Date;
 import java.util.List;
 
 @Repository
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
 
-  @Query(value = "from Notice n where CURDATE() BETWEEN n.noticBegDt AND n.noticEndDt")
-  List<Notice> findAllActiveNotices();
-
-  @Query(value = "from Notice n where CURDATE() BETWEEN n.noticBegDt AND n.noticEndDt")
-  Page<Notice> findAllActiveNotices(Pageable pageable);
+  /**
+   * @param day the application's current date - not the database's, which may be in another time zone
+   */
+  @Query(value = "from Notice n where :day BETWEEN n.noticBegDt AND n.noticEndDt")
+  List<Notice> findAllActiveNotices(@Param("day") Date day);
 
 }
@@ -0,0 +1,371 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.BalanceVerificationReport;
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.model.AccountBalance;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.repository.AccountBalanceRepository;
+import at.holly.easybankbackend.repository.AccountTransactionRepository;
+import at.holly.easybankbackend.shard.ShardScatterGather;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Account Balance Service
+ * Maintains the balance_summary read model (one AccountBalance row per account).
+ * Every AccountTransaction write must go through {@link #recordTransaction(AccountTransaction)}
+ * (or {@link #recordBatch(List, Map)} for bulk writes) so the summary is updated in the same transaction. A rebuild/verify job recomputes
+ * the table from account_transactions and reports any drift; with sharding it runs on all shards in parallel.
+ * <p>
+ * Accounts whose transactions predate the table (or were loaded out-of-band) have no row: an empty table is
+ * backfilled on startup, and the nightly job creates rows that are still missing. Drifted rows that do
+ * exist are only rewritten by an explicit {@code verify(true)} or the dev/test startup rebuild.
+ */
+@Service
+@Slf4j
+public class AccountBalanceService {
+
+  static final String INSERT_SQL = "INSERT INTO account_transactions (transaction_id, account_number, user_id, "
+      + "transaction_dt, transaction_summary, transaction_type, transaction_amt, closing_balance, create_dt) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final BalanceVerificationReport NOTHING_CHECKED = BalanceVerificationReport.builder()
+      .accountsChecked(0)
+      .driftedAccounts(List.of())
+      .repaired(false)
+      .build();
+  private static final String INSERT_EMPTY_BALANCE_SQL = "INSERT INTO balance_summary (account_number, user_id, "
+      + "total_credits, total_debits, transaction_count) VALUES (?, ?, 0, 0, 0)";
+
+  private final AccountBalanceRepository accountBalanceRepository;
+  private final AccountTransactionRepository accountTransactionRepository;
+  private final ShardScatterGather shardScatterGather;
+  private final JdbcTemplate jdbcTemplate;
+  private final Counter driftCounter;
+  private final boolean rebuildOnStartup;
+
+  /**
+   * Which rows a verification rewrites
+   */
+  private enum Repair {
+    NONE, MISSING, ALL
+  }
+
+  public AccountBalanceService(AccountBalanceRepository accountBalanceRepository,
+                               AccountTransactionRepository accountTransactionRepository,
+                               ShardScatterGather shardScatterGather,
+                               JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${easybank.balance-summary.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+    this.accountBalanceRepository = accountBalanceRepository;
+    this.accountTransactionRepository = accountTransactionRepository;
+    this.shardScatterGather = shardScatterGather;
+    this.jdbcTemplate = jdbcTemplate;
+    this.rebuildOnStartup = rebuildOnStartup;
+    this.driftCounter = Counter.builder("easybank.balance.summary.drift")
+        .description("Accounts whose balance_summary row differed from account_transactions")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Persist a transaction and apply it to its account's balance summary atomically.
+   * The summary row is locked for the rest of the transaction, so concurrent writers
+   * to the same account are applied one after another.
+   *
+   * @param transaction the transaction to write
+   * @return the saved transaction
+   */
+  @Transactional
+  public AccountTransaction recordTransaction(AccountTransaction transaction) {
+    AccountTransaction saved = accountTransactionRepository.save(transaction);
+    apply(saved);
+    return saved;
+  }
+
+  /**
+   * Apply an already persisted transaction to its account's balance summary.
+   * Must run inside the transaction that wrote the AccountTransaction.
+   *
+   * @param transaction the written transaction
+   */
+  @Transactional
+  public void apply(AccountTransaction transaction) {
+    long accountNumber = transaction.getAccountNumber();
+    AccountBalance balance = accountBalanceRepository.findForUpdate(accountNumber)
+        .orElseGet(() -> lockBalances(Map.of(accountNumber, transaction.getUserId())).get(accountNumber));
+    applyTo(balance, transaction);
+    accountBalanceRepository.save(balance);
+  }
+
+  /**
+   * Lock the balance summary rows of several accounts for the rest of the transaction, creating
+   * empty rows for accounts that have none yet. Existing rows are locked in account order, then
+   * missing ones are inserted in account order, so concurrent batches touching the same accounts
+   * cannot deadlock, and concurrent first writers of an account both end up with the one row.
+   *
+   * @param ownerByAccount the accounts, each with the user a new row is created for
+   * @return the locked rows by account number, one for every account
+   */
+  @Transactional
+  public Map<Long, AccountBalance> lockBalances(Map<Long, Long> ownerByAccount) {
+    Map<Long, AccountBalance> locked = lock(ownerByAccount.keySet());
+    if (locked.size() < ownerByAccount.size()) {
+      List<Long> missing = ownerByAccount.keySet().stream()
+          .filter(account -> !locked.containsKey(account))
+          .sorted()
+          .toList();
+      missing.forEach(account -> insertIfAbsent(account, ownerByAccount.get(account)));
+      locked.putAll(lock(missing));
+    }
+    return locked;
+  }
+
+  private Map<Long, AccountBalance> lock(Collection<Long> accountNumbers) {
+    return accountBalanceRepository.findAllForUpdate(accountNumbers).stream()
+        .collect(Collectors.toMap(AccountBalance::getAccountNumber, Function.identity()));
+  }
+
+  /**
+   * Insert transactions with one JDBC batch and apply them to their accounts' balance summaries.
+   * Transactions must carry their id and closing balance; their accounts must have been locked
+   * with {@link #lockBalances(Map)} in the same transaction.
+   *
+   * @param transactions the transactions to write, in arrival order
+   * @param locked the rows returned by {@link #lockBalances(Map)}
+   */
+  @Transactional
+  public void recordBatch(List<AccountTransaction> transactions, Map<Long, AccountBalance> locked) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, transactions, transactions.size(), (statement, transaction) -> {
+      statement.setString(1, transaction.getTransactionId());
+      statement.setLong(2, transaction.getAccountNumber());
+      statement.setLong(3, transaction.getUserId());
+      statement.setDate(4, transaction.getTransactionDt());
+      statement.setString(5, transaction.getTransactionSummary());
+      statement.setString(6, transaction.getTransactionType().name());
+      statement.setBigDecimal(7, transaction.getTransactionAmt());
+      statement.setBigDecimal(8, transaction.getClosingBalance());
+      statement.setDate(9, transaction.getCreateDt());
+    });
+
+    Map<Long, AccountBalance> touched = new LinkedHashMap<>();
+    for (AccountTransaction transaction : transactions) {
+      AccountBalance balance = locked.get(transaction.getAccountNumber());
+      applyTo(balance, transaction);
+      touched.put(balance.getAccountNumber(), balance);
+    }
+    accountBalanceRepository.saveAll(touched.values());
+  }
+
+  private void applyTo(AccountBalance balance, AccountTransaction transaction) {
+    if (transaction.getTransactionType() == TransactionType.CREDIT) {
+      balance.setTotalCredits(balance.getTotalCredits().add(transaction.getTransactionAmt()));
+    } else if (transaction.getTransactionType() == TransactionType.DEBIT) {
+      balance.setTotalDebits(balance.getTotalDebits().add(transaction.getTransactionAmt()));
+    }
+    balance.setTransactionCount(balance.getTransactionCount() + 1);
+
+    // Only move the current balance forward - back-dated transactions keep the latest closing balance
+    if (isNewer(transaction, balance)) {
+      balance.setCurrentBalance(transaction.getClosingBalance());
+      balance.setLastTransactionDt(transaction.getTransactionDt());
+      balance.setLastTransactionId(transaction.getTransactionId());
+    }
+  }
+
+  /**
+   * Recompute the table from account_transactions and compare it with the stored rows, on every shard.
+   *
+   * @param repair whether to rewrite drifted rows and delete orphaned ones
+   * @return the verification report, merged across shards
+   */
+  public BalanceVerificationReport verify(boolean repair) {
+    return verify(repair ? Repair.ALL : Repair.NONE);
+  }
+
+  /**
+   * Create the rows of every shard whose balance_summary table is still empty, e.g. after the table was
+   * first provisioned on a database that already holds transactions. Shards with rows are left alone.
+   *
+   * @return the verification report of the backfilled shards, merged
+   */
+  public BalanceVerificationReport backfill() {
+    return merge(shardScatterGather.onAllShards("balance-backfill",
+        () -> accountBalanceRepository.count() == 0 ? verifyShard(Repair.MISSING) : NOTHING_CHECKED));
+  }
+
+  private BalanceVerificationReport verify(Repair repair) {
+    return merge(shardScatterGather.onAllShards("balance-verify", () -> verifyShard(repair)));
+  }
+
+  private BalanceVerificationReport merge(List<BalanceVerificationReport> reports) {
+    if (reports.size() == 1) {
+      return reports.get(0);
+    }
+    List<Long> drifted = new ArrayList<>();
+    int accountsChecked = 0;
+    boolean repaired = false;
+    for (BalanceVerificationReport report : reports) {
+      accountsChecked += report.getAccountsChecked();
+      drifted.addAll(report.getDriftedAccounts());
+      repaired |= report.isRepaired();
+    }
+    return BalanceVerificationReport.builder()
+        .accountsChecked(accountsChecked)
+        .driftedAccounts(drifted)
+        .repaired(repaired)
+        .build();
+  }
+
+  /**
+   * Verify the shard bound to the current thread, inside the caller's transaction
+   */
+  private BalanceVerificationReport verifyShard(Repair repair) {
+    List<AccountBalance> expected = accountTransactionRepository.recomputeBalances();
+    Map<Long, AccountBalance> stored = accountBalanceRepository.findAll().stream()
+        .collect(Collectors.toMap(AccountBalance::getAccountNumber, Function.identity()));
+
+    List<Long> drifted = new ArrayList<>();
+    Map<Long, Long> missing = new TreeMap<>();
+    for (AccountBalance recomputed : expected) {
+      AccountBalance current = stored.remove(recomputed.getAccountNumber());
+      if (current == null) {
+        missing.put(recomputed.getAccountNumber(), recomputed.getUserId());
+      }
+      if (current == null || !sameFigures(current, recomputed)) {
+        drifted.add(recomputed.getAccountNumber());
+      }
+    }
+    // Whatever is left has no transactions behind it
+    drifted.addAll(stored.keySet());
+
+    List<Long> repaired = switch (repair) {
+      case NONE -> List.of();
+      case MISSING -> new ArrayList<>(missing.keySet());
+      case ALL -> drifted;
+    };
+    if (!drifted.isEmpty()) {
+      driftCounter.increment(drifted.size());
+      log.warn("Balance summary drift detected for {} of {} accounts: {}", drifted.size(), expected.size(), drifted);
+      if (!repaired.isEmpty()) {
+        repair(repaired, missing);
+        log.info("Balance summary repaired for {} accounts", repaired.size());
+      }
+    } else {
+      log.info("Balance summary verified for {} accounts, no drift", expected.size());
+    }
+
+    return BalanceVerificationReport.builder()
+        .accountsChecked(expected.size())
+        .driftedAccounts(drifted)
+        .repaired(!repaired.isEmpty())
+        .build();
+  }
+
+  /**
+   * Rewrite rows without losing concurrent writes: missing rows are inserted empty and all
+   * rewritten rows are locked before their figures are recomputed, so a transaction applied concurrently
+   * is either part of the recomputed figures or waits for the repair to commit.
+   *
+   * @param drifted the drifted accounts to rewrite
+   * @param missing owner by account, for drifted accounts that have no row yet (in account order)
+   */
+  private void repair(List<Long> drifted, Map<Long, Long> missing) {
+    missing.forEach(this::insertIfAbsent);
+    Map<Long, AccountBalance> locked = lock(drifted.stream().sorted().toList());
+    Map<Long, AccountBalance> recomputed = accountTransactionRepository.recomputeBalances(drifted).stream()
+        .collect(Collectors.toMap(AccountBalance::getAccountNumber, Function.identity()));
+    for (AccountBalance row : locked.values()) {
+      AccountBalance fresh = recomputed.get(row.getAccountNumber());
+      if (fresh == null) {
+        accountBalanceRepository.delete(row);
+        continue;
+      }
+      row.setUserId(fresh.getUserId());
+      row.setCurrentBalance(fresh.getCurrentBalance());
+      row.setTotalCredits(fresh.getTotalCredits());
+      row.setTotalDebits(fresh.getTotalDebits());
+      row.setTransactionCount(fresh.getTransactionCount());
+      row.setLastTransactionDt(fresh.getLastTransactionDt());
+      row.setLastTransactionId(fresh.getLastTransactionId());
+    }
+  }
+
+  /**
+   * Insert an empty balance row for an account unless one exists. A concurrent insert of the same
+   * row waits for the other transaction and then finds the row.
+   */
+  private void insertIfAbsent(long accountNumber, long userId) {
+    try {
+      jdbcTemplate.update(INSERT_EMPTY_BALANCE_SQL, accountNumber, userId);
+    } catch (DuplicateKeyException e) {
+      log.debug("Balance row for account {} already exists", accountNumber);
+    }
+  }
+
+  /**
+   * Rebuild the table on startup where it is enabled, so rows loaded out-of-band (e.g. data.sql) are
+   * reflected; otherwise only backfill shards whose table is still empty
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    if (rebuildOnStartup) {
+      verify(true);
+    } else {
+      backfill();
+    }
+  }
+
+  /**
+   * Nightly drift check - creates missing rows, reports other drift
+   */
+  @Scheduled(cron = "${easybank.balance-summary.verify-cron:0 30 3 * * *}")
+  public void scheduledVerify() {
+    verify(Repair.MISSING);
+  }
+
+  private boolean isNewer(AccountTransaction transaction, AccountBalance balance) {
+    if (balance.getLastTransactionDt() == null) {
+      return true;
+    }
+    int byDate = transaction.getTransactionDt().compareTo(balance.getLastTransactionDt());
+    if (byDate != 0) {
+      return byDate > 0;
+    }
+    return transaction.getTransactionId().compareTo(balance.getLastTransactionId()) > 0;
+  }
+
+  private boolean sameFigures(AccountBalance a, AccountBalance b) {
+    return a.getUserId() == b.getUserId()
+        && a.getTransactionCount() == b.getTransactionCount()
+        && compare(a.getCurrentBalance(), b.getCurrentBalance())
+        && compare(a.getTotalCredits(), b.getTotalCredits())
+        && compare(a.getTotalDebits(), b.getTotalDebits())
+        && Objects.equals(a.getLastTransactionId(), b.getLastTransactionId());
+  }
+
+  private boolean compare(BigDecimal a, BigDecimal b) {
+    if (a == null || b == null) {
+      return a == b;
+    }
+    return a.compareTo(b) == 0;
+  }
+}
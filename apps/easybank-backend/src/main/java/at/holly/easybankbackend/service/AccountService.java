@@ -1,8 +1,6 @@
 package at.holly.easybankbackend.service;
 
 import at.holly.easybankbackend.dto.AccountDto;
-import at.holly.easybankbackend.mapper.AccountMapper;
-import at.holly.easybankbackend.model.Account;
 import at.holly.easybankbackend.model.User;
 import at.holly.easybankbackend.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +20,6 @@ public class AccountService {
 
   private final AccountRepository accountRepository;
   private final UserProvisioningService userProvisioningService;
-  private final AccountMapper accountMapper;
 
   /**
    * Get account details for authenticated user
@@ -39,8 +36,19 @@ public class AccountService {
     User user = userProvisioningService.getOrCreateUser(authentication);
     log.info("User found (ID: {})", user.getId());
 
-    // Fetch account
-    Account account = accountRepository.findByUserId(user.getId());
+    return getAccountForUser(user);
+  }
+
+  /**
+   * Get account details for an already resolved user
+   *
+   * @param user the resolved user
+   * @return the account DTO, or null if no account exists
+   */
+  @Transactional(readOnly = true)
+  public AccountDto getAccountForUser(User user) {
+    // Fetch account (projected straight into the DTO)
+    AccountDto account = accountRepository.findDtoByUserId(user.getId());
 
     if (account != null) {
       log.info("Account retrieved successfully for user ID: {}", user.getId());
@@ -48,6 +56,6 @@ public class AccountService {
       log.info("No account found for user ID: {}", user.getId());
     }
 
-    return accountMapper.toDto(account);
+    return account;
   }
 }
@@ -2,20 +2,24 @@ package at.holly.easybankbackend.service;
 
 import at.holly.easybankbackend.dto.AccountTransactionDto;
 import at.holly.easybankbackend.dto.BalanceSummary;
+import at.holly.easybankbackend.dto.CursorPageResponse;
 import at.holly.easybankbackend.dto.PageResponse;
-import at.holly.easybankbackend.mapper.AccountTransactionMapper;
-import at.holly.easybankbackend.model.AccountTransaction;
 import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.repository.AccountBalanceRepository;
 import at.holly.easybankbackend.repository.AccountTransactionRepository;
+import at.holly.easybankbackend.repository.BalanceAggregate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Balance Service
@@ -27,8 +31,8 @@ import java.math.BigDecimal;
 public class BalanceService {
 
   private final AccountTransactionRepository accountTransactionRepository;
+  private final AccountBalanceRepository accountBalanceRepository;
   private final UserProvisioningService userProvisioningService;
-  private final AccountTransactionMapper accountTransactionMapper;
 
   /**
    * Get transaction history for authenticated user (paginated) with summary metadata
@@ -36,11 +40,12 @@ public class BalanceService {
    *
    * @param authentication the authentication object containing JWT token
    * @param pageable pagination and sorting parameters
+   * @param slice if true, fetch a count-free slice and take the total from the summary
    * @return page response with transaction DTOs and balance summary
    */
   @Transactional(readOnly = true)
   public PageResponse<AccountTransactionDto, BalanceSummary> getTransactionsWithSummary(
-      Authentication authentication, Pageable pageable) {
+      Authentication authentication, Pageable pageable, boolean slice) {
     log.info("Fetching transaction history with summary for authenticated user (page {}, size {})",
         pageable.getPageNumber(), pageable.getPageSize());
 
@@ -48,33 +53,97 @@ public class BalanceService {
     User user = userProvisioningService.getOrCreateUser(authentication);
     log.info("User found (ID: {})", user.getId());
 
-    // Fetch paginated transactions
-    Page<AccountTransaction> transactionsPage = accountTransactionRepository.findByUserId(user.getId(), pageable);
-    log.info("Retrieved {} transactions (page {} of {}) for user ID: {}",
-        transactionsPage.getNumberOfElements(), transactionsPage.getNumber() + 1,
-        transactionsPage.getTotalPages(), user.getId());
+    return getTransactionsWithSummary(user, pageable, slice);
+  }
+
+  /**
+   * Get transaction history for an already resolved user (paginated) with summary metadata
+   *
+   * @param user the resolved user
+   * @param pageable pagination and sorting parameters
+   * @param slice if true, fetch a count-free slice and take the total from the summary
+   * @return page response with transaction DTOs and balance summary
+   */
+  @Transactional(readOnly = true)
+  public PageResponse<AccountTransactionDto, BalanceSummary> getTransactionsWithSummary(
+      User user, Pageable pageable, boolean slice) {
+    // Fetch paginated transactions (slice mode skips the COUNT query - total comes from the summary)
+    Slice<AccountTransactionDto> transactionsSlice = slice
+        ? accountTransactionRepository.findDtoSliceByUserId(user.getId(), pageable)
+        : accountTransactionRepository.findDtoPageByUserId(user.getId(), pageable);
+    log.info("Retrieved {} transactions (page {}, has next: {}) for user ID: {}",
+        transactionsSlice.getNumberOfElements(), transactionsSlice.getNumber() + 1,
+        transactionsSlice.hasNext(), user.getId());
+
+    // Read balance summary (aggregates from ALL transactions, not just current page)
+    BalanceSummary summary = loadSummary(user.getId());
+
+    // Rows are already DTOs (projected by the query) - wrap in PageResponse
+    if (transactionsSlice instanceof Page<AccountTransactionDto> dtoPage) {
+      return PageResponse.of(dtoPage, summary);
+    }
+    return PageResponse.ofSlice(transactionsSlice, summary.getTransactionCount(), summary);
+  }
+
+  /**
+   * Get transaction history for authenticated user using keyset (cursor) pagination
+   * Seeks on (transactionDt, transactionId) instead of skipping rows, and runs no count query,
+   * so latency stays flat however far back the client scrolls.
+   *
+   * @param authentication the authentication object containing JWT token
+   * @param after opaque cursor from a previous page, or null for the first page
+   * @param size page size
+   * @return cursor page response with transaction DTOs, next cursor and balance summary
+   */
+  @Transactional(readOnly = true)
+  public CursorPageResponse<AccountTransactionDto, BalanceSummary> getTransactionsAfter(
+      Authentication authentication, String after, int size) {
+    TransactionCursor cursor = (after == null || after.isEmpty()) ? null : TransactionCursor.decode(after);
+    log.info("Fetching transaction history by cursor for authenticated user (size {}, first page: {})",
+        size, cursor == null);
+
+    // Get or create user (JIT provisioning)
+    User user = userProvisioningService.getOrCreateUser(authentication);
+    log.info("User found (ID: {})", user.getId());
 
-    // Compute balance summary (aggregates from ALL transactions, not just current page)
-    BigDecimal currentBalance = accountTransactionRepository.findLatestByUserId(user.getId())
-        .map(AccountTransaction::getClosingBalance)
-        .orElse(BigDecimal.ZERO);
+    // Fetch one extra row to know whether another page exists
+    Limit limit = Limit.of(size + 1);
+    List<AccountTransactionDto> rows = cursor == null
+        ? accountTransactionRepository.findFirstKeysetPage(user.getId(), limit)
+        : accountTransactionRepository.findKeysetPageAfter(
+            user.getId(), cursor.transactionDt(), cursor.transactionId(), limit);
 
-    BigDecimal totalCredits = accountTransactionRepository.sumCreditsByUserId(user.getId());
-    BigDecimal totalDebits = accountTransactionRepository.sumDebitsByUserId(user.getId());
-    Long transactionCount = accountTransactionRepository.countByUserId(user.getId());
+    boolean hasNext = rows.size() > size;
+    List<AccountTransactionDto> pageRows = hasNext ? rows.subList(0, size) : rows;
+    String nextCursor = hasNext ? TransactionCursor.after(pageRows.get(size - 1)).encode() : null;
+    log.info("Retrieved {} transactions (has next: {}) for user ID: {}", pageRows.size(), hasNext, user.getId());
 
-    BalanceSummary summary = BalanceSummary.builder()
+    BalanceSummary summary = loadSummary(user.getId());
+
+    return CursorPageResponse.of(pageRows, size, nextCursor, summary);
+  }
+
+  /**
+   * Read balance summary from the incrementally maintained balance_summary table - O(accounts), not O(history)
+   *
+   * @param userId the user ID
+   * @return the balance summary
+   */
+  private BalanceSummary loadSummary(long userId) {
+    BalanceAggregate aggregate = accountBalanceRepository.sumByUserId(userId);
+    BigDecimal currentBalance = aggregate.currentBalance() != null ? aggregate.currentBalance() : BigDecimal.ZERO;
+    BigDecimal totalCredits = aggregate.totalCredits();
+    BigDecimal totalDebits = aggregate.totalDebits();
+    Long transactionCount = aggregate.transactionCount();
+
+    log.info("Balance summary loaded - current: {}, credits: {}, debits: {}, count: {}",
+        currentBalance, totalCredits, totalDebits, transactionCount);
+
+    return BalanceSummary.builder()
         .currentBalance(currentBalance)
         .totalCredits(totalCredits)
         .totalDebits(totalDebits)
         .transactionCount(transactionCount)
         .build();
-
-    log.info("Balance summary computed - current: {}, credits: {}, debits: {}, count: {}",
-        currentBalance, totalCredits, totalDebits, transactionCount);
-
-    // Map to DTOs and wrap in PageResponse
-    Page<AccountTransactionDto> dtoPage = transactionsPage.map(accountTransactionMapper::toDto);
-    return PageResponse.of(dtoPage, summary);
   }
 }
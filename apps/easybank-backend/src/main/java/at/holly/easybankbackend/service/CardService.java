@@ -1,22 +1,24 @@
 package at.holly.easybankbackend.service;
 
+import at.holly.easybankbackend.concurrent.QueryFanOut;
+import at.holly.easybankbackend.concurrent.QueryScope;
 import at.holly.easybankbackend.dto.CardDto;
 import at.holly.easybankbackend.dto.CardSummary;
 import at.holly.easybankbackend.dto.PageResponse;
-import at.holly.easybankbackend.mapper.CardMapper;
-import at.holly.easybankbackend.model.Card;
 import at.holly.easybankbackend.model.User;
 import at.holly.easybankbackend.repository.CardRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.function.Supplier;
 
 /**
  * Card Service
@@ -29,7 +31,7 @@ public class CardService {
 
   private final CardRepository cardRepository;
   private final UserProvisioningService userProvisioningService;
-  private final CardMapper cardMapper;
+  private final QueryFanOut queryFanOut;
 
   /**
    * Get card details for authenticated user (paginated) with summary metadata
@@ -37,11 +39,12 @@ public class CardService {
    *
    * @param authentication the authentication object containing JWT token
    * @param pageable pagination and sorting parameters
+   * @param slice if true, fetch a count-free slice and take the total from the summary
    * @return page response with card DTOs and card summary
    */
   @Transactional(readOnly = true)
   public PageResponse<CardDto, CardSummary> getCardsWithSummary(
-      Authentication authentication, Pageable pageable) {
+      Authentication authentication, Pageable pageable, boolean slice) {
     log.info("Fetching card details with summary for authenticated user (page {}, size {})",
         pageable.getPageNumber(), pageable.getPageSize());
 
@@ -49,17 +52,46 @@ public class CardService {
     User user = userProvisioningService.getOrCreateUser(authentication);
     log.info("User found (ID: {})", user.getId());
 
-    // Fetch paginated cards
-    Page<Card> cardsPage = cardRepository.findByUserId(user.getId(), pageable);
-    log.info("Retrieved {} cards (page {} of {}) for user ID: {}",
-        cardsPage.getNumberOfElements(), cardsPage.getNumber() + 1,
-        cardsPage.getTotalPages(), user.getId());
+    return getCardsWithSummary(user, pageable, slice);
+  }
+
+  /**
+   * Get card details for an already resolved user (paginated) with summary metadata
+   *
+   * @param user the resolved user
+   * @param pageable pagination and sorting parameters
+   * @param slice if true, fetch a count-free slice and take the total from the summary
+   * @return page response with card DTOs and card summary
+   */
+  @Transactional(readOnly = true)
+  public PageResponse<CardDto, CardSummary> getCardsWithSummary(User user, Pageable pageable, boolean slice) {
+    // Fetch paginated cards (slice mode skips the COUNT query - total comes from the summary)
+    // and compute card summary (aggregates from ALL cards, not just current page).
+    // The queries are independent, so they are fanned out in parallel when enabled.
+    long userId = user.getId();
+    Slice<CardDto> cardsSlice;
+    BigDecimal totalCreditLimit;
+    BigDecimal totalAvailable;
+    BigDecimal totalUsed;
+    Long cardCount;
+    try (QueryScope scope = queryFanOut.open("cards")) {
+      Supplier<Slice<CardDto>> cardsTask = scope.fork(() -> slice
+          ? cardRepository.findDtoSliceByUserId(userId, pageable)
+          : cardRepository.findDtoPageByUserId(userId, pageable));
+      Supplier<BigDecimal> totalCreditLimitTask = scope.fork(() -> cardRepository.sumTotalLimitByUserId(userId));
+      Supplier<BigDecimal> totalAvailableTask = scope.fork(() -> cardRepository.sumAvailableByUserId(userId));
+      Supplier<BigDecimal> totalUsedTask = scope.fork(() -> cardRepository.sumUsedByUserId(userId));
+      Supplier<Long> cardCountTask = scope.fork(() -> cardRepository.countByUserId(userId));
+      scope.join();
 
-    // Compute card summary (aggregates from ALL cards, not just current page)
-    BigDecimal totalCreditLimit = cardRepository.sumTotalLimitByUserId(user.getId());
-    BigDecimal totalAvailable = cardRepository.sumAvailableByUserId(user.getId());
-    BigDecimal totalUsed = cardRepository.sumUsedByUserId(user.getId());
-    Long cardCount = cardRepository.countByUserId(user.getId());
+      cardsSlice = cardsTask.get();
+      totalCreditLimit = totalCreditLimitTask.get();
+      totalAvailable = totalAvailableTask.get();
+      totalUsed = totalUsedTask.get();
+      cardCount = cardCountTask.get();
+    }
+    log.info("Retrieved {} cards (page {}, has next: {}) for user ID: {}",
+        cardsSlice.getNumberOfElements(), cardsSlice.getNumber() + 1, cardsSlice.hasNext(), userId);
 
     // Calculate overall utilization percentage
     double overallUtilization = 0.0;
@@ -81,8 +113,10 @@ public class CardService {
     log.info("Card summary computed - limit: {}, available: {}, used: {}, utilization: {}%, count: {}",
         totalCreditLimit, totalAvailable, totalUsed, overallUtilization, cardCount);
 
-    // Map to DTOs and wrap in PageResponse
-    Page<CardDto> dtoPage = cardsPage.map(cardMapper::toDto);
-    return PageResponse.of(dtoPage, summary);
+    // Rows are already DTOs (projected by the query) - wrap in PageResponse
+    if (cardsSlice instanceof Page<CardDto> dtoPage) {
+      return PageResponse.of(dtoPage, summary);
+    }
+    return PageResponse.ofSlice(cardsSlice, cardCount, summary);
   }
 }
@@ -1,16 +1,16 @@
 package at.holly.easybankbackend.service;
 
 import at.holly.easybankbackend.dto.ContactDto;
+import at.holly.easybankbackend.id.IdGenerator;
 import at.holly.easybankbackend.mapper.ContactMapper;
 import at.holly.easybankbackend.model.Contact;
 import at.holly.easybankbackend.repository.ContactRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
-import java.util.UUID;
 
 /**
  * Contact Service
@@ -23,14 +23,19 @@ public class ContactService {
 
   private final ContactRepository contactRepository;
   private final ContactMapper contactMapper;
+  private final IdGenerator idGenerator;
+  private final ObjectProvider<ContactWriteBehind> contactWriteBehind;
 
   /**
    * Submit a contact/support inquiry
+   * In write-behind mode the inquiry is journaled and queued, and written to the database in a later batch.
+   * Not @Transactional: beginning a transaction checks out a pooled connection, which write-behind avoids
+   * (the synchronous save runs in the repository's own transaction).
    *
    * @param contactDto the contact inquiry details
-   * @return the saved contact inquiry DTO with generated ID and timestamp
+   * @return the saved (or accepted) contact inquiry DTO with generated ID and timestamp
+   * @throws at.holly.easybankbackend.exception.ServiceOverloadedException if the write-behind queue is full
    */
-  @Transactional
   public ContactDto saveContactInquiry(ContactDto contactDto) {
     log.info("Saving contact inquiry");
 
@@ -38,9 +43,16 @@ public class ContactService {
     Contact contact = contactMapper.toEntity(contactDto);
 
     // Generate unique contact ID and timestamp
-    contact.setContactId(generateContactId());
+    contact.setContactId(idGenerator.nextId(Contact.ID_PREFIX));
     contact.setCreateDt(new Date(System.currentTimeMillis()));
 
+    ContactWriteBehind writeBehind = contactWriteBehind.getIfAvailable();
+    if (writeBehind != null) {
+      writeBehind.submit(contact);
+      log.info("Contact inquiry accepted for write-behind with ID: {}", contact.getContactId());
+      return contactMapper.toDto(contact);
+    }
+
     // Save to database
     Contact savedContact = contactRepository.save(contact);
     log.info("Contact inquiry saved successfully with ID: {}", savedContact.getContactId());
@@ -49,13 +61,9 @@ public class ContactService {
   }
 
   /**
-   * Generate a unique contact ID in format SR-XXXXXXXX
-   * Uses UUID to ensure uniqueness and unpredictability
-   * SR = Support Request
-   *
-   * @return the generated contact ID
+   * @return whether inquiries are persisted asynchronously (write-behind mode)
    */
-  private String generateContactId() {
-    return "SR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+  public boolean isWriteBehind() {
+    return contactWriteBehind.getIfAvailable() != null;
   }
 }
@@ -0,0 +1,612 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.ContactDto;
+import at.holly.easybankbackend.exception.ServiceOverloadedException;
+import at.holly.easybankbackend.mapper.ContactMapper;
+import at.holly.easybankbackend.model.Contact;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Contact Write-Behind
+ * Takes contact inquiries off the request path: submissions are appended to a local journal,
+ * queued, and written by a single background writer in JDBC batches of up to {@code batch-size}
+ * rows or after {@code max-delay}, whichever comes first. Contact bursts then cost one pooled
+ * connection instead of one per request.
+ * <p>
+ * Durability: a submission is acknowledged only after its journal line is written (and forced to
+ * disk when {@code fsync} is on). A single journal thread appends everything that queued up while
+ * the previous write was in progress and forces once for the whole group, so concurrent submitters
+ * share one fsync instead of taking turns. Flushed rows are acked in the journal. The journal is split
+ * into segments of about {@code segment-size}; a segment is deleted once it is no longer written to and
+ * every inquiry in it has been acked, so disk use stays bounded under continuous load. On startup,
+ * journal entries without an ack are replayed (rows already in the table are skipped), so a crash
+ * loses nothing that was acknowledged.
+ * <p>
+ * Inquiries the database rejects for good (constraint violations) are counted as
+ * easybank.contact.writebehind.dropped and appended to a {@code .dropped} file next to the journal,
+ * so they can be inspected and re-submitted.
+ * <p>
+ * Backpressure: at most {@code capacity} submissions may be pending; beyond that
+ * {@link #submit(Contact)} throws {@link ServiceOverloadedException} (503).
+ */
+@Component
+@ConditionalOnProperty(name = "easybank.contact.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class ContactWriteBehind implements SmartLifecycle {
+
+  static final String INSERT_SQL = "INSERT INTO contact_messages "
+      + "(contact_id, contact_name, contact_email, subject, message, create_dt) VALUES (?, ?, ?, ?, ?, ?)";
+
+  private static final char ADDED = '+';
+  private static final char ACKED = '-';
+  private static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+  private static final Duration POLL_SLICE = Duration.ofMillis(50);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ContactMapper contactMapper;
+  private final ObjectMapper objectMapper;
+  private final int capacity;
+  private final int batchSize;
+  private final Duration maxDelay;
+  private final Path journalPath;
+  private final Path droppedPath;
+  private final boolean fsync;
+  private final long segmentSize;
+
+  private final BlockingQueue<Contact> queue;
+  private final Semaphore permits;
+  private final BlockingQueue<JournalEntry> journalQueue = new LinkedBlockingQueue<>();
+  private final Timer flushTimer;
+  private final DistributionSummary batchSizes;
+  private final DistributionSummary syncSizes;
+  private final Counter rejected;
+  private final Counter dropped;
+
+  // Owned by the journal thread
+  private FileChannel segment;
+  private long segmentNumber;
+  private long segmentBytes;
+  private final Map<String, Long> segmentOfContact = new HashMap<>();
+  private final Map<Long, Integer> unackedBySegment = new HashMap<>();
+
+  private Thread journalWriter;
+  private Thread writer;
+  private volatile boolean journaling;
+  private volatile boolean running;
+
+  /**
+   * Journal text for one group-commit slot
+   *
+   * @param contactIds the inquiries the text adds or acks
+   * @param text the journal lines
+   * @param journaled completed once the lines are written (and forced), or null for acks
+   */
+  private record JournalEntry(List<String> contactIds, String text, CompletableFuture<Void> journaled) {
+  }
+
+  public ContactWriteBehind(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ContactMapper contactMapper,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${easybank.contact.write-behind.capacity:1000}") int capacity,
+                            @Value("${easybank.contact.write-behind.batch-size:100}") int batchSize,
+                            @Value("${easybank.contact.write-behind.max-delay:200ms}") Duration maxDelay,
+                            @Value("${easybank.contact.write-behind.journal:data/contact-journal.log}") Path journalPath,
+                            @Value("${easybank.contact.write-behind.fsync:true}") boolean fsync,
+                            @Value("${easybank.contact.write-behind.segment-size:4MB}") DataSize segmentSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.contactMapper = contactMapper;
+    this.objectMapper = objectMapper;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.maxDelay = maxDelay;
+    this.journalPath = journalPath;
+    this.droppedPath = journalPath.resolveSibling(journalPath.getFileName() + ".dropped");
+    this.fsync = fsync;
+    this.segmentSize = segmentSize.toBytes();
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.permits = new Semaphore(capacity);
+
+    Gauge.builder("easybank.contact.writebehind.pending", this, ContactWriteBehind::pending)
+        .description("Contact inquiries accepted but not yet written to the database")
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("easybank.contact.writebehind.flush")
+        .description("Time to write one batch of contact inquiries")
+        .register(meterRegistry);
+    this.batchSizes = DistributionSummary.builder("easybank.contact.writebehind.batch.size")
+        .description("Contact inquiries per flushed batch")
+        .register(meterRegistry);
+    this.syncSizes = DistributionSummary.builder("easybank.contact.writebehind.journal.sync.size")
+        .description("Contact inquiries made durable by one journal write and fsync")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("easybank.contact.writebehind.rejected")
+        .description("Contact inquiries rejected because the write-behind queue was full")
+        .register(meterRegistry);
+    this.dropped = Counter.builder("easybank.contact.writebehind.dropped")
+        .description("Accepted contact inquiries the database rejected for good (see the .dropped file)")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Accept a contact inquiry for asynchronous persistence
+   *
+   * @param contact the inquiry with ID and timestamp already assigned
+   * @throws ServiceOverloadedException if {@code capacity} inquiries are already pending
+   * @throws IllegalStateException if the pipeline is not running
+   */
+  public void submit(Contact contact) {
+    if (!running) {
+      throw new IllegalStateException("Contact write-behind is not running");
+    }
+    if (!permits.tryAcquire()) {
+      rejected.increment();
+      throw new ServiceOverloadedException("Contact write-behind queue is full", maxDelay.multipliedBy(5));
+    }
+    CompletableFuture<Void> journaled = new CompletableFuture<>();
+    try {
+      String line = ADDED + objectMapper.writeValueAsString(contactMapper.toDto(contact)) + '\n';
+      journalQueue.add(new JournalEntry(List.of(contact.getContactId()), line, journaled));
+      journaled.join();
+    } catch (JsonProcessingException | RuntimeException e) {
+      permits.release();
+      throw new IllegalStateException("Failed to journal contact inquiry",
+          e instanceof CompletionException ? e.getCause() : e);
+    }
+    // Cannot fail: a permit guarantees a free slot
+    queue.add(contact);
+  }
+
+  /**
+   * @return inquiries accepted but not yet written
+   */
+  public int pending() {
+    return capacity - permits.availablePermits();
+  }
+
+  @Override
+  public void start() {
+    try {
+      Path parent = journalPath.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      segmentNumber = replayJournal() + 1;
+      segment = openSegment(segmentNumber);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open contact journal " + journalPath, e);
+    }
+    journaling = true;
+    journalWriter = Thread.ofPlatform().name("contact-journal").daemon().start(this::runJournal);
+    running = true;
+    writer = Thread.ofPlatform().name("contact-writer").daemon().start(this::runWriter);
+    log.info("Contact write-behind started (capacity {}, batch size {}, max delay {}, journal {})",
+        capacity, batchSize, maxDelay, journalPath.toAbsolutePath());
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    join(writer);
+    writer = null;
+    // The writer's last acks are journaled before the journal thread stops
+    journaling = false;
+    join(journalWriter);
+    journalWriter = null;
+    try {
+      if (segment != null) {
+        segment.close();
+        segment = null;
+      }
+    } catch (IOException e) {
+      log.warn("Failed to close contact journal", e);
+    }
+  }
+
+  private static void join(Thread thread) {
+    if (thread == null) {
+      return;
+    }
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Start before and stop after the web server, so no request can hit a stopped pipeline
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void runWriter() {
+    List<Contact> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        if (!collectBatch(batch)) {
+          continue;
+        }
+        flushWithRetry(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+    log.info("Contact writer stopped with {} inquiries pending in the journal", pending());
+  }
+
+  /**
+   * Wait for a first inquiry, then keep collecting until the batch is full or max-delay has passed
+   *
+   * @return whether the batch has anything to flush
+   */
+  private boolean collectBatch(List<Contact> batch) throws InterruptedException {
+    Contact first = queue.poll(POLL_SLICE.toNanos(), TimeUnit.NANOSECONDS);
+    if (first == null) {
+      return false;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + maxDelay.toNanos();
+    while (batch.size() < batchSize && running) {
+      queue.drainTo(batch, batchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= batchSize || remaining <= 0) {
+        break;
+      }
+      // Short slices so shutdown is not held up by a long max-delay
+      Contact next = queue.poll(Math.min(remaining, POLL_SLICE.toNanos()), TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      }
+    }
+    // On shutdown flush whatever is queued right away
+    queue.drainTo(batch, batchSize - batch.size());
+    return true;
+  }
+
+  /**
+   * Flush a batch, retrying transient failures; the rows stay journaled until written
+   */
+  private void flushWithRetry(List<Contact> batch) throws InterruptedException {
+    while (true) {
+      try {
+        flush(batch);
+        return;
+      } catch (RuntimeException e) {
+        if (!running) {
+          log.error("Contact flush failed during shutdown - {} inquiries remain in the journal for replay",
+              batch.size(), e);
+          return;
+        }
+        log.warn("Contact flush of {} inquiries failed, retrying in {}", batch.size(), RETRY_BACKOFF, e);
+        Thread.sleep(RETRY_BACKOFF);
+      }
+    }
+  }
+
+  private void flush(List<Contact> batch) {
+    Timer.Sample sample = Timer.start();
+    insertOrDrop(batch);
+    sample.stop(flushTimer);
+    batchSizes.record(batch.size());
+    acknowledge(batch);
+  }
+
+  private void insertOrDrop(List<Contact> contacts) {
+    try {
+      insertBatch(contacts);
+    } catch (DataIntegrityViolationException e) {
+      // One bad row must not block the pipeline - write row by row and set only the offenders aside
+      log.warn("Contact batch rejected by a constraint, retrying {} rows individually", contacts.size());
+      for (Contact contact : contacts) {
+        try {
+          insertBatch(List.of(contact));
+        } catch (DataIntegrityViolationException rowError) {
+          drop(contact, rowError);
+        }
+      }
+    }
+  }
+
+  /**
+   * Set aside an inquiry the client was told was accepted but the database refuses
+   */
+  private void drop(Contact contact, DataIntegrityViolationException error) {
+    dropped.increment();
+    log.error("Dropping contact inquiry {} to {}: {}", contact.getContactId(), droppedPath, error.getMessage());
+    try {
+      Files.writeString(droppedPath, objectMapper.writeValueAsString(contactMapper.toDto(contact)) + '\n',
+          StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      log.error("Failed to record dropped contact inquiry {}", contact.getContactId(), e);
+    }
+  }
+
+  private void insertBatch(List<Contact> contacts) {
+    transactionTemplate.executeWithoutResult(status ->
+        jdbcTemplate.batchUpdate(INSERT_SQL, contacts, contacts.size(), (statement, contact) -> {
+          statement.setString(1, contact.getContactId());
+          statement.setString(2, contact.getContactName());
+          statement.setString(3, contact.getContactEmail());
+          statement.setString(4, contact.getSubject());
+          statement.setString(5, contact.getMessage());
+          statement.setDate(6, contact.getCreateDt());
+        }));
+  }
+
+  /**
+   * Release the slots of written rows and ack them in the journal (no need to wait - an ack lost
+   * in a crash only means the row is replayed and skipped as already written)
+   */
+  private void acknowledge(List<Contact> batch) {
+    List<String> contactIds = new ArrayList<>(batch.size());
+    StringBuilder acks = new StringBuilder();
+    for (Contact contact : batch) {
+      contactIds.add(contact.getContactId());
+      acks.append(ACKED).append(contact.getContactId()).append('\n');
+    }
+    permits.release(batch.size());
+    journalQueue.add(new JournalEntry(contactIds, acks.toString(), null));
+  }
+
+  /**
+   * Journal thread: append whatever queued up since the last write, force once for all of it
+   */
+  private void runJournal() {
+    List<JournalEntry> group = new ArrayList<>();
+    while (journaling || !journalQueue.isEmpty()) {
+      try {
+        JournalEntry first = journalQueue.poll(POLL_SLICE.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+          continue;
+        }
+        group.add(first);
+        journalQueue.drainTo(group);
+        writeGroup(group);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        group.clear();
+      }
+    }
+    journalQueue.drainTo(group);
+    IOException stopped = new IOException("Contact journal is closed");
+    group.stream().filter(entry -> entry.journaled() != null)
+        .forEach(entry -> entry.journaled().completeExceptionally(stopped));
+  }
+
+  private void writeGroup(List<JournalEntry> group) {
+    StringBuilder text = new StringBuilder();
+    for (JournalEntry entry : group) {
+      text.append(entry.text());
+    }
+    try {
+      if (segment == null) {
+        segment = openSegment(segmentNumber);
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+      segmentBytes += buffer.remaining();
+      while (buffer.hasRemaining()) {
+        segment.write(buffer);
+      }
+      if (fsync) {
+        segment.force(false);
+      }
+    } catch (IOException e) {
+      log.error("Failed to write {} contact journal entries", group.size(), e);
+      for (JournalEntry entry : group) {
+        if (entry.journaled() != null) {
+          entry.journaled().completeExceptionally(e);
+        } else {
+          // The rows are written either way; replay would skip them
+          entry.contactIds().forEach(this::acked);
+        }
+      }
+      return;
+    }
+
+    int added = 0;
+    for (JournalEntry entry : group) {
+      if (entry.journaled() != null) {
+        String contactId = entry.contactIds().getFirst();
+        segmentOfContact.put(contactId, segmentNumber);
+        unackedBySegment.merge(segmentNumber, 1, Integer::sum);
+        entry.journaled().complete(null);
+        added++;
+      } else {
+        entry.contactIds().forEach(this::acked);
+      }
+    }
+    if (added > 0) {
+      syncSizes.record(added);
+    }
+    if (segmentBytes >= segmentSize) {
+      rotate();
+    }
+  }
+
+  /**
+   * Forget an acked inquiry; delete its segment once that is closed and fully acked
+   */
+  private void acked(String contactId) {
+    Long number = segmentOfContact.remove(contactId);
+    if (number == null) {
+      return;
+    }
+    if (unackedBySegment.merge(number, -1, Integer::sum) == 0) {
+      unackedBySegment.remove(number);
+      if (number != segmentNumber) {
+        deleteSegment(number);
+      }
+    }
+  }
+
+  /**
+   * Close the current segment; the next write opens its successor
+   */
+  private void rotate() {
+    long closed = segmentNumber;
+    try {
+      segment.close();
+    } catch (IOException e) {
+      log.warn("Failed to close contact journal segment {}", closed, e);
+    }
+    segment = null;
+    segmentNumber = closed + 1;
+    segmentBytes = 0;
+    if (!unackedBySegment.containsKey(closed)) {
+      deleteSegment(closed);
+    }
+  }
+
+  private FileChannel openSegment(long number) throws IOException {
+    return FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+  }
+
+  private void deleteSegment(long number) {
+    try {
+      Files.deleteIfExists(segmentPath(number));
+    } catch (IOException e) {
+      log.warn("Failed to delete contact journal segment {}", number, e);
+    }
+  }
+
+  private Path segmentPath(long number) {
+    return journalPath.resolveSibling(journalPath.getFileName() + "." + number);
+  }
+
+  /**
+   * Re-insert journaled inquiries that were never acked (previous run crashed or failed to flush),
+   * then delete the replayed segments
+   *
+   * @return the highest segment number found, or 0
+   */
+  private long replayJournal() throws IOException {
+    TreeMap<Long, Path> segments = new TreeMap<>();
+    // A journal from before segmenting sorts first
+    if (Files.exists(journalPath)) {
+      segments.put(0L, journalPath);
+    }
+    String prefix = journalPath.getFileName() + ".";
+    try (Stream<Path> siblings = Files.list(journalPath.toAbsolutePath().getParent())) {
+      siblings.forEach(path -> {
+        String name = path.getFileName().toString();
+        if (name.startsWith(prefix) && name.length() > prefix.length()
+            && name.substring(prefix.length()).chars().allMatch(Character::isDigit)) {
+          segments.put(Long.parseLong(name.substring(prefix.length())), path);
+        }
+      });
+    }
+
+    Map<String, Contact> unacked = new LinkedHashMap<>();
+    for (Path path : segments.values()) {
+      readSegment(path, unacked);
+    }
+    if (!unacked.isEmpty()) {
+      insertMissing(new ArrayList<>(unacked.values()));
+    }
+    for (Path path : segments.values()) {
+      Files.delete(path);
+    }
+    return segments.isEmpty() ? 0 : segments.lastKey();
+  }
+
+  private void readSegment(Path path, Map<String, Contact> unacked) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        if (line.charAt(0) == ACKED) {
+          unacked.remove(line.substring(1));
+        } else if (line.charAt(0) == ADDED) {
+          try {
+            Contact contact = contactMapper.toEntity(objectMapper.readValue(line.substring(1), ContactDto.class));
+            unacked.put(contact.getContactId(), contact);
+          } catch (JsonProcessingException e) {
+            // A torn last line from a crash mid-append was never acknowledged to the client
+            log.warn("Skipping unreadable contact journal line in {}", path.getFileName());
+          }
+        }
+      }
+    }
+  }
+
+  private void insertMissing(List<Contact> journaled) {
+    int replayed = 0;
+    for (int from = 0; from < journaled.size(); from += batchSize) {
+      List<Contact> chunk = journaled.subList(from, Math.min(from + batchSize, journaled.size()));
+      Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+          "SELECT contact_id FROM contact_messages WHERE contact_id IN ("
+              + String.join(",", chunk.stream().map(contact -> "?").toList()) + ")",
+          String.class, chunk.stream().map(Contact::getContactId).toArray()));
+      List<Contact> missing = chunk.stream()
+          .filter(contact -> !existing.contains(contact.getContactId()))
+          .toList();
+      if (!missing.isEmpty()) {
+        insertOrDrop(missing);
+        replayed += missing.size();
+      }
+    }
+    log.info("Replayed {} of {} unacknowledged contact inquiries from the journal (the rest were already written)",
+        replayed, journaled.size());
+  }
+}
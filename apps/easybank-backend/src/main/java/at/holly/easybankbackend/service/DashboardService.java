@@ -0,0 +1,103 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.concurrent.QueryFanOut;
+import at.holly.easybankbackend.concurrent.QueryScope;
+import at.holly.easybankbackend.dto.AccountDto;
+import at.holly.easybankbackend.dto.AccountTransactionDto;
+import at.holly.easybankbackend.dto.BalanceSummary;
+import at.holly.easybankbackend.dto.CardDto;
+import at.holly.easybankbackend.dto.CardSummary;
+import at.holly.easybankbackend.dto.DashboardResponse;
+import at.holly.easybankbackend.dto.LoanDto;
+import at.holly.easybankbackend.dto.LoanSummary;
+import at.holly.easybankbackend.dto.PageResponse;
+import at.holly.easybankbackend.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard Service
+ * Handles business logic for the aggregated dashboard: resolves the user once and
+ * gathers the requested sections (fanned out in parallel when enabled)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+  /**
+   * Dashboard sections that can be requested individually
+   */
+  public enum Section {
+    ACCOUNT, BALANCE, CARDS, LOANS
+  }
+
+  private final UserProvisioningService userProvisioningService;
+  private final AccountService accountService;
+  private final BalanceService balanceService;
+  private final CardService cardService;
+  private final LoanService loanService;
+  private final QueryFanOut queryFanOut;
+
+  /**
+   * Get the dashboard for authenticated user
+   * Automatically provisions user from Keycloak on first access (JIT provisioning)
+   *
+   * @param authentication the authentication object containing JWT token
+   * @param sections the sections to include
+   * @param pageSize size of the first page of each list section
+   * @return dashboard response with the requested sections
+   */
+  @Transactional(readOnly = true)
+  public DashboardResponse getDashboard(Authentication authentication, Set<Section> sections, int pageSize) {
+    log.info("Fetching dashboard sections {} for authenticated user (page size {})", sections, pageSize);
+
+    // Get or create user once for all sections (JIT provisioning)
+    User user = userProvisioningService.getOrCreateUser(authentication);
+    log.info("User found (ID: {})", user.getId());
+
+    // First page of each list, newest first with the id as tie-breaker so it is stable between calls;
+    // sections use count-free slices, totals come from their summaries
+    Pageable transactionsPage =
+        PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "transactionDt", "transactionId"));
+    Pageable cardsPage = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createDt", "cardId"));
+    Pageable loansPage = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "startDt", "loanNumber"));
+
+    Supplier<AccountDto> account = () -> null;
+    Supplier<PageResponse<AccountTransactionDto, BalanceSummary>> balance = () -> null;
+    Supplier<PageResponse<CardDto, CardSummary>> cards = () -> null;
+    Supplier<PageResponse<LoanDto, LoanSummary>> loans = () -> null;
+    // One fork (one connection) per section - the section services' own scopes run inline inside it
+    try (QueryScope scope = queryFanOut.open("dashboard")) {
+      if (sections.contains(Section.ACCOUNT)) {
+        account = scope.fork(() -> accountService.getAccountForUser(user));
+      }
+      if (sections.contains(Section.BALANCE)) {
+        balance = scope.fork(() -> balanceService.getTransactionsWithSummary(user, transactionsPage, true));
+      }
+      if (sections.contains(Section.CARDS)) {
+        cards = scope.fork(() -> cardService.getCardsWithSummary(user, cardsPage, true));
+      }
+      if (sections.contains(Section.LOANS)) {
+        loans = scope.fork(() -> loanService.getLoansWithSummary(user, loansPage, true));
+      }
+      scope.join();
+    }
+
+    return DashboardResponse.builder()
+        .account(account.get())
+        .balance(balance.get())
+        .cards(cards.get())
+        .loans(loans.get())
+        .build();
+  }
+}
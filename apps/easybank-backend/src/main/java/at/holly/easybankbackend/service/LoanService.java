@@ -1,21 +1,23 @@
 package at.holly.easybankbackend.service;
 
+import at.holly.easybankbackend.concurrent.QueryFanOut;
+import at.holly.easybankbackend.concurrent.QueryScope;
 import at.holly.easybankbackend.dto.LoanDto;
 import at.holly.easybankbackend.dto.LoanSummary;
 import at.holly.easybankbackend.dto.PageResponse;
-import at.holly.easybankbackend.mapper.LoanMapper;
-import at.holly.easybankbackend.model.Loan;
 import at.holly.easybankbackend.model.User;
 import at.holly.easybankbackend.repository.LoanRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.function.Supplier;
 
 /**
  * Loan Service
@@ -28,7 +30,7 @@ public class LoanService {
 
   private final LoanRepository loanRepository;
   private final UserProvisioningService userProvisioningService;
-  private final LoanMapper loanMapper;
+  private final QueryFanOut queryFanOut;
 
   /**
    * Get loan details for authenticated user (paginated) with summary metadata
@@ -36,11 +38,12 @@ public class LoanService {
    *
    * @param authentication the authentication object containing JWT token
    * @param pageable pagination and sorting parameters
+   * @param slice if true, fetch a count-free slice and take the total from the summary
    * @return page response with loan DTOs and loan summary
    */
   @Transactional(readOnly = true)
   public PageResponse<LoanDto, LoanSummary> getLoansWithSummary(
-      Authentication authentication, Pageable pageable) {
+      Authentication authentication, Pageable pageable, boolean slice) {
     log.info("Fetching loan details with summary for authenticated user (page {}, size {})",
         pageable.getPageNumber(), pageable.getPageSize());
 
@@ -48,18 +51,49 @@ public class LoanService {
     User user = userProvisioningService.getOrCreateUser(authentication);
     log.info("User found (ID: {})", user.getId());
 
-    // Fetch paginated loans
-    Page<Loan> loansPage = loanRepository.findByUserId(user.getId(), pageable);
-    log.info("Retrieved {} loans (page {} of {}) for user ID: {}",
-        loansPage.getNumberOfElements(), loansPage.getNumber() + 1,
-        loansPage.getTotalPages(), user.getId());
+    return getLoansWithSummary(user, pageable, slice);
+  }
+
+  /**
+   * Get loan details for an already resolved user (paginated) with summary metadata
+   *
+   * @param user the resolved user
+   * @param pageable pagination and sorting parameters
+   * @param slice if true, fetch a count-free slice and take the total from the summary
+   * @return page response with loan DTOs and loan summary
+   */
+  @Transactional(readOnly = true)
+  public PageResponse<LoanDto, LoanSummary> getLoansWithSummary(User user, Pageable pageable, boolean slice) {
+    // Fetch paginated loans (slice mode skips the COUNT query - total comes from the summary)
+    // and compute loan summary (aggregates from ALL loans, not just current page).
+    // The queries are independent, so they are fanned out in parallel when enabled.
+    long userId = user.getId();
+    Slice<LoanDto> loansSlice;
+    BigDecimal totalLoanAmount;
+    BigDecimal totalOutstanding;
+    BigDecimal totalPaid;
+    Long activeLoanCount;
+    Long totalLoanCount;
+    try (QueryScope scope = queryFanOut.open("loans")) {
+      Supplier<Slice<LoanDto>> loansTask = scope.fork(() -> slice
+          ? loanRepository.findDtoSliceByUserId(userId, pageable)
+          : loanRepository.findDtoPageByUserId(userId, pageable));
+      Supplier<BigDecimal> totalLoanAmountTask = scope.fork(() -> loanRepository.sumTotalLoanByUserId(userId));
+      Supplier<BigDecimal> totalOutstandingTask = scope.fork(() -> loanRepository.sumOutstandingByUserId(userId));
+      Supplier<BigDecimal> totalPaidTask = scope.fork(() -> loanRepository.sumPaidByUserId(userId));
+      Supplier<Long> activeLoanCountTask = scope.fork(() -> loanRepository.countActiveByUserId(userId));
+      Supplier<Long> totalLoanCountTask = scope.fork(() -> loanRepository.countByUserId(userId));
+      scope.join();
 
-    // Compute loan summary (aggregates from ALL loans, not just current page)
-    BigDecimal totalLoanAmount = loanRepository.sumTotalLoanByUserId(user.getId());
-    BigDecimal totalOutstanding = loanRepository.sumOutstandingByUserId(user.getId());
-    BigDecimal totalPaid = loanRepository.sumPaidByUserId(user.getId());
-    Long activeLoanCount = loanRepository.countActiveByUserId(user.getId());
-    Long totalLoanCount = loanRepository.countByUserId(user.getId());
+      loansSlice = loansTask.get();
+      totalLoanAmount = totalLoanAmountTask.get();
+      totalOutstanding = totalOutstandingTask.get();
+      totalPaid = totalPaidTask.get();
+      activeLoanCount = activeLoanCountTask.get();
+      totalLoanCount = totalLoanCountTask.get();
+    }
+    log.info("Retrieved {} loans (page {}, has next: {}) for user ID: {}",
+        loansSlice.getNumberOfElements(), loansSlice.getNumber() + 1, loansSlice.hasNext(), userId);
 
     LoanSummary summary = LoanSummary.builder()
         .totalLoanAmount(totalLoanAmount)
@@ -72,8 +106,10 @@ public class LoanService {
     log.info("Loan summary computed - total: {}, outstanding: {}, paid: {}, active: {}, total count: {}",
         totalLoanAmount, totalOutstanding, totalPaid, activeLoanCount, totalLoanCount);
 
-    // Map to DTOs and wrap in PageResponse
-    Page<LoanDto> dtoPage = loansPage.map(loanMapper::toDto);
-    return PageResponse.of(dtoPage, summary);
+    // Rows are already DTOs (projected by the query) - wrap in PageResponse
+    if (loansSlice instanceof Page<LoanDto> dtoPage) {
+      return PageResponse.of(dtoPage, summary);
+    }
+    return PageResponse.ofSlice(loansSlice, totalLoanCount, summary);
   }
 }
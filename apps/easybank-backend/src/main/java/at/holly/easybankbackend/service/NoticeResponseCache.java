@@ -0,0 +1,214 @@
+package at.holly.easybankbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Notice Response Cache
+ * Serialized JSON bytes of notice pages, plus gzip and deflate variants, per distinct
+ * page/size/sort combination, so hot notice requests skip Jackson and compression entirely.
+ * <p>
+ * Entries belong to one snapshot generation: when the notice snapshot version changes the
+ * whole generation is swapped out in one step, so a stale page can never be served
+ * alongside fresh ones.
+ */
+@Component
+@Slf4j
+public class NoticeResponseCache {
+
+  /**
+   * Content codings the cache holds, in server preference order
+   */
+  public enum Encoding {
+    GZIP("gzip"), DEFLATE("deflate"), IDENTITY("identity");
+
+    private final String token;
+
+    Encoding(String token) {
+      this.token = token;
+    }
+
+    /**
+     * @return the Content-Encoding token
+     */
+    public String token() {
+      return token;
+    }
+
+    /**
+     * Pick the preferred acceptable encoding from an Accept-Encoding header
+     * (highest q-value wins, ties go to server preference; q=0 excludes)
+     *
+     * @param acceptEncoding the Accept-Encoding header, may be null
+     * @return the encoding to respond with
+     */
+    public static Encoding negotiate(String acceptEncoding) {
+      if (acceptEncoding == null || acceptEncoding.isBlank()) {
+        return IDENTITY;
+      }
+      Encoding best = null;
+      double bestQuality = 0;
+      double wildcardQuality = -1;
+      double[] quality = new double[values().length];
+      Arrays.fill(quality, -1);
+      for (String part : acceptEncoding.split(",")) {
+        String[] tokens = part.trim().split(";");
+        String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+        double q = parseQuality(tokens);
+        if (coding.equals("*")) {
+          wildcardQuality = q;
+        }
+        for (Encoding encoding : values()) {
+          if (encoding.token.equals(coding) || (encoding == GZIP && coding.equals("x-gzip"))) {
+            quality[encoding.ordinal()] = q;
+          }
+        }
+      }
+      for (Encoding encoding : values()) {
+        double q = quality[encoding.ordinal()] >= 0 ? quality[encoding.ordinal()] : wildcardQuality;
+        if (encoding == IDENTITY && q < 0) {
+          // identity is acceptable unless explicitly excluded
+          q = 0.001;
+        }
+        if (q > bestQuality) {
+          best = encoding;
+          bestQuality = q;
+        }
+      }
+      return best != null ? best : IDENTITY;
+    }
+
+    private static double parseQuality(String[] tokens) {
+      for (int i = 1; i < tokens.length; i++) {
+        String parameter = tokens[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            return Double.parseDouble(parameter.substring(2));
+          } catch (NumberFormatException e) {
+            return 0;
+          }
+        }
+      }
+      return 1;
+    }
+  }
+
+  /**
+   * One page in every encoding
+   *
+   * @param etag strong entity tag of the identity representation
+   * @param identity the JSON bytes
+   * @param gzip gzip-compressed JSON
+   * @param deflate zlib-compressed JSON
+   */
+  public record EncodedPage(String etag, byte[] identity, byte[] gzip, byte[] deflate) {
+
+    /**
+     * Body for an encoding; falls back to identity when compression does not pay off
+     */
+    public byte[] body(Encoding encoding) {
+      return switch (effective(encoding)) {
+        case GZIP -> gzip;
+        case DEFLATE -> deflate;
+        case IDENTITY -> identity;
+      };
+    }
+
+    /**
+     * The encoding actually served for a negotiated encoding
+     */
+    public Encoding effective(Encoding encoding) {
+      return switch (encoding) {
+        case GZIP -> gzip.length < identity.length ? Encoding.GZIP : Encoding.IDENTITY;
+        case DEFLATE -> deflate.length < identity.length ? Encoding.DEFLATE : Encoding.IDENTITY;
+        case IDENTITY -> Encoding.IDENTITY;
+      };
+    }
+
+    /**
+     * Strong ETag per representation - each content coding is a different set of bytes
+     */
+    public String etag(Encoding encoding) {
+      Encoding served = effective(encoding);
+      if (served == Encoding.IDENTITY) {
+        return etag;
+      }
+      return etag.substring(0, etag.length() - 1) + "-" + served.token() + "\"";
+    }
+  }
+
+  private record Generation(String version, Cache<String, EncodedPage> pages) {
+  }
+
+  private final ObjectMapper objectMapper;
+  private final long maximumSize;
+  private final AtomicReference<Generation> generation = new AtomicReference<>();
+
+  public NoticeResponseCache(ObjectMapper objectMapper,
+                             @Value("${easybank.notices.response-cache.maximum-size:256}") long maximumSize) {
+    this.objectMapper = objectMapper;
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Get the encoded bytes of a page, serializing and compressing it on first request
+   *
+   * @param snapshot the current notice snapshot
+   * @param pageable pagination and sorting parameters
+   * @return the page in every encoding
+   * @throws IllegalArgumentException if sorted by an unknown property
+   */
+  public EncodedPage get(NoticeSnapshot snapshot, Pageable pageable) {
+    String etag = snapshot.etag(pageable);
+    return generationFor(snapshot.version()).pages().get(etag, key -> encode(snapshot, pageable, etag));
+  }
+
+  private Generation generationFor(String version) {
+    while (true) {
+      Generation current = generation.get();
+      if (current != null && current.version().equals(version)) {
+        return current;
+      }
+      Generation next = new Generation(version, Caffeine.newBuilder().maximumSize(maximumSize).build());
+      if (generation.compareAndSet(current, next)) {
+        log.debug("Notice response cache switched to snapshot version {}", version.substring(0, 12));
+        return next;
+      }
+    }
+  }
+
+  private EncodedPage encode(NoticeSnapshot snapshot, Pageable pageable, String etag) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(snapshot.page(pageable));
+      return new EncodedPage(etag, json, compress(json, true), compress(json, false));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize notice page", e);
+    }
+  }
+
+  private static byte[] compress(byte[] json, boolean gzip) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 2 + 32);
+    try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+      out.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+}
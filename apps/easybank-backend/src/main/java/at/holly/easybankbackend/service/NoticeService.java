@@ -8,14 +8,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Notice Service
  * Handles business logic for system notice/announcement operations
+ * <p>
+ * Active notices change maybe once a day, so they are served from an immutable in-memory
+ * {@link NoticeSnapshot} instead of querying on every hit. The snapshot is rebuilt on a
+ * fixed schedule, at midnight, and lazily on the first read after the date rolls over.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +31,8 @@ public class NoticeService {
 
   private final NoticeRepository noticeRepository;
   private final NoticeMapper noticeMapper;
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private volatile NoticeSnapshot snapshot;
 
   /**
    * Get all active system notices (paginated)
@@ -32,16 +41,11 @@ public class NoticeService {
    * @param pageable pagination and sorting parameters
    * @return page of active notice DTOs
    */
-  @Transactional(readOnly = true)
   public Page<NoticeDto> getActiveNotices(Pageable pageable) {
-    log.info("Fetching active system notices (page {}, size {})",
+    log.debug("Fetching active system notices (page {}, size {})",
         pageable.getPageNumber(), pageable.getPageSize());
 
-    Page<Notice> activeNotices = noticeRepository.findAllActiveNotices(pageable);
-    log.info("Retrieved {} active notices (page {} of {})",
-        activeNotices.getNumberOfElements(), activeNotices.getNumber() + 1, activeNotices.getTotalPages());
-
-    return activeNotices.map(noticeMapper::toDto);
+    return getSnapshot().page(pageable);
   }
 
   /**
@@ -50,13 +54,66 @@ public class NoticeService {
    *
    * @return list of active notice DTOs
    */
-  @Transactional(readOnly = true)
   public List<NoticeDto> getActiveNotices() {
-    log.info("Fetching active system notices");
+    log.debug("Fetching active system notices");
+
+    return getSnapshot().notices();
+  }
+
+  /**
+   * Get the current snapshot of active notices, rebuilding it if it was built for an earlier day
+   *
+   * @return the current snapshot
+   */
+  public NoticeSnapshot getSnapshot() {
+    LocalDate today = LocalDate.now();
+    NoticeSnapshot current = snapshot;
+    if (current != null && current.day().equals(today)) {
+      return current;
+    }
+    refreshLock.lock();
+    try {
+      // Another request may have rebuilt it while we waited
+      current = snapshot;
+      if (current != null && current.day().equals(today)) {
+        return current;
+      }
+      return rebuild(today);
+    } finally {
+      refreshLock.unlock();
+    }
+  }
 
-    List<Notice> activeNotices = noticeRepository.findAllActiveNotices();
-    log.info("Retrieved {} active notices", activeNotices.size());
+  /**
+   * Rebuild the snapshot from the database
+   * Runs on a fixed delay (notices edited during the day) and at midnight (date rollover)
+   */
+  @Scheduled(fixedDelayString = "${easybank.notices.refresh-interval:PT5M}",
+      initialDelayString = "${easybank.notices.refresh-interval:PT5M}")
+  @Scheduled(cron = "0 0 0 * * *")
+  public void refreshSnapshot() {
+    refreshLock.lock();
+    try {
+      rebuild(LocalDate.now());
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * The day is passed to the query, so the snapshot's day and the notices active on it come
+   * from the same clock
+   */
+  private NoticeSnapshot rebuild(LocalDate day) {
+    List<Notice> activeNotices = noticeRepository.findAllActiveNotices(Date.valueOf(day));
+    NoticeSnapshot rebuilt = NoticeSnapshot.of(day, noticeMapper.toDtoList(activeNotices));
 
-    return noticeMapper.toDtoList(activeNotices);
+    NoticeSnapshot previous = snapshot;
+    if (previous == null || !previous.version().equals(rebuilt.version())) {
+      log.info("Active notice snapshot rebuilt for {} with {} notices (version {})",
+          day, rebuilt.notices().size(), rebuilt.version().substring(0, 12));
+    }
+    snapshot = rebuilt;
+    return rebuilt;
   }
 }
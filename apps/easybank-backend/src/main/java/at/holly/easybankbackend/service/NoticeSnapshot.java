@@ -0,0 +1,122 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.NoticeDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Notice Snapshot
+ * Immutable, in-memory copy of the notices active on a given day.
+ * Pages are sorted and sliced from memory, and every page gets a strong ETag derived
+ * from the snapshot content and the page request, so identical requests against the
+ * same snapshot always revalidate.
+ *
+ * @param day the day the snapshot was built for (rebuilt at date rollover)
+ * @param notices active notices in natural (id) order
+ * @param version content hash of the notices
+ */
+public record NoticeSnapshot(LocalDate day, List<NoticeDto> notices, String version) {
+
+  private static final Map<String, Comparator<NoticeDto>> SORTABLE = Map.of(
+      "noticeId", nullsLast(NoticeDto::getNoticeId),
+      "noticeSummary", nullsLast(NoticeDto::getNoticeSummary),
+      "noticeDetails", nullsLast(NoticeDto::getNoticeDetails),
+      "noticBegDt", nullsLast(NoticeDto::getNoticBegDt),
+      "noticEndDt", nullsLast(NoticeDto::getNoticEndDt));
+
+  /**
+   * Build a snapshot from freshly loaded notices
+   *
+   * @param day the day the notices are active on
+   * @param notices the active notices
+   * @return the snapshot
+   */
+  public static NoticeSnapshot of(LocalDate day, List<NoticeDto> notices) {
+    List<NoticeDto> sorted = notices.stream()
+        .sorted(SORTABLE.get("noticeId"))
+        .toList();
+    StringBuilder content = new StringBuilder();
+    for (NoticeDto notice : sorted) {
+      content.append(notice.getNoticeId()).append('\u0000')
+          .append(notice.getNoticeSummary()).append('\u0000')
+          .append(notice.getNoticeDetails()).append('\u0000')
+          .append(notice.getNoticBegDt()).append('\u0000')
+          .append(notice.getNoticEndDt()).append('\n');
+    }
+    return new NoticeSnapshot(day, sorted, sha256(content.toString()));
+  }
+
+  /**
+   * Sort and slice a page from memory
+   *
+   * @param pageable pagination and sorting parameters
+   * @return the requested page
+   * @throws IllegalArgumentException if sorted by an unknown property
+   */
+  public Page<NoticeDto> page(Pageable pageable) {
+    List<NoticeDto> ordered = notices;
+    if (pageable.getSort().isSorted()) {
+      ordered = notices.stream().sorted(comparator(pageable.getSort())).toList();
+    }
+    if (pageable.isUnpaged()) {
+      return new PageImpl<>(ordered, pageable, ordered.size());
+    }
+    int from = (int) Math.min(pageable.getOffset(), ordered.size());
+    int to = Math.min(from + pageable.getPageSize(), ordered.size());
+    return new PageImpl<>(ordered.subList(from, to), pageable, ordered.size());
+  }
+
+  /**
+   * Strong ETag for a page of this snapshot
+   *
+   * @param pageable the page request
+   * @return quoted entity tag
+   */
+  public String etag(Pageable pageable) {
+    String request = pageable.isUnpaged()
+        ? "unpaged|" + pageable.getSort()
+        : pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+    return "\"" + sha256(version + "|" + request).substring(0, 32) + "\"";
+  }
+
+  private static Comparator<NoticeDto> comparator(Sort sort) {
+    Comparator<NoticeDto> comparator = null;
+    for (Sort.Order order : sort) {
+      Comparator<NoticeDto> byProperty = SORTABLE.get(order.getProperty());
+      if (byProperty == null) {
+        throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+      }
+      if (order.isDescending()) {
+        byProperty = byProperty.reversed();
+      }
+      comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+    }
+    // Stable tie-break so equal keys always page the same way
+    return comparator.thenComparing(SORTABLE.get("noticeId"));
+  }
+
+  private static <U extends Comparable<? super U>> Comparator<NoticeDto> nullsLast(Function<NoticeDto, U> key) {
+    return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+  }
+
+  private static String sha256(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.AccountTransactionDto;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.Base64;
+
+/**
+ * Transaction Cursor
+ * Keyset position in a user's transaction history, ordered by (transactionDt, transactionId) descending.
+ * Serialized as an opaque URL-safe token so clients cannot depend on its structure.
+ *
+ * @param transactionDt date of the last row returned
+ * @param transactionId id of the last row returned
+ */
+public record TransactionCursor(Date transactionDt, String transactionId) {
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+  private static final char SEPARATOR = '|';
+
+  /**
+   * Create the cursor pointing just past the given transaction
+   */
+  public static TransactionCursor after(AccountTransactionDto transaction) {
+    return new TransactionCursor(transaction.getTransactionDt(), transaction.getTransactionId());
+  }
+
+  /**
+   * Encode this cursor as an opaque token
+   */
+  public String encode() {
+    String raw = transactionDt.toString() + SEPARATOR + transactionId;
+    return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode an opaque token produced by {@link #encode()}
+   *
+   * @param token the cursor token
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static TransactionCursor decode(String token) {
+    try {
+      String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator <= 0 || separator == raw.length() - 1) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new TransactionCursor(Date.valueOf(raw.substring(0, separator)), raw.substring(separator + 1));
+    } catch (IllegalArgumentException e) {
+      // Covers bad base64 and bad dates - never echo the raw token back
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+  }
+}
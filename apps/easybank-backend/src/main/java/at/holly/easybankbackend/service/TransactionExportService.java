@@ -0,0 +1,129 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.AccountTransactionDto;
+import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.repository.AccountTransactionStreamRepository;
+import at.holly.easybankbackend.shard.ShardContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Transaction Export Service
+ * Streams a user's full transaction history as CSV or NDJSON with constant memory.
+ * The user is resolved on the request thread; rows are then read from a forward-only
+ * JDBC cursor and written straight to the response as they arrive.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+  static final String CSV_HEADER =
+      "transactionId,accountNumber,transactionDt,transactionSummary,transactionType,transactionAmt,closingBalance";
+
+  private final AccountTransactionStreamRepository accountTransactionStreamRepository;
+  private final UserProvisioningService userProvisioningService;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Export format
+   */
+  public enum Format {
+    CSV,
+    NDJSON
+  }
+
+  /**
+   * Prepare a streaming export of the authenticated user's transactions
+   * Automatically provisions user from Keycloak on first access (JIT provisioning)
+   *
+   * @param authentication the authentication object containing JWT token
+   * @param format the output format
+   * @return body that writes the export when invoked
+   */
+  public StreamingResponseBody exportTransactions(Authentication authentication, Format format) {
+    User user = userProvisioningService.getOrCreateUser(authentication);
+    long userId = user.getId();
+    log.info("Starting {} transaction export for user ID: {}", format, userId);
+    // The body is written on an async thread - take the request's shard binding along
+    Integer shard = ShardContext.current();
+
+    return outputStream -> {
+      try (ShardContext.Scope ignored = ShardContext.bind(shard)) {
+        writeExport(outputStream, format, userId);
+      }
+    };
+  }
+
+  private void writeExport(OutputStream outputStream, Format format, long userId) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    long[] rows = {0};
+    if (format == Format.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write('\n');
+    }
+    try {
+      accountTransactionStreamRepository.streamByUserId(userId, dto -> {
+        try {
+          if (format == Format.CSV) {
+            writeCsvRow(writer, dto);
+          } else {
+            writer.write(objectMapper.writeValueAsString(dto));
+            writer.write('\n');
+          }
+          rows[0]++;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      // Client went away mid-download - nothing left to write to
+      log.warn("Transaction export aborted for user ID {} after {} rows", userId, rows[0]);
+      throw e.getCause();
+    }
+    writer.flush();
+    log.info("Finished transaction export for user ID {} ({} rows)", userId, rows[0]);
+  }
+
+  private void writeCsvRow(Writer writer, AccountTransactionDto dto) throws IOException {
+    writer.write(csv(dto.getTransactionId()));
+    writer.write(',');
+    writer.write(String.valueOf(dto.getAccountNumber()));
+    writer.write(',');
+    writer.write(dto.getTransactionDt() != null ? dto.getTransactionDt().toString() : "");
+    writer.write(',');
+    writer.write(csv(dto.getTransactionSummary()));
+    writer.write(',');
+    writer.write(dto.getTransactionType() != null ? dto.getTransactionType().name() : "");
+    writer.write(',');
+    writer.write(dto.getTransactionAmt() != null ? dto.getTransactionAmt().toPlainString() : "");
+    writer.write(',');
+    writer.write(dto.getClosingBalance() != null ? dto.getClosingBalance().toPlainString() : "");
+    writer.write('\n');
+  }
+
+  /**
+   * Quote a CSV field if it contains separators, quotes or line breaks (RFC 4180)
+   */
+  private String csv(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
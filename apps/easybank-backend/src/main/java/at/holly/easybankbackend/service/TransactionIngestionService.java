@@ -0,0 +1,350 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.IngestionReport;
+import at.holly.easybankbackend.dto.TransactionIngestItem;
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.id.IdGenerator;
+import at.holly.easybankbackend.model.AccountBalance;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.shard.ShardContext;
+import at.holly.easybankbackend.shard.ShardMap;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Transaction Ingestion Service
+ * Bulk-loads transactions from the core-banking feed. The request body is read as a stream - a JSON
+ * array or NDJSON - so memory use is bounded by the chunk size, not the request size.
+ * <p>
+ * Every chunk is written in one transaction: the balance summary rows of its accounts are locked,
+ * closing balances are computed per account in arrival order starting from the current balance,
+ * and the rows are inserted with a single JDBC batch (rewritten into multi-row INSERTs by MySQL
+ * Connector/J with {@code rewriteBatchedStatements=true}). With sharding, a chunk is split per shard.
+ * <p>
+ * Invalid items are rejected individually and reported by position; a failing chunk rejects its
+ * own items only. Items dated before their account's latest transaction are rejected, since the
+ * balance summary does not move for them and the next item would continue from a stale balance.
+ * Malformed JSON stops reading - everything before it is still written.
+ */
+@Service
+@Slf4j
+public class TransactionIngestionService {
+
+  static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final AccountBalanceService accountBalanceService;
+  private final IdGenerator idGenerator;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final ObjectProvider<ShardMap> shardMap;
+  private final TransactionTemplate chunkTransaction;
+  private final int chunkSize;
+  private final int maxItems;
+  private final Counter acceptedCounter;
+  private final Counter rejectedCounter;
+  private final Timer chunkTimer;
+
+  public TransactionIngestionService(AccountBalanceService accountBalanceService,
+                                     IdGenerator idGenerator,
+                                     ObjectMapper objectMapper,
+                                     Validator validator,
+                                     ObjectProvider<ShardMap> shardMap,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${easybank.ingestion.chunk-size:500}") int chunkSize,
+                                     @Value("${easybank.ingestion.max-items:100000}") int maxItems) {
+    this.accountBalanceService = accountBalanceService;
+    this.idGenerator = idGenerator;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.shardMap = shardMap;
+    this.chunkTransaction = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.maxItems = maxItems;
+    this.acceptedCounter = Counter.builder("easybank.ingestion.items")
+        .description("Ingested transactions by outcome")
+        .tag("outcome", "accepted")
+        .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("easybank.ingestion.items")
+        .description("Ingested transactions by outcome")
+        .tag("outcome", "rejected")
+        .register(meterRegistry);
+    this.chunkTimer = Timer.builder("easybank.ingestion.chunk")
+        .description("Time to validate, lock and batch-insert one chunk")
+        .register(meterRegistry);
+  }
+
+  /**
+   * One parsed item and its position in the request
+   */
+  private record Pending(int index, JsonNode json) {
+  }
+
+  /**
+   * One validated item and its position in the request
+   */
+  private record Valid(int index, TransactionIngestItem item) {
+  }
+
+  /**
+   * Running totals of one request
+   */
+  private static final class Tally {
+    private int received;
+    private int accepted;
+    private int rejected;
+    private final List<IngestionReport.ItemError> errors = new ArrayList<>();
+
+    void reject(int index, String message) {
+      rejected++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(IngestionReport.ItemError.builder().index(index).message(message).build());
+      }
+    }
+  }
+
+  /**
+   * Ingest a stream of transactions
+   *
+   * @param body JSON array or NDJSON of {@link TransactionIngestItem}
+   * @return what was written and what was rejected
+   * @throws IOException if the request body cannot be read
+   */
+  public IngestionReport ingest(InputStream body) throws IOException {
+    long start = System.nanoTime();
+    Tally tally = new Tally();
+    List<Pending> chunk = new ArrayList<>(chunkSize);
+    String abortReason = null;
+
+    try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+      // A JSON array is unwrapped; NDJSON is a sequence of root-level values, which the parser reads as is
+      JsonToken token = parser.nextToken();
+      if (token == JsonToken.START_ARRAY) {
+        token = parser.nextToken();
+      }
+      while (token != null && token != JsonToken.END_ARRAY) {
+        if (tally.received == maxItems) {
+          abortReason = "Request exceeds the limit of " + maxItems + " items";
+          break;
+        }
+        JsonNode json = parser.readValueAsTree();
+        chunk.add(new Pending(tally.received++, json));
+        if (chunk.size() == chunkSize) {
+          writeChunk(chunk, tally);
+          chunk.clear();
+        }
+        token = parser.nextToken();
+      }
+    } catch (JsonProcessingException e) {
+      abortReason = "Malformed JSON after item " + tally.received + ": " + e.getOriginalMessage();
+    }
+    if (!chunk.isEmpty()) {
+      writeChunk(chunk, tally);
+    }
+
+    long durationNanos = System.nanoTime() - start;
+    double seconds = durationNanos / 1_000_000_000.0;
+    if (abortReason != null) {
+      log.warn("Transaction ingestion aborted: {}", abortReason);
+    }
+    log.info("Ingested {} of {} transactions ({} rejected) in {} ms",
+        tally.accepted, tally.received, tally.rejected, durationNanos / 1_000_000);
+
+    return IngestionReport.builder()
+        .received(tally.received)
+        .accepted(tally.accepted)
+        .rejected(tally.rejected)
+        .errors(tally.errors)
+        .errorsTruncated(tally.rejected > tally.errors.size())
+        .abortReason(abortReason)
+        .durationMs(durationNanos / 1_000_000)
+        .rowsPerSecond(seconds > 0 ? tally.accepted / seconds : 0)
+        .build();
+  }
+
+  /**
+   * Validate a chunk and write its valid items, one transaction per shard
+   */
+  private void writeChunk(List<Pending> chunk, Tally tally) {
+    chunkTimer.record(() -> {
+      List<Valid> valid = new ArrayList<>(chunk.size());
+      for (Pending pending : chunk) {
+        String error = validate(pending, valid);
+        if (error != null) {
+          tally.reject(pending.index(), error);
+          rejectedCounter.increment();
+        }
+      }
+
+      ShardMap shards = shardMap.getIfAvailable();
+      Map<Integer, List<Valid>> byShard = shards == null
+          ? Map.of(-1, valid)
+          : valid.stream().collect(Collectors.groupingBy(v -> shards.shardFor(v.item().getUserId()),
+              LinkedHashMap::new, Collectors.toList()));
+      for (Map.Entry<Integer, List<Valid>> entry : byShard.entrySet()) {
+        if (entry.getValue().isEmpty()) {
+          continue;
+        }
+        Integer shard = shards == null ? null : entry.getKey();
+        write(shard, entry.getValue(), tally);
+      }
+    });
+  }
+
+  /**
+   * Bind and validate one item; on success it is added to {@code valid}
+   *
+   * @return the rejection message, or null if valid
+   */
+  private String validate(Pending pending, List<Valid> valid) {
+    TransactionIngestItem item;
+    try {
+      item = objectMapper.treeToValue(pending.json(), TransactionIngestItem.class);
+    } catch (JsonProcessingException e) {
+      return "Unreadable item: " + e.getOriginalMessage();
+    }
+    if (item == null) {
+      return "Item is null";
+    }
+    Set<ConstraintViolation<TransactionIngestItem>> violations = validator.validate(item);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .collect(Collectors.joining("; "));
+    }
+    valid.add(new Valid(pending.index(), item));
+    return null;
+  }
+
+  /**
+   * Write the valid items of one shard in one transaction. On failure all of them are rejected.
+   */
+  private void write(Integer shard, List<Valid> items, Tally tally) {
+    List<Valid> written = new ArrayList<>(items.size());
+    List<IngestionReport.ItemError> itemErrors = new ArrayList<>();
+    try {
+      ShardContext.callOn(shard, () -> chunkTransaction.execute(status -> {
+        written.clear();
+        itemErrors.clear();
+        writeLocked(items, written, itemErrors);
+        return null;
+      }));
+    } catch (DataAccessException | TransactionException e) {
+      log.error("Transaction ingestion chunk of {} items failed: {}", items.size(), e.getMessage());
+      for (Valid valid : items) {
+        tally.reject(valid.index(), "Write failed: " + e.getMostSpecificCause().getMessage());
+      }
+      rejectedCounter.increment(items.size());
+      return;
+    }
+    tally.accepted += written.size();
+    acceptedCounter.increment(written.size());
+    for (IngestionReport.ItemError error : itemErrors) {
+      tally.reject(error.getIndex(), error.getMessage());
+    }
+    rejectedCounter.increment(itemErrors.size());
+  }
+
+  /**
+   * Lock the accounts, compute closing balances in arrival order and batch-insert.
+   * Runs inside the chunk transaction.
+   */
+  private void writeLocked(List<Valid> items, List<Valid> written, List<IngestionReport.ItemError> rejected) {
+    // New accounts are created for the user of their first item
+    Map<Long, Long> firstUsers = new TreeMap<>();
+    for (Valid valid : items) {
+      firstUsers.putIfAbsent(valid.item().getAccountNumber(), valid.item().getUserId());
+    }
+    Map<Long, AccountBalance> locked = accountBalanceService.lockBalances(firstUsers);
+
+    Map<Long, Long> owners = new HashMap<>();
+    Map<Long, BigDecimal> running = new HashMap<>();
+    Map<Long, Date> latest = new HashMap<>();
+    locked.forEach((account, balance) -> {
+      owners.put(account, balance.getUserId());
+      running.put(account, balance.getCurrentBalance() != null ? balance.getCurrentBalance() : BigDecimal.ZERO);
+      if (balance.getLastTransactionDt() != null) {
+        latest.put(account, balance.getLastTransactionDt());
+      }
+    });
+
+    Date today = Date.valueOf(LocalDate.now());
+    List<AccountTransaction> transactions = new ArrayList<>(items.size());
+    for (Valid valid : items) {
+      TransactionIngestItem item = valid.item();
+      long account = item.getAccountNumber();
+      long owner = owners.get(account);
+      if (owner != item.getUserId()) {
+        rejected.add(IngestionReport.ItemError.builder()
+            .index(valid.index())
+            .message("Account " + account + " does not belong to user " + item.getUserId())
+            .build());
+        continue;
+      }
+      // The summary's current balance only follows the latest date, so a back-dated row would fork the chain
+      Date latestDt = latest.get(account);
+      if (latestDt != null && item.getTransactionDt().before(latestDt)) {
+        rejected.add(IngestionReport.ItemError.builder()
+            .index(valid.index())
+            .message("Transaction date " + item.getTransactionDt() + " is before the latest transaction of account "
+                + account + " (" + latestDt + ")")
+            .build());
+        continue;
+      }
+      latest.put(account, item.getTransactionDt());
+      BigDecimal closing = running.getOrDefault(account, BigDecimal.ZERO);
+      closing = item.getTransactionType() == TransactionType.CREDIT
+          ? closing.add(item.getTransactionAmt())
+          : closing.subtract(item.getTransactionAmt());
+      running.put(account, closing);
+
+      transactions.add(AccountTransaction.builder()
+          .transactionId(idGenerator.nextId(AccountTransaction.ID_PREFIX))
+          .accountNumber(account)
+          .userId(item.getUserId())
+          .transactionDt(item.getTransactionDt())
+          .transactionSummary(item.getTransactionSummary())
+          .transactionType(item.getTransactionType())
+          .transactionAmt(item.getTransactionAmt())
+          .closingBalance(closing)
+          .createDt(today)
+          .build());
+      written.add(valid);
+    }
+    if (!transactions.isEmpty()) {
+      accountBalanceService.recordBatch(transactions, locked);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.datasource.ReadYourWrites;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * User Data Versions
+ * Cheap per-user, per-resource data versions used as ETags for polled financial endpoints.
+ * Versions are bumped whenever transactions, balances, cards or loans change, so a conditional
+ * GET can be answered with 304 after a single primary-key lookup instead of the page and summary queries.
+ * <p>
+ * The counters live in the user_data_versions table (on the user's shard when sharded), so every
+ * instance sees every bump and versions survive restarts. Bumps are written by the writing
+ * transaction itself, after its final flush and just before it commits: data and version commit
+ * together, no second connection is taken, and the version row locks are held only for the commit.
+ * The bumps of one transaction are applied in key order, so concurrent bumpers cannot deadlock.
+ * <p>
+ * With read replicas, the version is read from the primary; while it is younger than the replicas
+ * may lag, {@link #etag} pins the user's reads to the primary (see {@link ReadYourWrites}), so the
+ * body sent with the new ETag cannot come from a replica that has not seen the change.
+ * <p>
+ * Data changed outside the application leaves the version behind - clients may get 304 for that
+ * resource until its next change through the application.
+ */
+@Component
+public class UserDataVersions {
+
+  private static final String SELECT_SQL = "SELECT version, updated_at, CURRENT_TIMESTAMP AS now "
+      + "FROM user_data_versions WHERE user_id = ? AND resource = ?";
+  private static final String UPDATE_SQL = "UPDATE user_data_versions SET version = version + 1, "
+      + "updated_at = CURRENT_TIMESTAMP WHERE user_id = ? AND resource = ?";
+  private static final String INSERT_SQL = "INSERT INTO user_data_versions (user_id, resource, version, updated_at) "
+      + "VALUES (?, ?, 1, CURRENT_TIMESTAMP)";
+
+  /**
+   * Versioned per-user resources
+   */
+  public enum Resource {
+    BALANCE, CARDS, LOANS
+  }
+
+  /**
+   * A version and how long ago, by the database clock, it was bumped (null if never)
+   */
+  private record Version(long value, Duration age) {
+    private static final Version INITIAL = new Version(0, null);
+  }
+
+  private record Key(long userId, Resource resource) {
+    private static final Comparator<Key> ORDER = Comparator.comparingLong(Key::userId).thenComparing(Key::resource);
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+  private final ObjectProvider<ReadYourWrites> readYourWrites;
+
+  public UserDataVersions(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                          ObjectProvider<ReadYourWrites> readYourWrites) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManagerFactory = entityManagerFactory;
+    this.readYourWrites = readYourWrites;
+  }
+
+  /**
+   * Current version of a user's resource
+   *
+   * @param userId the user ID
+   * @param resource the resource
+   * @return the version (0 until the resource first changes)
+   */
+  public long current(long userId, Resource resource) {
+    return read(userId, resource).value();
+  }
+
+  /**
+   * Mark a user's resource as changed.
+   * Inside a JPA transaction the bump is written just before commit, in the same transaction, so a
+   * reader can never see the new version without the new data.
+   *
+   * @param userId the user ID
+   * @param resource the resource
+   */
+  public void bump(long userId, Resource resource) {
+    Key key = new Key(userId, resource);
+    @SuppressWarnings("unchecked")
+    Set<Key> pending = (Set<Key>) TransactionSynchronizationManager.getResource(this);
+    if (pending != null) {
+      pending.add(key);
+      return;
+    }
+    EntityManagerHolder holder = TransactionSynchronizationManager.isSynchronizationActive()
+        ? (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory)
+        : null;
+    if (holder == null) {
+      // No JPA transaction: write right away (joining a plain JDBC transaction if there is one)
+      increment(Set.of(key));
+      return;
+    }
+    Set<Key> keys = new TreeSet<>(Key.ORDER);
+    keys.add(key);
+    // Runs after Hibernate's flush at commit, so bumps from that flush are included
+    holder.getEntityManager().unwrap(SessionImplementor.class).getActionQueue()
+        .registerProcess((BeforeTransactionCompletionProcess) session -> increment(keys));
+    TransactionSynchronizationManager.bindResource(this, keys);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(UserDataVersions.this);
+      }
+    });
+  }
+
+  /**
+   * Strong ETag for a response derived from a user's resource.
+   * Call outside any transaction and before reading the response data - with read replicas a
+   * recent version pins the current user's reads to the primary.
+   *
+   * @param userId the user ID
+   * @param resource the resource
+   * @param request the request parameters that shape the response (page, size, sort, ...)
+   * @return quoted entity tag
+   */
+  public String etag(long userId, Resource resource, String request) {
+    Version version = read(userId, resource);
+    ReadYourWrites replicaGuard = readYourWrites.getIfAvailable();
+    if (replicaGuard != null && version.age() != null) {
+      replicaGuard.recordChange(version.age());
+    }
+    String source = userId + "|" + resource + "|" + version.value() + "|" + request;
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+      return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private Version read(long userId, Resource resource) {
+    List<Version> versions = jdbcTemplate.query(SELECT_SQL, (rs, row) -> {
+      Timestamp updatedAt = rs.getTimestamp("updated_at");
+      Timestamp now = rs.getTimestamp("now");
+      Duration age = updatedAt != null && now != null
+          ? Duration.between(updatedAt.toInstant(), now.toInstant())
+          : null;
+      return new Version(rs.getLong("version"), age);
+    }, userId, resource.name());
+    return versions.isEmpty() ? Version.INITIAL : versions.getFirst();
+  }
+
+  private void increment(Set<Key> keys) {
+    for (Key key : keys) {
+      if (jdbcTemplate.update(UPDATE_SQL, key.userId(), key.resource().name()) == 0) {
+        try {
+          jdbcTemplate.update(INSERT_SQL, key.userId(), key.resource().name());
+        } catch (DuplicateKeyException e) {
+          // Another transaction created the row first
+          jdbcTemplate.update(UPDATE_SQL, key.userId(), key.resource().name());
+        }
+      }
+    }
+  }
+}
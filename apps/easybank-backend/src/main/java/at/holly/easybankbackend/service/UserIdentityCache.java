@@ -0,0 +1,131 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * User Identity Cache
+ * Bounded, TTL-evicted cache from JWT email to the resolved user identity (id, name).
+ * Sits in front of UserRepository.findByEmail so authenticated requests for known
+ * users skip the database lookup entirely.
+ * <p>
+ * Hit/miss/eviction statistics are exported via Micrometer under the cache name "userIdentity".
+ */
+@Component
+@Slf4j
+public class UserIdentityCache {
+
+  static final String CACHE_NAME = "userIdentity";
+
+  private final Cache<String, CachedIdentity> cache;
+
+  public UserIdentityCache(
+      @Value("${easybank.user-cache.maximum-size:10000}") long maximumSize,
+      @Value("${easybank.user-cache.ttl:10m}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Look up a cached identity by email
+   *
+   * @param email the user's email from the JWT
+   * @param subject the JWT subject, used to detect an email re-assigned to another account (may be null)
+   * @return a detached User holding id, name and email, or null on miss
+   */
+  public User get(String email, String subject) {
+    CachedIdentity identity = cache.getIfPresent(email);
+    if (identity == null) {
+      return null;
+    }
+    if (subject != null && identity.subject() != null && !subject.equals(identity.subject())) {
+      log.debug("Cached identity subject mismatch, evicting");
+      cache.invalidate(email);
+      return null;
+    }
+    return identity.toUser();
+  }
+
+  /**
+   * Cache the identity of a user.
+   * If a transaction is active the entry is only published after commit,
+   * so a rolled-back JIT creation can never be served from the cache.
+   *
+   * @param user the persisted user
+   * @param subject the JWT subject (may be null)
+   */
+  public void put(User user, String subject) {
+    CachedIdentity identity = new CachedIdentity(user.getId(), user.getName(), user.getEmail(), subject);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          cache.put(identity.email(), identity);
+        }
+      });
+    } else {
+      cache.put(identity.email(), identity);
+    }
+  }
+
+  /**
+   * Evict the entry for an email (e.g. after an email change)
+   */
+  public void evictByEmail(String email) {
+    if (email != null) {
+      cache.invalidate(email);
+    }
+  }
+
+  /**
+   * Evict all entries pointing to a user id (e.g. after user deletion)
+   */
+  public void evictByUserId(long userId) {
+    cache.asMap().values().removeIf(identity -> identity.id() == userId);
+  }
+
+  /**
+   * Evict all entries for a JWT subject
+   */
+  public void evictBySubject(String subject) {
+    if (subject != null) {
+      cache.asMap().values().removeIf(identity -> subject.equals(identity.subject()));
+    }
+  }
+
+  /**
+   * Drop every cached identity
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Immutable cache value - only what callers need from the User entity
+   */
+  private record CachedIdentity(long id, String name, String email, String subject) {
+
+    User toUser() {
+      User user = new User();
+      user.setId(id);
+      user.setName(name);
+      user.setEmail(email);
+      return user;
+    }
+  }
+}
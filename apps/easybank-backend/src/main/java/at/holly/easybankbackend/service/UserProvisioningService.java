@@ -1,17 +1,28 @@
 package at.holly.easybankbackend.service;
 
+import at.holly.easybankbackend.concurrent.StripedLock;
+import at.holly.easybankbackend.datasource.ReadYourWrites;
 import at.holly.easybankbackend.model.User;
 import at.holly.easybankbackend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import at.holly.easybankbackend.shard.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * User Provisioning Service
@@ -19,46 +30,134 @@ import java.time.LocalDate;
  * When a user registers in Keycloak and makes their first API call, this service
  * automatically creates a corresponding User record in the database using
  * information from the JWT token.
+ * <p>
+ * Existing users are resolved without any locking. Only the create path is
+ * serialized, and only per email (striped), so requests for different users
+ * never block each other. Resolved identities are cached in {@link UserIdentityCache}
+ * so repeat requests skip the database lookup.
+ * <p>
+ * The create path runs in its own read-write transaction: callers are read-only services whose
+ * transactions may be routed to a read replica. After a create the user's reads are pinned to
+ * the primary for a short window ({@link ReadYourWrites}, when replicas are configured).
+ * With sharding, users live on the directory: a lookup from a thread bound to a data shard runs
+ * in its own directory transaction instead of the caller's shard transaction.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserProvisioningService {
 
+  /**
+   * Number of lock stripes for the create path (power of two)
+   */
+  private static final int LOCK_STRIPES = 64;
+
   private final UserRepository userRepository;
   private final JwtService jwtService;
+  private final UserIdentityCache userIdentityCache;
+  private final TransactionTemplate writeTransaction;
+  private final ObjectProvider<ReadYourWrites> readYourWrites;
+  private final StripedLock creationLocks = new StripedLock(LOCK_STRIPES);
+  private final Timer lockWaitTimer;
+  private final Counter contendedCounter;
+
+  public UserProvisioningService(UserRepository userRepository, JwtService jwtService,
+                                 UserIdentityCache userIdentityCache, PlatformTransactionManager transactionManager,
+                                 ObjectProvider<ReadYourWrites> readYourWrites, MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.jwtService = jwtService;
+    this.userIdentityCache = userIdentityCache;
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+    this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readYourWrites = readYourWrites;
+    this.lockWaitTimer = Timer.builder("easybank.user.provisioning.lock.wait")
+      .description("Time spent waiting for the per-identity JIT provisioning lock")
+      .register(meterRegistry);
+    this.contendedCounter = Counter.builder("easybank.user.provisioning.lock.contended")
+      .description("JIT provisioning lock acquisitions that had to wait for another thread")
+      .register(meterRegistry);
+  }
 
   /**
    * Get or create a user from JWT authentication.
    * If the user doesn't exist in the database, create them automatically.
    * Thread-safe to handle concurrent first-time logins from the same user.
+   * On a cache hit the returned User is a detached copy holding id, name and email only.
+   * <p>
+   * Deliberately not transactional: the lookup joins the caller's transaction, if any, while a
+   * create commits in its own transaction before the stripe lock is released - so a thread that
+   * waited for the lock always finds the new row, even while the creator's request is still running.
    *
    * @param authentication Spring Security Authentication object containing JWT
    * @return User entity (existing or newly created)
    */
-  @Transactional
-  public synchronized User getOrCreateUser(Authentication authentication) {
+  public User getOrCreateUser(Authentication authentication) {
     String email = jwtService.extractEmail(authentication);
+    String subject = jwtService.extractSubject(authentication);
+
+    User cached = userIdentityCache.get(email, subject);
+    if (cached != null) {
+      return cached;
+    }
 
     log.debug("Looking up user by JWT");
 
-    // First attempt: try to find existing user
-    return userRepository.findByEmail(email)
-      .orElseGet(() -> {
-        try {
-          // User not found, try to create new user
+    // Fast path: existing user, no lock needed
+    Optional<User> existing = ShardContext.current() == null
+      ? userRepository.findByEmail(email)
+      : ShardContext.callOn(null, () -> writeTransaction.execute(status -> userRepository.findByEmail(email)));
+    if (existing.isPresent()) {
+      userIdentityCache.put(existing.get(), subject);
+      return existing.get();
+    }
+
+    // Slow path: serialize creation per email so concurrent first logins create one row
+    ReentrantLock lock = creationLocks.get(email);
+    acquire(lock);
+    try {
+      User user = ShardContext.callOn(null, () -> createOrRecover(authentication, email));
+      userIdentityCache.put(user, subject);
+      readYourWrites.ifAvailable(tracker -> tracker.recordWrite(authentication));
+      return user;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Create the user, falling back to a lookup if another instance won the race.
+   * The unique email index is the final guard across JVMs and uncommitted transactions.
+   * Both steps run in their own primary transaction, so a failed insert does not poison the caller's.
+   */
+  private User createOrRecover(Authentication authentication, String email) {
+    try {
+      // Re-check: another thread may have created the user while we were waiting
+      return writeTransaction.execute(status -> userRepository.findByEmail(email)
+        .orElseGet(() -> {
           log.info("User not found. Creating new user from JWT claims.");
           return createUserFromJwt(authentication);
-        } catch (DataIntegrityViolationException e) {
-          // Race condition: another thread created the user between our check and insert
-          // This can happen with concurrent requests from the same new user
-          log.warn("Concurrent user creation detected. Retrying lookup.");
-
-          // Retry the lookup - the user should exist now
-          return userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User creation failed after race condition retry"));
-        }
-      });
+        }));
+    } catch (DataIntegrityViolationException e) {
+      // Race condition: another instance created the user between our check and insert
+      log.warn("Concurrent user creation detected. Retrying lookup.");
+
+      // Retry the lookup - the user should exist now
+      return writeTransaction.execute(status -> userRepository.findByEmail(email))
+        .orElseThrow(() -> new RuntimeException("User creation failed after race condition retry"));
+    }
+  }
+
+  /**
+   * Acquire a stripe lock, recording wait time and contention
+   */
+  private void acquire(ReentrantLock lock) {
+    if (lock.tryLock()) {
+      lockWaitTimer.record(0, TimeUnit.NANOSECONDS);
+      return;
+    }
+    contendedCounter.increment();
+    long start = System.nanoTime();
+    lock.lock();
+    lockWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
   }
 
   /**
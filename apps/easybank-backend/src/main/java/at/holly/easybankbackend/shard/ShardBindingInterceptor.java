@@ -0,0 +1,68 @@
+package at.holly.easybankbackend.shard;
+
+import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.service.UserProvisioningService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Shard Binding Interceptor
+ * Resolves the authenticated user before the controller runs - and so before any service transaction
+ * is opened - and binds that user's shard for the rest of the request. The lookup goes to the
+ * directory and leaves the identity in UserIdentityCache, so the services' own resolution inside
+ * their shard-bound transactions is a cache hit.
+ * <p>
+ * The shard is kept in a request attribute: the request thread is unbound as soon as async
+ * processing starts, and the async re-dispatch binds the same shard again without another lookup.
+ */
+public class ShardBindingInterceptor implements AsyncHandlerInterceptor {
+
+  static final String SHARD_ATTRIBUTE = ShardBindingInterceptor.class.getName() + ".shard";
+  private static final String SCOPE_ATTRIBUTE = ShardBindingInterceptor.class.getName() + ".scope";
+
+  private final UserProvisioningService userProvisioningService;
+  private final ShardMap shardMap;
+
+  public ShardBindingInterceptor(UserProvisioningService userProvisioningService, ShardMap shardMap) {
+    this.userProvisioningService = userProvisioningService;
+    this.shardMap = shardMap;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    Integer shard = (Integer) request.getAttribute(SHARD_ATTRIBUTE);
+    if (shard == null) {
+      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+      if (!(authentication instanceof JwtAuthenticationToken)) {
+        return true;
+      }
+      User user = userProvisioningService.getOrCreateUser(authentication);
+      shard = shardMap.shardFor(user.getId());
+      request.setAttribute(SHARD_ATTRIBUTE, shard);
+    }
+    request.setAttribute(SCOPE_ATTRIBUTE, ShardContext.bind(shard));
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                             Object handler) {
+    unbind(request);
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    unbind(request);
+  }
+
+  private void unbind(HttpServletRequest request) {
+    if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof ShardContext.Scope scope) {
+      request.removeAttribute(SCOPE_ATTRIBUTE);
+      scope.close();
+    }
+  }
+}
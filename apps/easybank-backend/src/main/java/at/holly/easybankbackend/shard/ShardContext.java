@@ -0,0 +1,69 @@
+package at.holly.easybankbackend.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard Context
+ * The shard bound to the current thread. {@link ShardRoutingDataSource} reads it when a physical
+ * connection is fetched; nothing bound means the directory (users, notices, contact messages).
+ * <p>
+ * A transaction keeps the connection it started with, so the shard must be bound before the
+ * transaction's first statement - in practice before the {@code @Transactional} method is entered.
+ * Work handed to other threads has to carry the binding over ({@link #callOn(Integer, Supplier)}).
+ * Without sharding configured the binding is simply never read.
+ */
+public final class ShardContext {
+
+  private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+  private ShardContext() {
+  }
+
+  /**
+   * A binding, restoring the previous one when closed
+   */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /**
+   * @return the shard bound to this thread, or null for the directory
+   */
+  public static Integer current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Bind a shard to this thread
+   *
+   * @param shard shard index, or null for the directory
+   * @return scope to close (try-with-resources) to restore the previous binding
+   */
+  public static Scope bind(Integer shard) {
+    Integer previous = CURRENT.get();
+    set(shard);
+    return () -> set(previous);
+  }
+
+  /**
+   * Run an action with a shard bound
+   *
+   * @param shard shard index, or null for the directory
+   * @param action the action
+   * @return the action's result
+   */
+  public static <T> T callOn(Integer shard, Supplier<T> action) {
+    try (Scope ignored = bind(shard)) {
+      return action.get();
+    }
+  }
+
+  private static void set(Integer shard) {
+    if (shard == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(shard);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package at.holly.easybankbackend.shard;
+
+import java.util.List;
+
+/**
+ * Shard Map
+ * Maps a user id to the index of the shard holding that user's financial data
+ * (accounts, account_transactions, balance_summary, cards, loans).
+ */
+public interface ShardMap {
+
+  /**
+   * @param userId the user id
+   * @return shard index in {@code [0, shardCount())}
+   */
+  int shardFor(long userId);
+
+  /**
+   * @return number of shards
+   */
+  int shardCount();
+
+  /**
+   * @param shards number of shards
+   * @return map spreading users evenly over the shards by a hash of their id
+   */
+  static ShardMap hash(int shards) {
+    return new Hash(shards);
+  }
+
+  /**
+   * @param upperBounds ascending exclusive upper user ids of every shard but the last
+   * @return map assigning contiguous id ranges to the shards
+   */
+  static ShardMap range(List<Long> upperBounds) {
+    long[] bounds = upperBounds.stream().mapToLong(Long::longValue).toArray();
+    return new Range(bounds);
+  }
+
+  /**
+   * Hash strategy. User ids come from an identity column, so they are mixed first
+   * (MurmurHash3 finalizer) to keep neighbouring ids from following a fixed pattern.
+   */
+  record Hash(int shardCount) implements ShardMap {
+
+    public Hash {
+      if (shardCount < 1) {
+        throw new IllegalArgumentException("At least one shard is required");
+      }
+    }
+
+    @Override
+    public int shardFor(long userId) {
+      long h = userId;
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return (int) Math.floorMod(h, (long) shardCount);
+    }
+  }
+
+  /**
+   * Range strategy. Shard i holds ids below {@code upperBounds[i]}; the last shard is open-ended.
+   */
+  record Range(long[] upperBounds) implements ShardMap {
+
+    public Range {
+      for (int i = 1; i < upperBounds.length; i++) {
+        if (upperBounds[i] <= upperBounds[i - 1]) {
+          throw new IllegalArgumentException("Range bounds must be strictly ascending");
+        }
+      }
+      upperBounds = upperBounds.clone();
+    }
+
+    @Override
+    public int shardFor(long userId) {
+      for (int i = 0; i < upperBounds.length; i++) {
+        if (userId < upperBounds[i]) {
+          return i;
+        }
+      }
+      return upperBounds.length;
+    }
+
+    @Override
+    public int shardCount() {
+      return upperBounds.length + 1;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package at.holly.easybankbackend.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Sharding configuration ({@code easybank.sharding.*})
+ *
+ * @param urls JDBC URLs of the financial data shards; sharding is only installed when at least one is set
+ * @param username shard user (defaults to the directory's)
+ * @param password shard password (defaults to the directory's)
+ * @param poolSize connections per shard pool
+ * @param strategy how user ids are mapped to shards
+ * @param rangeBounds for {@link Strategy#RANGE}: exclusive upper user id of every shard but the last
+ *                    (one fewer than {@code urls}, ascending)
+ */
+@ConfigurationProperties("easybank.sharding")
+public record ShardProperties(
+    List<String> urls,
+    String username,
+    String password,
+    @DefaultValue("10") int poolSize,
+    @DefaultValue("HASH") Strategy strategy,
+    List<Long> rangeBounds) {
+
+  /**
+   * User id to shard mapping
+   */
+  public enum Strategy {
+    /**
+     * Spread users evenly by a hash of the id - changing the shard count moves most users
+     */
+    HASH,
+    /**
+     * Contiguous id ranges per shard - new shards take new ids without moving existing users
+     */
+    RANGE
+  }
+
+  public ShardProperties {
+    urls = urls == null ? List.of() : List.copyOf(urls);
+    rangeBounds = rangeBounds == null ? List.of() : List.copyOf(rangeBounds);
+  }
+
+  /**
+   * @return the shard map described by this configuration
+   */
+  public ShardMap toShardMap() {
+    if (strategy == Strategy.RANGE) {
+      if (rangeBounds.size() != urls.size() - 1) {
+        throw new IllegalStateException("easybank.sharding.range-bounds needs " + (urls.size() - 1)
+            + " bounds for " + urls.size() + " shards, got " + rangeBounds.size());
+      }
+      return ShardMap.range(rangeBounds);
+    }
+    return ShardMap.hash(urls.size());
+  }
+}
@@ -0,0 +1,96 @@
+package at.holly.easybankbackend.shard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shard Routing DataSource
+ * Sends each connection to the shard bound in {@link ShardContext}, or to the directory when none is
+ * bound. The directory holds users and the other non user-scoped tables; every shard holds the
+ * financial tables of the users {@link ShardMap} assigns to it.
+ * <p>
+ * Like the replica routing this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the target is chosen
+ * at the first statement rather than at transaction begin.
+ * Every decision is counted in {@code easybank.datasource.shard.route{target}}.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  static final String DIRECTORY = "directory";
+
+  private final List<DataSource> shards;
+  private final String[] shardNames;
+  private final Counter[] shardRoutes;
+  private final Counter directoryRoutes;
+
+  /**
+   * @param directory the directory pool
+   * @param shards shard pools, by shard index
+   * @param meterRegistry registry for routing metrics
+   */
+  public ShardRoutingDataSource(DataSource directory, List<DataSource> shards, MeterRegistry meterRegistry) {
+    this.shards = List.copyOf(shards);
+    this.shardNames = new String[this.shards.size()];
+    this.shardRoutes = new Counter[this.shards.size()];
+    this.directoryRoutes = routeCounter(meterRegistry, DIRECTORY);
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(DIRECTORY, directory);
+    for (int i = 0; i < shardNames.length; i++) {
+      shardNames[i] = "shard-" + i;
+      shardRoutes[i] = routeCounter(meterRegistry, shardNames[i]);
+      targets.put(shardNames[i], this.shards.get(i));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(directory);
+    setLenientFallback(false);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    Integer shard = ShardContext.current();
+    if (shard == null) {
+      directoryRoutes.increment();
+      return DIRECTORY;
+    }
+    if (shard < 0 || shard >= shardNames.length) {
+      throw new IllegalStateException("No shard " + shard + " (" + shardNames.length + " configured)");
+    }
+    shardRoutes[shard].increment();
+    return shardNames[shard];
+  }
+
+  /**
+   * @return number of shards
+   */
+  public int getShardCount() {
+    return shards.size();
+  }
+
+  /**
+   * Close the shard pools (the directory pool is owned by its own bean)
+   */
+  @Override
+  public void destroy() throws Exception {
+    for (DataSource shard : shards) {
+      if (shard instanceof AutoCloseable pool) {
+        pool.close();
+      }
+    }
+  }
+
+  private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+    return Counter.builder("easybank.datasource.shard.route")
+        .description("Connections routed to the directory or a data shard")
+        .tag("target", target)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,94 @@
+package at.holly.easybankbackend.shard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Shard Scatter-Gather
+ * Runs admin-side work that spans all users (verification jobs, reports) once per shard.
+ * With sharding configured every shard gets its own virtual thread, bound to that shard and
+ * inside its own transaction; the first failure cancels the rest and is rethrown.
+ * Without sharding the task runs once, inline, joining the caller's transaction.
+ * <p>
+ * Latency is recorded as {@code easybank.shard.scatter{name}}, one timer per task name.
+ */
+@Component
+public class ShardScatterGather {
+
+  private final ObjectProvider<ShardMap> shardMap;
+  private final TransactionTemplate transaction;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public ShardScatterGather(ObjectProvider<ShardMap> shardMap, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+    this.shardMap = shardMap;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Run a task against every shard and collect the results
+   *
+   * @param name task name used as metric tag (e.g. "balance-verify")
+   * @param task the task, run once per shard
+   * @return the results, in shard order
+   */
+  public <T> List<T> onAllShards(String name, Supplier<T> task) {
+    Timer timer = timers.computeIfAbsent(name, key -> Timer.builder("easybank.shard.scatter")
+        .description("Latency of tasks run across all shards")
+        .tag("name", key)
+        .register(meterRegistry));
+    ShardMap shards = shardMap.getIfAvailable();
+    if (shards == null) {
+      return timer.record(() -> {
+        List<T> results = new ArrayList<>(1);
+        results.add(transaction.execute(status -> task.get()));
+        return results;
+      });
+    }
+    return timer.record(() -> scatter(shards.shardCount(), task));
+  }
+
+  private <T> List<T> scatter(int shardCount, Supplier<T> task) {
+    List<Future<T>> futures = new ArrayList<>(shardCount);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < shardCount; i++) {
+        Integer shard = i;
+        futures.add(executor.submit(() -> ShardContext.callOn(shard, () -> transaction.execute(status -> task.get()))));
+      }
+      List<T> results = new ArrayList<>(shardCount);
+      try {
+        for (Future<T> future : futures) {
+          results.add(future.get());
+        }
+      } catch (ExecutionException e) {
+        futures.forEach(future -> future.cancel(true));
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw new IllegalStateException("Shard task failed", e.getCause());
+      } catch (InterruptedException e) {
+        futures.forEach(future -> future.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while waiting for shard tasks");
+      }
+      return results;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package at.holly.easybankbackend.shard;
+
+import at.holly.easybankbackend.service.UserProvisioningService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding Configuration
+ * Installed only when {@code easybank.sharding.urls} is set. Replaces the auto-configured DataSource
+ * with: LazyConnectionDataSourceProxy -> {@link ShardRoutingDataSource} -> directory or shard Hikari
+ * pools. The directory pool is still configured through {@code spring.datasource.*}.
+ * <p>
+ * Hibernate only manages the directory's schema; shard schemas are provisioned separately.
+ * Read replicas are not supported together with sharding yet.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+@ConditionalOnProperty(name = "easybank.sharding.urls")
+public class ShardingConfig {
+
+  // Not tied to one user: public routes, and the internal feed, which binds shards per chunk
+  static final String[] UNBOUND_PATHS = {"/api/v1/notices", "/api/v1/contact", "/api/v1/register", "/api/v1/internal/**"};
+
+  public ShardingConfig(Environment environment) {
+    if (environment.containsProperty("easybank.datasource.replica.urls")) {
+      throw new IllegalStateException(
+          "easybank.sharding.urls and easybank.datasource.replica.urls cannot be combined");
+    }
+  }
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource directoryDataSource(DataSourceProperties dataSourceProperties) {
+    return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ShardMap shardMap(ShardProperties properties) {
+    return properties.toShardMap();
+  }
+
+  @Bean
+  public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource directoryDataSource,
+                                                       DataSourceProperties dataSourceProperties,
+                                                       ShardProperties properties,
+                                                       MeterRegistry meterRegistry) {
+    List<DataSource> shards = new ArrayList<>();
+    for (int i = 0; i < properties.urls().size(); i++) {
+      HikariDataSource pool = new HikariDataSource();
+      pool.setPoolName("shard-" + i);
+      pool.setJdbcUrl(properties.urls().get(i));
+      pool.setUsername(properties.username() != null ? properties.username() : dataSourceProperties.determineUsername());
+      pool.setPassword(properties.password() != null ? properties.password() : dataSourceProperties.determinePassword());
+      pool.setMaximumPoolSize(properties.poolSize());
+      shards.add(pool);
+    }
+    return new ShardRoutingDataSource(directoryDataSource, shards, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+  }
+
+  /**
+   * Binds the user's shard around every authenticated controller call.
+   * Kept apart from the DataSource beans: the interceptor needs the JPA repositories, which need the DataSource.
+   */
+  @Configuration
+  @ConditionalOnProperty(name = "easybank.sharding.urls")
+  static class ShardBindingConfig implements WebMvcConfigurer {
+
+    private final ShardBindingInterceptor interceptor;
+
+    ShardBindingConfig(UserProvisioningService userProvisioningService, ShardMap shardMap) {
+      this.interceptor = new ShardBindingInterceptor(userProvisioningService, shardMap);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+      registry.addInterceptor(interceptor)
+          .addPathPatterns("/api/v1/**")
+          .excludePathPatterns(UNBOUND_PATHS);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+-- -------------------------
+-- BALANCE SUMMARY (read model of account_transactions, see AccountBalance)
+-- Create before deploying where ddl-auto=validate (prod), on every shard when sharded.
+-- The application backfills the rows on its first startup against the empty table.
+-- -------------------------
+CREATE TABLE IF NOT EXISTS balance_summary
+(
+    account_number      BIGINT         NOT NULL,
+    user_id             BIGINT         NOT NULL,
+    current_balance     DECIMAL(19, 2) NULL,
+    total_credits       DECIMAL(19, 2) NULL,
+    total_debits        DECIMAL(19, 2) NULL,
+    transaction_count   BIGINT         NOT NULL,
+    last_transaction_dt DATE           NULL,
+    last_transaction_id VARCHAR(255)   NULL,
+    PRIMARY KEY (account_number),
+    UNIQUE KEY idx_balance_summary_user_account (user_id, account_number)
+) ENGINE = InnoDB;
@@ -0,0 +1,7 @@
+-- -------------------------
+-- ACCOUNT TRANSACTIONS - keyset index (see AccountTransaction)
+-- Serves the keyset pages of /myBalance/scroll and the export's ORDER BY transaction_dt DESC,
+-- transaction_id DESC. ddl-auto=validate never creates indexes: run before deploying where it is
+-- set (prod), on every shard when sharded.
+-- -------------------------
+CREATE INDEX idx_transaction_user_dt_id ON account_transactions (user_id, transaction_dt, transaction_id);
@@ -0,0 +1,13 @@
+-- -------------------------
+-- USER DATA VERSIONS (ETag counters of the polled financial endpoints, see UserDataVersion)
+-- Create before deploying where ddl-auto=validate (prod), on every shard when sharded.
+-- Starts empty: a missing row reads as version 0 and is created on the user's next change.
+-- -------------------------
+CREATE TABLE IF NOT EXISTS user_data_versions
+(
+    user_id    BIGINT      NOT NULL,
+    resource   VARCHAR(20) NOT NULL,
+    version    BIGINT      NOT NULL,
+    updated_at DATETIME(6) NULL,
+    PRIMARY KEY (user_id, resource)
+) ENGINE = InnoDB;
@@ -0,0 +1,123 @@
+package at.holly.easybankbackend.concurrencylimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  @DisplayName("Should shed requests beyond the limit and admit again after a release")
+  void shouldShedAtLimit() {
+    // Given
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 2.0, 10, meterRegistry);
+
+    // When / Then
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isFalse();
+    limiter.release(5 * MILLIS);
+    assertThat(limiter.tryAcquire()).isTrue();
+
+    assertThat(meterRegistry.get("easybank.concurrency.shed").tag("group", "test").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("easybank.concurrency.inflight").tag("group", "test").gauge().value()).isEqualTo(2);
+    assertThat(meterRegistry.get("easybank.concurrency.limit").tag("group", "test").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should grow the limit while saturated with stable latency")
+  void shouldGrowWithStableLatency() {
+    // Given
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100, 2.0, 10, meterRegistry);
+
+    // When - every window runs at the limit with unchanged latency
+    for (int window = 0; window < 20; window++) {
+      runWindow(limiter, 5 * MILLIS);
+    }
+
+    // Then
+    assertThat(limiter.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(100);
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should shrink the limit towards the minimum when latency climbs far above the baseline")
+  void shouldShrinkWhenLatencyRises() {
+    // Given - a baseline of 5 ms at a limit of 40
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 40, 4, 100, 2.0, 10, meterRegistry);
+    runWindow(limiter, 5 * MILLIS);
+    int healthyLimit = limiter.getLimit();
+
+    // When - the database slows down tenfold
+    for (int window = 0; window < 30; window++) {
+      runWindow(limiter, 50 * MILLIS);
+    }
+
+    // Then
+    assertThat(limiter.getLimit()).isLessThan(healthyLimit / 2).isGreaterThanOrEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should not change the limit from windows that never came close to it")
+  void shouldIgnoreIdleWindows() {
+    // Given
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 100, 2.0, 10, meterRegistry);
+
+    // When - one request at a time, latency spiking
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire();
+      limiter.release((i % 10 == 0 ? 500 : 5) * MILLIS);
+    }
+
+    // Then
+    assertThat(limiter.getLimit()).isEqualTo(20);
+  }
+
+  @Test
+  @DisplayName("Should reject inconsistent settings")
+  void shouldRejectInvalidSettings() {
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("test", 10, 0, 10, 2.0, 10, meterRegistry))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("test", 10, 20, 10, 2.0, 10, meterRegistry))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("test", 10, 1, 10, 0.5, 10, meterRegistry))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Fill the limiter to its current limit, then release one full window of samples
+   */
+  private static void runWindow(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+    int acquired = 0;
+    while (limiter.tryAcquire()) {
+      acquired++;
+    }
+    for (int i = 0; i < acquired; i++) {
+      limiter.release(rttNanos);
+    }
+    // Top up to a whole window when the limit is below the window size
+    for (int i = acquired; i < 10; i++) {
+      limiter.tryAcquire();
+      limiter.release(rttNanos);
+    }
+  }
+}
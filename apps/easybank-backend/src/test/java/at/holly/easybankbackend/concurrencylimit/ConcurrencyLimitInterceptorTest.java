@@ -0,0 +1,101 @@
+package at.holly.easybankbackend.concurrencylimit;
+
+import at.holly.easybankbackend.exception.GlobalExceptionHandler;
+import at.holly.easybankbackend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for ConcurrencyLimitInterceptor
+ */
+@DisplayName("ConcurrencyLimitInterceptor Tests")
+class ConcurrencyLimitInterceptorTest {
+
+  private AdaptiveConcurrencyLimiter limiter;
+  private ConcurrencyLimitInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    limiter = new AdaptiveConcurrencyLimiter("public", 1, 1, 1, 2.0, 10, new SimpleMeterRegistry());
+    interceptor = new ConcurrencyLimitInterceptor(limiter);
+  }
+
+  @Test
+  @DisplayName("Should hold a permit from preHandle until afterCompletion")
+  void shouldHoldPermitForRequest() {
+    // Given
+    MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/notices");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When / Then
+    assertThat(interceptor.preHandle(first, response, new Object())).isTrue();
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+    assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, new Object()))
+        .isInstanceOf(ServiceOverloadedException.class);
+
+    interceptor.afterCompletion(first, response, new Object(), null);
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not take a second permit on an async re-dispatch")
+  void shouldKeepPermitAcrossAsyncDispatch() {
+    // Given - initial dispatch started async processing, so afterCompletion was not called
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/myAccount");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, new Object());
+
+    // When
+    request.setDispatcherType(DispatcherType.ASYNC);
+    boolean proceed = interceptor.preHandle(request, response, new Object());
+    interceptor.afterCompletion(request, response, new Object(), null);
+    interceptor.afterCompletion(request, response, new Object(), null);
+
+    // Then
+    assertThat(proceed).isTrue();
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should answer shed requests with 503 and Retry-After")
+  void shouldRespondServiceUnavailable() throws Exception {
+    // Given - the only permit is taken
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PingController())
+        .addInterceptors(interceptor)
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+    mockMvc.perform(get("/ping")).andExpect(status().isOk());
+    limiter.tryAcquire();
+
+    // When / Then
+    mockMvc.perform(get("/ping"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"))
+        .andExpect(jsonPath("$.status").value(503));
+  }
+
+  @RestController
+  static class PingController {
+
+    @GetMapping("/ping")
+    String ping() {
+      return "pong";
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package at.holly.easybankbackend.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QueryFanOut / QueryScope.
+ */
+@DisplayName("QueryFanOut Tests")
+class QueryFanOutTest {
+
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should run forked queries concurrently in parallel mode")
+    void shouldRunQueriesConcurrently() {
+        // Given - two queries that can only finish if both are running at the same time
+        QueryFanOut fanOut = new QueryFanOut(true, 4, transactionManager, meterRegistry);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // When
+        Supplier<String> first;
+        Supplier<String> second;
+        try (QueryScope scope = fanOut.open("test")) {
+            first = scope.fork(() -> awaitPeer(bothStarted, "a"));
+            second = scope.fork(() -> awaitPeer(bothStarted, "b"));
+            scope.join();
+        }
+
+        // Then
+        assertThat(first.get()).isEqualTo("a");
+        assertThat(second.get()).isEqualTo("b");
+        assertThat(meterRegistry.get("easybank.query.fanout").tag("mode", "parallel").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail fast and cancel remaining queries on first failure")
+    void shouldFailFastAndCancel() {
+        // Given
+        QueryFanOut fanOut = new QueryFanOut(true, 4, transactionManager, meterRegistry);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        // When / Then
+        assertThatThrownBy(() -> {
+            try (QueryScope scope = fanOut.open("test")) {
+                scope.fork(() -> {
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                    return null;
+                });
+                scope.fork(() -> {
+                    throw new IllegalStateException("boom");
+                });
+                scope.join();
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should run forks inline once the connection budget is used up, and return the budget on close")
+    void shouldRunInlineBeyondConnectionBudget() {
+        // Given - a budget of one connection
+        QueryFanOut fanOut = new QueryFanOut(true, 1, transactionManager, meterRegistry);
+        Thread caller = Thread.currentThread();
+
+        // When
+        Supplier<Thread> first;
+        Supplier<Thread> second;
+        try (QueryScope scope = fanOut.open("test")) {
+            first = scope.fork(Thread::currentThread);
+            second = scope.fork(Thread::currentThread);
+            scope.join();
+        }
+        Supplier<Thread> afterClose;
+        try (QueryScope scope = fanOut.open("test")) {
+            afterClose = scope.fork(Thread::currentThread);
+            scope.join();
+        }
+
+        // Then
+        assertThat(first.get()).isNotSameAs(caller);
+        assertThat(second.get()).isSameAs(caller);
+        assertThat(afterClose.get()).isNotSameAs(caller);
+        assertThat(meterRegistry.get("easybank.query.fanout.inline").tag("scope", "test").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run a scope opened inside a forked query inline on that fork")
+    void shouldNotFanOutAgainInsideFork() {
+        // Given - like the dashboard forking a service that opens its own scope
+        QueryFanOut fanOut = new QueryFanOut(true, 4, transactionManager, meterRegistry);
+
+        // When
+        Supplier<Boolean> innerOnForkThread;
+        try (QueryScope outer = fanOut.open("outer")) {
+            innerOnForkThread = outer.fork(() -> {
+                Thread fork = Thread.currentThread();
+                try (QueryScope inner = fanOut.open("inner")) {
+                    Supplier<Thread> first = inner.fork(Thread::currentThread);
+                    Supplier<Thread> second = inner.fork(Thread::currentThread);
+                    inner.join();
+                    return first.get() == fork && second.get() == fork;
+                }
+            });
+            outer.join();
+        }
+
+        // Then
+        assertThat(innerOnForkThread.get()).isTrue();
+        assertThat(meterRegistry.get("easybank.query.fanout").tag("scope", "inner").tag("mode", "nested").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run queries inline in sequential mode")
+    void shouldRunInlineWhenSequential() {
+        // Given
+        QueryFanOut fanOut = new QueryFanOut(false, 4, transactionManager, meterRegistry);
+        Thread caller = Thread.currentThread();
+
+        // When
+        Supplier<Thread> executedOn;
+        try (QueryScope scope = fanOut.open("test")) {
+            executedOn = scope.fork(Thread::currentThread);
+            scope.join();
+        }
+
+        // Then
+        assertThat(executedOn.get()).isSameAs(caller);
+        assertThat(fanOut.isParallel()).isFalse();
+    }
+
+    private static String awaitPeer(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Queries did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+}
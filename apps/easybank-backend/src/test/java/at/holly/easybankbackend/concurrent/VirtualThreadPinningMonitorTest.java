@@ -0,0 +1,67 @@
+package at.holly.easybankbackend.concurrent;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for VirtualThreadPinningMonitor.
+ * Pins a virtual thread on purpose and checks the JFR event reaches the metric.
+ */
+@DisplayName("VirtualThreadPinningMonitor Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should record a metric tagged with the pinning site when a virtual thread blocks in synchronized")
+    void shouldRecordPinnedVirtualThread() throws Exception {
+        // Given
+        Object monitorLock = new Object();
+
+        // When - sleeping while holding a monitor pins the virtual thread to its carrier
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitorLock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // Then - JFR streams events asynchronously, so poll for the metric
+        Timer pinned = null;
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinned == null && System.nanoTime() < deadline) {
+            pinned = meterRegistry.find("easybank.virtualthreads.pinned").timer();
+            if (pinned == null) {
+                Thread.sleep(100);
+            }
+        }
+        assertThat(pinned).isNotNull();
+        assertThat(pinned.count()).isGreaterThanOrEqualTo(1);
+        assertThat(pinned.getId().getTag("site")).startsWith(VirtualThreadPinningMonitorTest.class.getName());
+        assertThat(monitor.isRunning()).isTrue();
+    }
+}
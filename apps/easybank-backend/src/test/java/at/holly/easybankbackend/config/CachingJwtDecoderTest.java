@@ -0,0 +1,228 @@
+package at.holly.easybankbackend.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CachingJwtDecoder.
+ * Includes a timing comparison of RSA verification vs a cache hit in place of a JMH benchmark -
+ * JMH is not part of the build. It is tagged "load" and only runs with -Pload-test.
+ */
+@DisplayName("CachingJwtDecoder Tests")
+class CachingJwtDecoderTest {
+
+  private static final Duration SKEW = Duration.ofSeconds(30);
+  private static final Duration MAX_TTL = Duration.ofMinutes(5);
+  private static final int WARMUP = 2_000;
+  private static final int ITERATIONS = 5_000;
+
+  private static KeyPair keyPair;
+  private static KeyPair otherKeyPair;
+
+  private MutableClock clock;
+  private SimpleMeterRegistry meterRegistry;
+  private AtomicInteger verifications;
+  private CachingJwtDecoder decoder;
+
+  @BeforeAll
+  static void generateKeys() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    keyPair = generator.generateKeyPair();
+    otherKeyPair = generator.generateKeyPair();
+  }
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.now());
+    meterRegistry = new SimpleMeterRegistry();
+    verifications = new AtomicInteger();
+    JwtDecoder verifying = verifyingDecoder();
+    decoder = new CachingJwtDecoder(token -> {
+      verifications.incrementAndGet();
+      return verifying.decode(token);
+    }, 100, SKEW, MAX_TTL, meterRegistry, clock);
+  }
+
+  @Test
+  @DisplayName("Should verify a token once and serve repeats from cache")
+  void shouldServeRepeatsFromCache() throws JOSEException {
+    // Given
+    String token = sign(keyPair, clock.instant().plus(Duration.ofMinutes(10)));
+
+    // When
+    Jwt first = decoder.decode(token);
+    Jwt second = decoder.decode(token);
+
+    // Then
+    assertThat(second).isSameAs(first);
+    assertThat(verifications).hasValue(1);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", CachingJwtDecoder.CACHE_NAME)
+        .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should never serve a token from cache past exp minus skew")
+  void shouldNotOutliveToken() throws JOSEException {
+    // Given - token expires in 2 minutes, well under max-ttl
+    String token = sign(keyPair, clock.instant().plus(Duration.ofMinutes(2)));
+    decoder.decode(token);
+
+    // When - inside the skew window the token is re-verified (and still valid)
+    clock.advance(Duration.ofMinutes(2).minus(SKEW).plusSeconds(1));
+    decoder.decode(token);
+
+    // Then
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should re-verify after max-ttl so rotated-out keys are not honoured indefinitely")
+  void shouldReverifyAfterMaxTtl() throws JOSEException {
+    // Given
+    String token = sign(keyPair, clock.instant().plus(Duration.ofHours(1)));
+    decoder.decode(token);
+
+    // When
+    clock.advance(MAX_TTL.plusSeconds(1));
+    decoder.decode(token);
+
+    // Then
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should never cache a token that fails verification")
+  void shouldNotCacheInvalidToken() throws JOSEException {
+    // Given - signed with a key the decoder does not trust
+    String forged = sign(otherKeyPair, clock.instant().plus(Duration.ofMinutes(10)));
+
+    // When / Then
+    assertThatThrownBy(() -> decoder.decode(forged)).isInstanceOf(JwtException.class);
+    assertThatThrownBy(() -> decoder.decode(forged)).isInstanceOf(JwtException.class);
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should drop cached verifications on invalidateAll")
+  void shouldInvalidateAll() throws JOSEException {
+    // Given
+    String token = sign(keyPair, clock.instant().plus(Duration.ofMinutes(10)));
+    decoder.decode(token);
+
+    // When
+    decoder.invalidateAll();
+    decoder.decode(token);
+
+    // Then
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  @Tag("load")
+  @DisplayName("Cache hit should be much cheaper than RSA verification")
+  void shouldBeCheaperThanVerification() throws JOSEException {
+    // Given
+    JwtDecoder verifying = verifyingDecoder();
+    CachingJwtDecoder caching = new CachingJwtDecoder(verifying, 100, SKEW, MAX_TTL, meterRegistry);
+    String token = sign(keyPair, Instant.now().plus(Duration.ofHours(1)));
+
+    // When
+    double verifyNanos = nanosPerOp(verifying, token);
+    double cachedNanos = nanosPerOp(caching, token);
+    System.out.printf("[jwt] verify=%.0f ns/op cached=%.0f ns/op%n", verifyNanos, cachedNanos);
+
+    // Then
+    assertThat(cachedNanos).isLessThan(verifyNanos / 5);
+  }
+
+  private JwtDecoder verifyingDecoder() {
+    NimbusJwtDecoder nimbus = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+    JwtTimestampValidator timestamps = new JwtTimestampValidator(Duration.ZERO);
+    timestamps.setClock(clock != null ? clock : Clock.systemUTC());
+    nimbus.setJwtValidator(timestamps);
+    return nimbus;
+  }
+
+  private static double nanosPerOp(JwtDecoder jwtDecoder, String token) {
+    for (int i = 0; i < WARMUP; i++) {
+      jwtDecoder.decode(token);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      jwtDecoder.decode(token);
+    }
+    return (System.nanoTime() - start) / (double) ITERATIONS;
+  }
+
+  private static String sign(KeyPair signer, Instant expiresAt) throws JOSEException {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("diana")
+        .claim("email", "diana.dawson@example.com")
+        .issueTime(Date.from(expiresAt.minus(Duration.ofHours(2))))
+        .expirationTime(Date.from(expiresAt))
+        .build();
+    SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+    jwt.sign(new RSASSASigner((RSAPrivateKey) signer.getPrivate()));
+    return jwt.serialize();
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private volatile Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package at.holly.easybankbackend.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for KeyCloakRoleConverter.
+ * Includes an allocation measurement of the per-request path (cached vs uncached) in place of a
+ * JMH benchmark - JMH is not part of the build. It is tagged "load" and only runs with -Pload-test.
+ */
+@DisplayName("KeyCloakRoleConverter Tests")
+class KeyCloakRoleConverterTest {
+
+  private static final int WARMUP = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  @Test
+  @DisplayName("Should prefix realm roles with ROLE_")
+  void shouldConvertRealmRoles() {
+    // Given
+    KeyCloakRoleConverter converter = new KeyCloakRoleConverter();
+
+    // When
+    Collection<GrantedAuthority> authorities = converter.convert(jwt(List.of("USER", "ADMIN")));
+
+    // Then
+    assertThat(authorities).extracting(GrantedAuthority::getAuthority)
+        .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+  }
+
+  @Test
+  @DisplayName("Should return empty authorities when realm_access is missing")
+  void shouldReturnEmptyWithoutRealmAccess() {
+    // Given
+    KeyCloakRoleConverter converter = new KeyCloakRoleConverter();
+    Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("subject").claim("email", "a@b.c").build();
+
+    // When & Then
+    assertThat(converter.convert(jwt)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should return the same immutable authority set for the same roles")
+  void shouldInternAuthoritySets() {
+    // Given
+    KeyCloakRoleConverter converter = new KeyCloakRoleConverter();
+
+    // When - separate tokens with equal role lists
+    Collection<GrantedAuthority> first = converter.convert(jwt(new ArrayList<>(List.of("USER"))));
+    Collection<GrantedAuthority> second = converter.convert(jwt(new ArrayList<>(List.of("USER"))));
+
+    // Then
+    assertThat(second).isSameAs(first);
+    assertThatThrownBy(() -> first.clear()).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  @DisplayName("Should stop interning beyond the configured number of role sets")
+  void shouldBoundInternedRoleSets() {
+    // Given
+    KeyCloakRoleConverter converter = new KeyCloakRoleConverter(1);
+    converter.convert(jwt(List.of("USER")));
+
+    // When
+    Collection<GrantedAuthority> first = converter.convert(jwt(List.of("ADMIN")));
+    Collection<GrantedAuthority> second = converter.convert(jwt(List.of("ADMIN")));
+
+    // Then - still correct, just not shared
+    assertThat(second).isNotSameAs(first).isEqualTo(first);
+  }
+
+  @Test
+  @Tag("load")
+  @DisplayName("Should not allocate per request once the role set is cached")
+  void shouldNotAllocateOnCacheHit() {
+    // Given
+    Jwt jwt = jwt(List.of("USER", "ADMIN"));
+    KeyCloakRoleConverter uncached = new KeyCloakRoleConverter(0);
+    KeyCloakRoleConverter cached = new KeyCloakRoleConverter();
+
+    // When
+    double uncachedBytes = allocatedBytesPerCall(uncached, jwt);
+    double cachedBytes = allocatedBytesPerCall(cached, jwt);
+    System.out.printf("[alloc] KeyCloakRoleConverter.convert: uncached %.1f B/op, cached %.1f B/op%n",
+        uncachedBytes, cachedBytes);
+
+    // Then
+    assertThat(uncachedBytes).isGreaterThan(100);
+    assertThat(cachedBytes).isLessThan(8);
+  }
+
+  private static double allocatedBytesPerCall(KeyCloakRoleConverter converter, Jwt jwt) {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    int sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += converter.convert(jwt).size();
+    }
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += converter.convert(jwt).size();
+    }
+    long after = threads.getThreadAllocatedBytes(threadId);
+    assertThat(sink).isPositive();
+    return (double) (after - before) / ITERATIONS;
+  }
+
+  private static Jwt jwt(List<String> roles) {
+    return Jwt.withTokenValue("token")
+        .header("alg", "none")
+        .subject("subject")
+        .claim("realm_access", Map.of("roles", roles))
+        .build();
+  }
+}
@@ -0,0 +1,219 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.repository.AccountTransactionRepository;
+import at.holly.easybankbackend.repository.UserRepository;
+import at.holly.easybankbackend.service.AccountBalanceService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for BalanceController.
+ * Tests the /myBalance endpoint and pins the number of SQL statements it issues.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("BalanceController Integration Tests")
+class BalanceControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private AccountTransactionRepository accountTransactionRepository;
+
+  @Autowired
+  private AccountBalanceService accountBalanceService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private static final String TEST_EMAIL = "balance.test@example.com";
+  private static final long TEST_ACCOUNT_NUMBER = 20000001L;
+
+  private User testUser;
+
+  @BeforeEach
+  void setUp() {
+    testUser = new User();
+    testUser.setEmail(TEST_EMAIL);
+    testUser.setName("Balance Test User");
+    testUser.setCreateDt(Date.valueOf(LocalDate.now()));
+    testUser = userRepository.save(testUser);
+
+    saveTransaction("BT-1", LocalDate.of(2025, 1, 1), TransactionType.CREDIT, "1000.00", "1000.00");
+    saveTransaction("BT-2", LocalDate.of(2025, 1, 2), TransactionType.DEBIT, "250.00", "750.00");
+    saveTransaction("BT-3", LocalDate.of(2025, 1, 3), TransactionType.CREDIT, "100.00", "850.00");
+    accountTransactionRepository.flush();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance - Should return transactions with balance summary")
+  void shouldReturnTransactionsWithSummary() throws Exception {
+    mockMvc.perform(get("/api/v1/myBalance")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", TEST_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.page.content.length()").value(3))
+      .andExpect(jsonPath("$.page.content[0].transactionId").value("BT-3"))
+      .andExpect(jsonPath("$.metadata.currentBalance").value(850.00))
+      .andExpect(jsonPath("$.metadata.totalCredits").value(1100.00))
+      .andExpect(jsonPath("$.metadata.totalDebits").value(250.00))
+      .andExpect(jsonPath("$.metadata.transactionCount").value(3));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance - Should issue user lookup, page query and one summary query")
+  void shouldIssueFixedNumberOfStatements() throws Exception {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    mockMvc.perform(get("/api/v1/myBalance")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", TEST_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk());
+
+    // findByEmail + page select + balance_summary read (first page is short, so no count query)
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance?slice=true - Should skip the count query and take total from summary")
+  void shouldSkipCountQueryInSliceMode() throws Exception {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    mockMvc.perform(get("/api/v1/myBalance")
+        .param("size", "2")
+        .param("slice", "true")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", TEST_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.page.content.length()").value(2))
+      .andExpect(jsonPath("$.page.totalElements").value(3))
+      .andExpect(jsonPath("$.page.totalPages").value(2))
+      .andExpect(jsonPath("$.page.last").value(false));
+
+    // findByEmail + slice select (size + 1 rows) + balance_summary read - no COUNT(*)
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance - Should project rows into DTOs without loading entities, honouring sort")
+  void shouldProjectWithoutLoadingEntities() throws Exception {
+    entityManager.clear();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    mockMvc.perform(get("/api/v1/myBalance")
+        .param("sort", "transactionAmt,asc")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", TEST_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.page.content.length()").value(3))
+      .andExpect(jsonPath("$.page.content[0].transactionId").value("BT-3"))
+      .andExpect(jsonPath("$.page.content[0].transactionSummary").value("Test BT-3"))
+      .andExpect(jsonPath("$.page.content[2].transactionId").value("BT-1"));
+
+    assertThat(statistics.getEntityStatistics(AccountTransaction.class.getName()).getLoadCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance/scroll - Should page through history with cursors")
+  void shouldScrollWithCursors() throws Exception {
+    String firstPage = mockMvc.perform(get("/api/v1/myBalance/scroll")
+        .param("size", "2")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", TEST_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content.length()").value(2))
+      .andExpect(jsonPath("$.content[0].transactionId").value("BT-3"))
+      .andExpect(jsonPath("$.content[1].transactionId").value("BT-2"))
+      .andExpect(jsonPath("$.hasNext").value(true))
+      .andExpect(jsonPath("$.metadata.currentBalance").value(850.00))
+      .andReturn().getResponse().getContentAsString();
+
+    String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+    mockMvc.perform(get("/api/v1/myBalance/scroll")
+        .param("size", "2")
+        .param("after", nextCursor)
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", TEST_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content.length()").value(1))
+      .andExpect(jsonPath("$.content[0].transactionId").value("BT-1"))
+      .andExpect(jsonPath("$.hasNext").value(false))
+      .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance/scroll - Should return 400 for malformed cursor")
+  void shouldRejectMalformedCursor() throws Exception {
+    mockMvc.perform(get("/api/v1/myBalance/scroll")
+        .param("after", "not-a-cursor")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", TEST_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isBadRequest());
+  }
+
+  private void saveTransaction(String id, LocalDate date, TransactionType type, String amount, String closing) {
+    accountBalanceService.recordTransaction(AccountTransaction.builder()
+        .transactionId(id)
+        .accountNumber(TEST_ACCOUNT_NUMBER)
+        .userId(testUser.getId())
+        .transactionDt(Date.valueOf(date))
+        .transactionSummary("Test " + id)
+        .transactionType(type)
+        .transactionAmt(new BigDecimal(amount))
+        .closingBalance(new BigDecimal(closing))
+        .createDt(Date.valueOf(date))
+        .build());
+  }
+}
@@ -0,0 +1,112 @@
+package at.holly.easybankbackend.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the streaming transaction export.
+ * Not transactional: rows are streamed on an async thread, so it reads the committed seed data
+ * (Diana Dawson has 25 transactions in data.sql).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Transaction Export Integration Tests")
+class BalanceExportTest {
+
+  private static final String SEED_EMAIL = "diana.dawson@example.com";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance/export - Should stream CSV when text/csv is accepted")
+  void shouldStreamCsv() throws Exception {
+    MvcResult started = mockMvc.perform(get("/api/v1/myBalance/export")
+        .accept("text/csv")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(started))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith("text/csv"))
+      .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+      .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(26);
+    assertThat(lines[0]).startsWith("transactionId,");
+    assertThat(lines[1]).startsWith("TXN-2025,10000005,2025-10-27,Grocery Shopping,DEBIT,");
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance/export - Should stream NDJSON by default")
+  void shouldStreamNdjsonByDefault() throws Exception {
+    MvcResult started = mockMvc.perform(get("/api/v1/myBalance/export")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(started))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+      .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(25);
+    assertThat(lines[0]).contains("\"transactionId\":\"TXN-2025\"").contains("\"transactionDt\":\"2025-10-27\"");
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance/export - Should return 406 when neither CSV nor NDJSON is accepted")
+  void shouldReturn406ForUnsupportedAccept() throws Exception {
+    for (String accept : new String[] {"application/json", "application/xml", "text/csv;q=0, application/json"}) {
+      mockMvc.perform(get("/api/v1/myBalance/export")
+          .header("Accept", accept)
+          .with(jwt()
+            .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+            .authorities(() -> "ROLE_USER")
+          ))
+        .andExpect(status().isNotAcceptable());
+    }
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance/export - Should return 400 for a malformed Accept header")
+  void shouldReturn400ForMalformedAccept() throws Exception {
+    mockMvc.perform(get("/api/v1/myBalance/export")
+        .header("Accept", "text/csv;q=high")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance/export - Should return 401 when not authenticated")
+  void shouldReturn401WhenNotAuthenticated() throws Exception {
+    mockMvc.perform(get("/api/v1/myBalance/export"))
+      .andExpect(status().isUnauthorized());
+  }
+}
@@ -0,0 +1,121 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.repository.UserRepository;
+import at.holly.easybankbackend.support.LocalJwks;
+import at.holly.easybankbackend.support.LocalJwks.TestUser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for real bearer-token authentication.
+ * Tokens are signed by the LocalJwks test kit and verified by the application's own decoder,
+ * so the role converter and JIT provisioning run exactly as they do behind Keycloak.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Bearer Token Authentication Integration Tests")
+class BearerTokenAuthenticationTest {
+
+  private static final TestUser PROVISIONED = TestUser.of("bearer-provision", List.of("USER"));
+
+  private static LocalJwks untrusted;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @DynamicPropertySource
+  static void jwks(DynamicPropertyRegistry registry) {
+    LocalJwks.shared().register(registry);
+  }
+
+  @BeforeAll
+  static void startUntrusted() {
+    untrusted = LocalJwks.start();
+  }
+
+  @AfterAll
+  static void stopUntrusted() {
+    untrusted.close();
+  }
+
+  @AfterEach
+  void removeProvisionedUser() {
+    userRepository.findByEmail(PROVISIONED.email()).ifPresent(userRepository::delete);
+  }
+
+  @Test
+  @DisplayName("Should authenticate a signed token and provision the user")
+  void shouldAuthenticateAndProvision() throws Exception {
+    // Given
+    TestUser user = PROVISIONED;
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/user").header(HttpHeaders.AUTHORIZATION, bearer(LocalJwks.shared().mint(user))))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.email").value(user.email()))
+      .andExpect(jsonPath("$.name").value("Load bearer-provision"));
+    assertThat(userRepository.findByEmail(user.email())).isPresent();
+  }
+
+  @Test
+  @DisplayName("Should reject a token signed with an unknown key")
+  void shouldRejectUnknownKey() throws Exception {
+    // Given
+    TestUser user = TestUser.of("bearer-forged", List.of("USER"));
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/user").header(HttpHeaders.AUTHORIZATION, bearer(untrusted.mint(user))))
+      .andExpect(status().isUnauthorized());
+    assertThat(userRepository.findByEmail(user.email())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should reject an expired token")
+  void shouldRejectExpiredToken() throws Exception {
+    // Given
+    TestUser user = TestUser.of("bearer-expired", List.of("USER"));
+    String token = LocalJwks.shared().mint(user, Instant.now().minusSeconds(300));
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/user").header(HttpHeaders.AUTHORIZATION, bearer(token)))
+      .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("Should forbid a valid token without the USER realm role")
+  void shouldForbidWithoutUserRole() throws Exception {
+    // Given
+    TestUser user = TestUser.of("bearer-guest", List.of("GUEST"));
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/user").header(HttpHeaders.AUTHORIZATION, bearer(LocalJwks.shared().mint(user))))
+      .andExpect(status().isForbidden());
+  }
+
+  private static String bearer(String token) {
+    return "Bearer " + token;
+  }
+}
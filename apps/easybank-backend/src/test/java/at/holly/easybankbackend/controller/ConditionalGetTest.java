@@ -0,0 +1,175 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.datasource.ReadYourWrites;
+import at.holly.easybankbackend.model.Card;
+import at.holly.easybankbackend.repository.CardRepository;
+import at.holly.easybankbackend.repository.UserRepository;
+import at.holly.easybankbackend.service.UserDataVersions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for conditional GET on /myBalance, /myCards and /myLoans.
+ * Not transactional: data versions are bumped after commit, so changes have to really commit
+ * (seed data - Diana Dawson - is restored at the end of each test).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Conditional GET Integration Tests")
+class ConditionalGetTest {
+
+  private static final String SEED_EMAIL = "diana.dawson@example.com";
+  private static final long SEED_CARD_ID = 5005L;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private CardRepository cardRepository;
+
+  @Autowired
+  private UserDataVersions userDataVersions;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectProvider<ReadYourWrites> readYourWrites;
+
+  @Test
+  @DisplayName("GET /api/v1/myCards - Should answer a matching If-None-Match with 304 without page queries")
+  void shouldReturnNotModifiedWithoutQueries() throws Exception {
+    // Given - first poll warms the identity cache and yields the ETag
+    String etag = mockMvc.perform(authenticated(get("/api/v1/myCards")))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotNull();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // When & Then - only the version lookup runs, and it is plain JDBC
+    mockMvc.perform(authenticated(get("/api/v1/myCards")).header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isNotModified())
+      .andExpect(header().string(HttpHeaders.ETAG, etag))
+      .andExpect(content().string(""));
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myCards - Should return fresh data after a committed card change")
+  void shouldReturnFreshDataAfterCardChange() throws Exception {
+    // Given
+    String etag = mockMvc.perform(authenticated(get("/api/v1/myCards")))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    BigDecimal originalAvailable = cardRepository.findById(SEED_CARD_ID).orElseThrow().getAvailableAmount();
+
+    try {
+      // When
+      updateAvailable(originalAvailable.subtract(BigDecimal.ONE));
+
+      // Then
+      mockMvc.perform(authenticated(get("/api/v1/myCards")).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    } finally {
+      updateAvailable(originalAvailable);
+    }
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance and /myLoans - Should use independent versions per resource")
+  void shouldVersionResourcesIndependently() throws Exception {
+    // Given
+    long userId = userRepository.findByEmail(SEED_EMAIL).orElseThrow().getId();
+    String balanceEtag = mockMvc.perform(authenticated(get("/api/v1/myBalance")))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    String loansEtag = mockMvc.perform(authenticated(get("/api/v1/myLoans")))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // When
+    userDataVersions.bump(userId, UserDataVersions.Resource.LOANS);
+
+    // Then
+    mockMvc.perform(authenticated(get("/api/v1/myBalance")).header(HttpHeaders.IF_NONE_MATCH, balanceEtag))
+      .andExpect(status().isNotModified());
+    mockMvc.perform(authenticated(get("/api/v1/myLoans")).header(HttpHeaders.IF_NONE_MATCH, loansEtag))
+      .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myLoans - Should see a bump made by another instance")
+  void shouldSeeBumpsFromOtherInstances() throws Exception {
+    // Given - a second UserDataVersions stands in for another application instance
+    long userId = userRepository.findByEmail(SEED_EMAIL).orElseThrow().getId();
+    UserDataVersions otherInstance = new UserDataVersions(jdbcTemplate, entityManagerFactory, readYourWrites);
+    String etag = mockMvc.perform(authenticated(get("/api/v1/myLoans")))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // When
+    otherInstance.bump(userId, UserDataVersions.Resource.LOANS);
+
+    // Then
+    mockMvc.perform(authenticated(get("/api/v1/myLoans")).header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myBalance - Should issue different ETags for different pages")
+  void shouldVaryETagByPage() throws Exception {
+    // When
+    String first = mockMvc.perform(authenticated(get("/api/v1/myBalance").param("page", "0")))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    String second = mockMvc.perform(authenticated(get("/api/v1/myBalance").param("page", "1")))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // Then
+    assertThat(first).isNotEqualTo(second);
+  }
+
+  private void updateAvailable(BigDecimal available) {
+    transactionTemplate.executeWithoutResult(status -> {
+      Card card = cardRepository.findById(SEED_CARD_ID).orElseThrow();
+      card.setAvailableAmount(available);
+    });
+  }
+
+  private static MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+    return request.with(jwt()
+      .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+      .authorities(() -> "ROLE_USER"));
+  }
+}
@@ -0,0 +1,96 @@
+package at.holly.easybankbackend.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for DashboardController.
+ * Uses the seed data (Diana Dawson: account 10000005, 25 transactions, 5 cards, 3 loans).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("DashboardController Integration Tests")
+class DashboardControllerTest {
+
+  private static final String SEED_EMAIL = "diana.dawson@example.com";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  @DisplayName("GET /api/v1/dashboard - Should return all sections in one response")
+  void shouldReturnAllSections() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/api/v1/dashboard")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.account.accountNumber").value(10000005))
+      .andExpect(jsonPath("$.balance.page.content.length()").value(5))
+      .andExpect(jsonPath("$.balance.page.totalElements").value(25))
+      .andExpect(jsonPath("$.balance.metadata.transactionCount").value(25))
+      .andExpect(jsonPath("$.cards.page.totalElements").value(5))
+      .andExpect(jsonPath("$.cards.metadata.cardCount").value(5))
+      .andExpect(jsonPath("$.loans.page.totalElements").value(3))
+      .andExpect(jsonPath("$.loans.metadata.totalLoanCount").value(3));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/dashboard?sections=cards,loans - Should return only the requested sections")
+  void shouldReturnSelectedSections() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/api/v1/dashboard")
+        .param("sections", "cards,LOANS")
+        .param("size", "2")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.account").doesNotExist())
+      .andExpect(jsonPath("$.balance").doesNotExist())
+      .andExpect(jsonPath("$.cards.page.content.length()").value(2))
+      .andExpect(jsonPath("$.loans.page.content.length()").value(2))
+      // Newest first, like /myCards and /myLoans
+      .andExpect(jsonPath("$.cards.page.content[0].cardId").value(5005))
+      .andExpect(jsonPath("$.cards.page.content[1].cardId").value(5006))
+      .andExpect(jsonPath("$.loans.page.content[0].loanNumber").value(7006))
+      .andExpect(jsonPath("$.loans.page.content[1].loanNumber").value(7005));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/dashboard - Should return 400 for an unknown section")
+  void shouldRejectUnknownSection() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/api/v1/dashboard")
+        .param("sections", "savings")
+        .with(jwt()
+          .jwt(jwt -> jwt.claim("email", SEED_EMAIL))
+          .authorities(() -> "ROLE_USER")
+        ))
+      .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/dashboard - Should return 401 when not authenticated")
+  void shouldReturn401WhenNotAuthenticated() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/api/v1/dashboard"))
+      .andExpect(status().isUnauthorized());
+  }
+}
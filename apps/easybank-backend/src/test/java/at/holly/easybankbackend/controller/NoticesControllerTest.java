@@ -0,0 +1,169 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.model.Notice;
+import at.holly.easybankbackend.repository.NoticeRepository;
+import at.holly.easybankbackend.service.NoticeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for NoticesController.
+ * Not transactional: the snapshot is rebuilt through the repository, so the test notice is committed
+ * and removed again afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("NoticesController Integration Tests")
+class NoticesControllerTest {
+
+  private static final long TEST_NOTICE_ID = 99001L;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private NoticeRepository noticeRepository;
+
+  @Autowired
+  private NoticeService noticeService;
+
+  @BeforeEach
+  void setUp() {
+    noticeRepository.save(Notice.builder()
+        .noticeId(TEST_NOTICE_ID)
+        .noticeSummary("Snapshot Notice")
+        .noticeDetails("Served from memory")
+        .noticBegDt(Date.valueOf(LocalDate.now().minusDays(1)))
+        .noticEndDt(Date.valueOf(LocalDate.now().plusDays(1)))
+        .build());
+    noticeService.refreshSnapshot();
+  }
+
+  @AfterEach
+  void tearDown() {
+    noticeRepository.deleteById(TEST_NOTICE_ID);
+    noticeService.refreshSnapshot();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/notices - Should return active notices with ETag and Cache-Control")
+  void shouldReturnNoticesWithCacheHeaders() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/api/v1/notices"))
+      .andExpect(status().isOk())
+      .andExpect(header().exists(HttpHeaders.ETAG))
+      .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+      .andExpect(jsonPath("$.content[0].noticeId").value(TEST_NOTICE_ID))
+      .andExpect(jsonPath("$.totalElements").value(1));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/notices - Should return 304 when If-None-Match matches")
+  void shouldReturnNotModifiedForMatchingETag() throws Exception {
+    // Given
+    String etag = mockMvc.perform(get("/api/v1/notices"))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/notices").header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isNotModified())
+      .andExpect(header().string(HttpHeaders.ETAG, etag))
+      .andExpect(content().string(""));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/notices - Should issue a new ETag after the notices change")
+  void shouldChangeETagWhenNoticesChange() throws Exception {
+    // Given
+    String before = mockMvc.perform(get("/api/v1/notices"))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // When
+    Notice notice = noticeRepository.findById(TEST_NOTICE_ID).orElseThrow();
+    notice.setNoticeSummary("Updated Snapshot Notice");
+    noticeRepository.save(notice);
+    noticeService.refreshSnapshot();
+
+    // Then
+    mockMvc.perform(get("/api/v1/notices").header(HttpHeaders.IF_NONE_MATCH, before))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content[0].noticeSummary").value("Updated Snapshot Notice"));
+    String after = mockMvc.perform(get("/api/v1/notices"))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(after).isNotEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/notices - Should return 400 for an unknown sort property")
+  void shouldRejectUnknownSortProperty() throws Exception {
+    // When & Then
+    mockMvc.perform(get("/api/v1/notices").param("sort", "createDt"))
+      .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/notices - Should serve gzip bytes with their own ETag when accepted")
+  void shouldServeGzipWhenAccepted() throws Exception {
+    // Given
+    MockHttpServletResponse identity = mockMvc.perform(get("/api/v1/notices"))
+      .andReturn().getResponse();
+
+    // When
+    MockHttpServletResponse gzip = mockMvc.perform(get("/api/v1/notices")
+        .header(HttpHeaders.ACCEPT_ENCODING, "deflate;q=0.5, gzip"))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+      .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+      .andReturn().getResponse();
+
+    // Then
+    byte[] decompressed = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray())).readAllBytes();
+    assertThat(decompressed).isEqualTo(identity.getContentAsByteArray());
+    assertThat(gzip.getHeader(HttpHeaders.ETAG)).isNotEqualTo(identity.getHeader(HttpHeaders.ETAG));
+
+    mockMvc.perform(get("/api/v1/notices")
+        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+        .header(HttpHeaders.IF_NONE_MATCH, gzip.getHeader(HttpHeaders.ETAG)))
+      .andExpect(status().isNotModified());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/notices - Should serve deflate bytes when preferred")
+  void shouldServeDeflateWhenPreferred() throws Exception {
+    // Given
+    MockHttpServletResponse identity = mockMvc.perform(get("/api/v1/notices"))
+      .andReturn().getResponse();
+
+    // When
+    MockHttpServletResponse deflate = mockMvc.perform(get("/api/v1/notices")
+        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0.2, deflate"))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "deflate"))
+      .andReturn().getResponse();
+
+    // Then
+    byte[] decompressed = new InflaterInputStream(new ByteArrayInputStream(deflate.getContentAsByteArray())).readAllBytes();
+    assertThat(decompressed).isEqualTo(identity.getContentAsByteArray());
+  }
+}
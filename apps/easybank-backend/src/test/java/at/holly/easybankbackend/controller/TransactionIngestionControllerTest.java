@@ -0,0 +1,202 @@
+package at.holly.easybankbackend.controller;
+
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.model.AccountBalance;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.repository.AccountBalanceRepository;
+import at.holly.easybankbackend.service.AccountBalanceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for TransactionIngestionController.
+ * A chunk size of 2 makes every request span several chunk transactions.
+ */
+@SpringBootTest(properties = "easybank.ingestion.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("TransactionIngestionController Integration Tests")
+class TransactionIngestionControllerTest {
+
+  private static final String URL = "/api/v1/internal/transactions:batch";
+  private static final long USER_ID = 700L;
+  private static final long OTHER_USER_ID = 701L;
+  private static final long ACCOUNT = 70000001L;
+  private static final long SECOND_ACCOUNT = 70000002L;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private AccountBalanceService accountBalanceService;
+
+  @Autowired
+  private AccountBalanceRepository accountBalanceRepository;
+
+  @Test
+  @DisplayName("POST JSON array - Should write all items with closing balances in arrival order")
+  void shouldIngestJsonArray() throws Exception {
+    String body = "[" + String.join(",",
+        item(USER_ID, ACCOUNT, "2025-03-01", "CREDIT", "1000.00"),
+        item(USER_ID, ACCOUNT, "2025-03-02", "DEBIT", "250.00"),
+        item(USER_ID, SECOND_ACCOUNT, "2025-03-02", "CREDIT", "40.00"),
+        item(USER_ID, ACCOUNT, "2025-03-03", "CREDIT", "100.00"),
+        item(USER_ID, ACCOUNT, "2025-03-04", "DEBIT", "50.50")) + "]";
+
+    mockMvc.perform(ingest(body, MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.received").value(5))
+      .andExpect(jsonPath("$.accepted").value(5))
+      .andExpect(jsonPath("$.rejected").value(0))
+      .andExpect(jsonPath("$.complete").value(true));
+
+    assertThat(closingBalances(ACCOUNT)).containsExactly(
+        new BigDecimal("1000.00"), new BigDecimal("750.00"), new BigDecimal("850.00"), new BigDecimal("799.50"));
+    assertThat(closingBalances(SECOND_ACCOUNT)).containsExactly(new BigDecimal("40.00"));
+
+    AccountBalance balance = accountBalanceRepository.findById(ACCOUNT).orElseThrow();
+    assertThat(balance.getCurrentBalance()).isEqualByComparingTo("799.50");
+    assertThat(balance.getTotalCredits()).isEqualByComparingTo("1100.00");
+    assertThat(balance.getTotalDebits()).isEqualByComparingTo("300.50");
+    assertThat(balance.getTransactionCount()).isEqualTo(4);
+    assertThat(accountBalanceService.verify(false).isConsistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("POST NDJSON - Should reject invalid items individually and continue from the current balance")
+  void shouldReportPartialFailures() throws Exception {
+    // Given - the account already holds 500, and the second account belongs to another user
+    accountBalanceService.recordTransaction(AccountTransaction.builder()
+        .accountNumber(ACCOUNT).userId(USER_ID).transactionDt(Date.valueOf(LocalDate.of(2025, 2, 1)))
+        .transactionSummary("Opening").transactionType(TransactionType.CREDIT)
+        .transactionAmt(new BigDecimal("500.00")).closingBalance(new BigDecimal("500.00"))
+        .createDt(Date.valueOf(LocalDate.now())).build());
+    accountBalanceService.recordTransaction(AccountTransaction.builder()
+        .accountNumber(SECOND_ACCOUNT).userId(OTHER_USER_ID).transactionDt(Date.valueOf(LocalDate.of(2025, 2, 1)))
+        .transactionSummary("Opening").transactionType(TransactionType.CREDIT)
+        .transactionAmt(new BigDecimal("10.00")).closingBalance(new BigDecimal("10.00"))
+        .createDt(Date.valueOf(LocalDate.now())).build());
+
+    String body = String.join("\n",
+        item(USER_ID, ACCOUNT, "2025-03-01", "DEBIT", "200.00"),
+        "{\"userId\":700,\"accountNumber\":70000001,\"transactionDt\":\"2025-03-02\",\"transactionSummary\":\"x\","
+            + "\"transactionType\":\"CREDIT\"}",
+        item(USER_ID, ACCOUNT, "2025-03-02", "CREDIT", "-5.00"),
+        "{\"userId\":700,\"transactionAmt\":\"abc\"}",
+        item(USER_ID, SECOND_ACCOUNT, "2025-03-02", "CREDIT", "1.00"),
+        item(USER_ID, ACCOUNT, "2025-03-03", "CREDIT", "25.00")) + "\n";
+
+    // When / Then
+    mockMvc.perform(ingest(body, MediaType.APPLICATION_NDJSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.received").value(6))
+      .andExpect(jsonPath("$.accepted").value(2))
+      .andExpect(jsonPath("$.rejected").value(4))
+      .andExpect(jsonPath("$.errors[0].index").value(1))
+      .andExpect(jsonPath("$.errors[0].message").value("transactionAmt: Transaction amount is required"))
+      .andExpect(jsonPath("$.errors[1].index").value(2))
+      .andExpect(jsonPath("$.errors[1].message").value("transactionAmt: Transaction amount must be positive"))
+      .andExpect(jsonPath("$.errors[2].index").value(3))
+      .andExpect(jsonPath("$.errors[2].message").value(containsString("Unreadable item")))
+      .andExpect(jsonPath("$.errors[3].index").value(4))
+      .andExpect(jsonPath("$.errors[3].message").value("Account 70000002 does not belong to user 700"));
+
+    assertThat(closingBalances(ACCOUNT)).containsExactly(
+        new BigDecimal("500.00"), new BigDecimal("300.00"), new BigDecimal("325.00"));
+    assertThat(accountBalanceService.verify(false).isConsistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("POST back-dated items - Should reject them so later chunks continue the balance chain")
+  void shouldRejectBackDatedItems() throws Exception {
+    // Given - chunk size 2: items 0-1 are the first chunk, 2-3 the second
+    String body = "[" + String.join(",",
+        item(USER_ID, ACCOUNT, "2025-10-15", "CREDIT", "100.00"),
+        item(USER_ID, ACCOUNT, "2025-10-10", "CREDIT", "50.00"),
+        item(USER_ID, ACCOUNT, "2025-10-12", "DEBIT", "5.00"),
+        item(USER_ID, ACCOUNT, "2025-10-16", "CREDIT", "10.00")) + "]";
+
+    // When / Then
+    mockMvc.perform(ingest(body, MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.accepted").value(2))
+      .andExpect(jsonPath("$.rejected").value(2))
+      .andExpect(jsonPath("$.errors[0].index").value(1))
+      .andExpect(jsonPath("$.errors[0].message").value(containsString("is before the latest transaction")))
+      .andExpect(jsonPath("$.errors[1].index").value(2));
+
+    assertThat(closingBalances(ACCOUNT)).containsExactly(new BigDecimal("100.00"), new BigDecimal("110.00"));
+    assertThat(accountBalanceRepository.findById(ACCOUNT).orElseThrow().getCurrentBalance())
+        .isEqualByComparingTo("110.00");
+  }
+
+  @Test
+  @DisplayName("POST malformed JSON - Should write the items before the error and answer 400")
+  void shouldStopAtMalformedJson() throws Exception {
+    String body = "[" + item(USER_ID, ACCOUNT, "2025-03-01", "CREDIT", "10.00") + ","
+        + item(USER_ID, ACCOUNT, "2025-03-02", "CREDIT", "20.00") + ",{\"userId\": 700, \"accountNumber\"";
+
+    mockMvc.perform(ingest(body, MediaType.APPLICATION_JSON))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.received").value(2))
+      .andExpect(jsonPath("$.accepted").value(2))
+      .andExpect(jsonPath("$.complete").value(false))
+      .andExpect(jsonPath("$.abortReason").value(containsString("Malformed JSON after item 2")));
+
+    assertThat(closingBalances(ACCOUNT)).containsExactly(new BigDecimal("10.00"), new BigDecimal("30.00"));
+  }
+
+  @Test
+  @DisplayName("POST without INGEST role - Should return 403 Forbidden")
+  void shouldRequireIngestRole() throws Exception {
+    mockMvc.perform(post(URL)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("[]")
+        .with(jwt().authorities(() -> "ROLE_USER")))
+      .andExpect(status().isForbidden());
+  }
+
+  private MockHttpServletRequestBuilder ingest(String body, MediaType contentType) {
+    return post(URL)
+        .contentType(contentType)
+        .content(body)
+        .with(jwt().authorities(() -> "ROLE_INGEST"));
+  }
+
+  private List<BigDecimal> closingBalances(long accountNumber) {
+    return jdbcTemplate.queryForList(
+        "SELECT closing_balance FROM account_transactions WHERE account_number = ? ORDER BY transaction_id",
+        BigDecimal.class, accountNumber);
+  }
+
+  private static String item(long userId, long accountNumber, String date, String type, String amount) {
+    return "{\"userId\":" + userId + ",\"accountNumber\":" + accountNumber + ",\"transactionDt\":\"" + date
+        + "\",\"transactionSummary\":\"Feed " + type + "\",\"transactionType\":\"" + type
+        + "\",\"transactionAmt\":" + amount + "}";
+  }
+}
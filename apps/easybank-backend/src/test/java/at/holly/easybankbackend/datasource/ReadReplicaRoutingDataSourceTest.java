@@ -0,0 +1,175 @@
+package at.holly.easybankbackend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReadReplicaRoutingDataSource.
+ * Primary and replica are two private in-memory H2 databases that answer "who are you" differently.
+ */
+@DisplayName("ReadReplicaRoutingDataSource Tests")
+class ReadReplicaRoutingDataSourceTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private JdbcTemplate primary;
+  private JdbcTemplate replica;
+  private ReadYourWrites readYourWrites;
+  private ReadReplicaRoutingDataSource routing;
+  private JdbcTemplate routed;
+  private TransactionTemplate readOnlyTransaction;
+  private TransactionTemplate readWriteTransaction;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    primary = database("primary");
+    replica = database("replica");
+    replica.execute("CREATE TABLE replica_lag (seconds INT)");
+    replica.update("INSERT INTO replica_lag VALUES (0)");
+
+    readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), Duration.ofSeconds(7));
+    routing = new ReadReplicaRoutingDataSource(primary.getDataSource(),
+        List.of(new ReadReplicaRoutingDataSource.Replica("replica-0", replica.getDataSource(), meterRegistry)),
+        readYourWrites, Duration.ofSeconds(5), "SELECT seconds FROM replica_lag", meterRegistry);
+    routing.checkReplicas();
+
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+    routed = new JdbcTemplate(dataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    readWriteTransaction = new TransactionTemplate(transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    primary.execute("SHUTDOWN");
+    replica.execute("SHUTDOWN");
+  }
+
+  @Test
+  @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+  void shouldRouteByTransactionType() {
+    // The proxy probes one connection for its defaults on first use
+    whoAmI();
+    double readWriteBefore = routes("primary", "read-write");
+
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("replica");
+    assertThat(whoAmI(readWriteTransaction)).isEqualTo("primary");
+    assertThat(whoAmI()).isEqualTo("primary");
+
+    assertThat(routes("replica-0", "read-only")).isEqualTo(1);
+    assertThat(routes("primary", "read-write") - readWriteBefore).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should fall back to the primary while the replica lags, and return once it catches up")
+  void shouldSkipLaggingReplica() {
+    // Given
+    replica.update("UPDATE replica_lag SET seconds = 60");
+
+    // When
+    routing.checkReplicas();
+
+    // Then
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("primary");
+    assertThat(routes("primary", "no-healthy-replica")).isEqualTo(1);
+    assertThat(meterRegistry.get("easybank.datasource.replica.lag").tag("replica", "replica-0").gauge().value())
+        .isEqualTo(60);
+    assertThat(meterRegistry.get("easybank.datasource.replica.healthy").tag("replica", "replica-0").gauge().value())
+        .isZero();
+
+    // When - caught up again
+    replica.update("UPDATE replica_lag SET seconds = 1");
+    routing.checkReplicas();
+
+    // Then
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("replica");
+  }
+
+  @Test
+  @DisplayName("Should treat a replica whose health check fails as unhealthy")
+  void shouldSkipUnreachableReplica() {
+    // Given - lag query can no longer run
+    replica.execute("DROP TABLE replica_lag");
+
+    // When
+    routing.checkReplicas();
+
+    // Then
+    assertThat(routing.getReplicas().getFirst().isHealthy()).isFalse();
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("primary");
+  }
+
+  @Test
+  @DisplayName("Should keep a user's reads on the primary right after their own write")
+  void shouldPinRecentWriters() {
+    // Given - alice just wrote
+    TestingAuthenticationToken alice = new TestingAuthenticationToken("alice", null, "ROLE_USER");
+    readYourWrites.recordWrite(alice);
+
+    // When / Then
+    SecurityContextHolder.getContext().setAuthentication(alice);
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("primary");
+    assertThat(routes("primary", "read-your-writes")).isEqualTo(1);
+
+    SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null, "ROLE_USER"));
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("replica");
+  }
+
+  @Test
+  @DisplayName("Should keep a user's reads on the primary while a change to their data may be missing on replicas")
+  void shouldPinUsersWithRecentChanges() {
+    // Given - carol's data changed 10 s ago, alice's 2 s ago (replicas may be up to 7 s behind)
+    TestingAuthenticationToken carol = new TestingAuthenticationToken("carol", null, "ROLE_USER");
+    SecurityContextHolder.getContext().setAuthentication(carol);
+    readYourWrites.recordChange(Duration.ofSeconds(10));
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("replica");
+
+    // When
+    TestingAuthenticationToken alice = new TestingAuthenticationToken("alice", null, "ROLE_USER");
+    SecurityContextHolder.getContext().setAuthentication(alice);
+    readYourWrites.recordChange(Duration.ofSeconds(2));
+
+    // Then
+    assertThat(whoAmI(readOnlyTransaction)).isEqualTo("primary");
+    assertThat(routes("primary", "read-your-writes")).isEqualTo(1);
+  }
+
+  private String whoAmI() {
+    return routed.queryForObject("SELECT name FROM source", String.class);
+  }
+
+  private String whoAmI(TransactionTemplate transaction) {
+    return transaction.execute(status -> whoAmI());
+  }
+
+  private double routes(String target, String reason) {
+    return meterRegistry.get("easybank.datasource.route").tag("target", target).tag("reason", reason).counter().count();
+  }
+
+  private static JdbcTemplate database(String name) {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(
+        new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    jdbcTemplate.execute("CREATE TABLE source (name VARCHAR(20))");
+    jdbcTemplate.update("INSERT INTO source VALUES (?)", name);
+    return jdbcTemplate;
+  }
+}
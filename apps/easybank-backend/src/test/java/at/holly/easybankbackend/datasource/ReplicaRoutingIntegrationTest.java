@@ -0,0 +1,113 @@
+package at.holly.easybankbackend.datasource;
+
+import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.repository.UserRepository;
+import at.holly.easybankbackend.service.UserDataVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for read replica routing.
+ * A second connection pool onto the in-memory test database stands in for the replica, so the
+ * data is identical and routing is observed through the route metrics.
+ */
+@SpringBootTest(properties = {
+    "easybank.datasource.replica.urls=jdbc:h2:mem:testdb",
+    "easybank.datasource.replica.lag-query=SELECT 0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Replica Routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private UserDataVersions userDataVersions;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  @DisplayName("GET /api/v1/myAccount - Should read an existing user's data from the replica")
+  void shouldServeReadsFromReplica() throws Exception {
+    // Given
+    User user = new User();
+    user.setEmail("replica.reader@example.com");
+    user.setName("Replica Reader");
+    user.setCreateDt(Date.valueOf(LocalDate.now()));
+    userRepository.save(user);
+    double before = routes("replica-0", "read-only");
+
+    // When
+    mockMvc.perform(get("/api/v1/myAccount").with(user("replica-reader", "replica.reader@example.com")))
+      .andExpect(status().isOk());
+
+    // Then
+    assertThat(routes("replica-0", "read-only")).isGreaterThan(before);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myAccount - Should create a JIT user on the primary and keep their next reads there")
+  void shouldReadYourWritesAfterProvisioning() throws Exception {
+    // Given - first request provisions the user
+    mockMvc.perform(get("/api/v1/myAccount").with(user("replica-new-user", "replica.new@example.com")))
+      .andExpect(status().isOk());
+    assertThat(userRepository.findByEmail("replica.new@example.com")).isPresent();
+    double pinnedBefore = routes("primary", "read-your-writes");
+
+    // When
+    mockMvc.perform(get("/api/v1/myAccount").with(user("replica-new-user", "replica.new@example.com")))
+      .andExpect(status().isOk());
+
+    // Then
+    assertThat(routes("primary", "read-your-writes")).isGreaterThan(pinnedBefore);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/myLoans - Should read from the primary while the data version is younger than the replica lag")
+  void shouldKeepFreshlyChangedDataOnPrimary() throws Exception {
+    // Given - a first poll caches the identity; then the seed user's loans are changed by someone else
+    mockMvc.perform(get("/api/v1/myLoans").with(user("replica-diana", "diana.dawson@example.com")))
+      .andExpect(status().isOk());
+    long userId = userRepository.findByEmail("diana.dawson@example.com").orElseThrow().getId();
+    userDataVersions.bump(userId, UserDataVersions.Resource.LOANS);
+    double pinnedBefore = routes("primary", "read-your-writes");
+
+    // When
+    mockMvc.perform(get("/api/v1/myLoans").with(user("replica-diana", "diana.dawson@example.com")))
+      .andExpect(status().isOk());
+
+    // Then - the page behind the new ETag came from the primary
+    assertThat(routes("primary", "read-your-writes")).isGreaterThan(pinnedBefore);
+  }
+
+  private double routes(String target, String reason) {
+    return meterRegistry.get("easybank.datasource.route").tag("target", target).tag("reason", reason).counter().count();
+  }
+
+  private static RequestPostProcessor user(String subject, String email) {
+    return jwt()
+      .jwt(jwt -> jwt.subject(subject).claim("email", email))
+      .authorities(() -> "ROLE_USER");
+  }
+}
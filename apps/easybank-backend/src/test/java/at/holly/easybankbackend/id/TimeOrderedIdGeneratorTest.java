@@ -0,0 +1,188 @@
+package at.holly.easybankbackend.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TimeOrderedIdGenerator.
+ */
+@DisplayName("TimeOrderedIdGenerator Tests")
+class TimeOrderedIdGeneratorTest {
+
+  @Test
+  @DisplayName("Should keep the prefix and a fixed-width Crockford base32 key")
+  void shouldFormatWithPrefix() {
+    // Given
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+
+    // When
+    String id = generator.nextId("SR-");
+
+    // Then
+    assertThat(id).matches("SR-[G-HJKMNP-Q][0-9A-HJKMNP-TV-Z]{12}");
+  }
+
+  @Test
+  @DisplayName("Should sort after digit-led legacy ids")
+  void shouldSortAfterLegacyIds() {
+    // Given - the earliest possible key
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, fixedClock(Instant.ofEpochMilli(TimeOrderedIdGenerator.EPOCH_MILLIS)));
+
+    // When
+    String id = generator.nextId("TXN-");
+
+    // Then
+    assertThat(id).startsWith("TXN-G00000000000").isGreaterThan("TXN-9999999999999");
+  }
+
+  @Test
+  @DisplayName("Should produce ids that sort as strings in generation order")
+  void shouldSortInGenerationOrder() {
+    // Given
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+
+    // When
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      ids.add(generator.nextId("TXN-"));
+    }
+
+    // Then
+    assertThat(ids).isSorted().doesNotHaveDuplicates();
+  }
+
+  @Test
+  @DisplayName("Should borrow the next millisecond when the sequence is exhausted")
+  void shouldCarrySequenceOverflow() {
+    // Given - a frozen clock, so every id falls into the same millisecond
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, fixedClock(Instant.parse("2026-10-17T00:00:00Z")));
+
+    // When
+    long previous = -1;
+    for (int i = 0; i < 3 * (1 << TimeOrderedIdGenerator.SEQUENCE_BITS); i++) {
+      long next = generator.nextLong();
+
+      // Then
+      assertThat(next).isGreaterThan(previous);
+      previous = next;
+    }
+  }
+
+  @Test
+  @DisplayName("Should stay monotonic when the wall clock steps backwards")
+  void shouldSurviveClockStepBack() {
+    // Given
+    AtomicLong millis = new AtomicLong(Instant.parse("2026-10-17T12:00:00Z").toEpochMilli());
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, steppingClock(millis));
+    String before = generator.nextId("SR-");
+
+    // When
+    millis.addAndGet(-5_000);
+    String after = generator.nextId("SR-");
+
+    // Then
+    assertThat(after).isGreaterThan(before);
+  }
+
+  @Test
+  @DisplayName("Should never hand out the same id to concurrent callers")
+  void shouldBeUniqueUnderConcurrency() throws Exception {
+    // Given
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(9);
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    int threads = 4;
+    int perThread = 50_000;
+
+    // When
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < perThread; i++) {
+            ids.add(generator.nextId("TXN-"));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    // Then
+    assertThat(ids).hasSize(threads * perThread);
+  }
+
+  @Test
+  @DisplayName("Should keep ids of different nodes apart in the same millisecond")
+  void shouldSeparateNodes() {
+    // Given
+    Clock clock = fixedClock(Instant.parse("2026-10-17T00:00:00Z"));
+    TimeOrderedIdGenerator nodeOne = new TimeOrderedIdGenerator(1, clock);
+    TimeOrderedIdGenerator nodeTwo = new TimeOrderedIdGenerator(2, clock);
+
+    // When
+    Set<String> ids = new HashSet<>();
+    for (int i = 0; i < 1_000; i++) {
+      ids.add(nodeOne.nextId("SR-"));
+      ids.add(nodeTwo.nextId("SR-"));
+    }
+
+    // Then
+    assertThat(ids).hasSize(2_000);
+  }
+
+  @Test
+  @DisplayName("Should reject node ids outside the 10-bit range")
+  void shouldRejectInvalidNodeId() {
+    assertThatThrownBy(() -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should fail fast when no node id is configured")
+  void shouldRequireNodeId() {
+    assertThatThrownBy(() -> new TimeOrderedIdGenerator(null))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("easybank.id.node-id");
+  }
+
+  private static Clock fixedClock(Instant instant) {
+    return Clock.fixed(instant, ZoneOffset.UTC);
+  }
+
+  private static Clock steppingClock(AtomicLong millis) {
+    return new Clock() {
+      @Override
+      public ZoneOffset getZone() {
+        return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone(ZoneId zone) {
+        return this;
+      }
+
+      @Override
+      public Instant instant() {
+        return Instant.ofEpochMilli(millis.get());
+      }
+    };
+  }
+}
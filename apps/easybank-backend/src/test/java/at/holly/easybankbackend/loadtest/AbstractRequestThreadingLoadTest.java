@@ -0,0 +1,148 @@
+package at.holly.easybankbackend.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test comparing request throughput on platform vs virtual request threads
+ * while every database access is slowed down by an injected latency.
+ * <p>
+ * The latency is added after a pooled connection has been acquired, so it behaves like a slow
+ * query: the request thread blocks and the connection is held. With platform threads the
+ * Tomcat pool ({@link #TOMCAT_MAX_THREADS}) caps throughput at maxThreads / latency; with
+ * virtual threads only the connection pool ({@link #POOL_SIZE}) does.
+ * <p>
+ * Tagged "load" and excluded from the default build - run with {@code mvn test -Pload-test}.
+ */
+@ActiveProfiles("test")
+@Import(AbstractRequestThreadingLoadTest.DatabaseLatencyConfig.class)
+@Tag("load")
+abstract class AbstractRequestThreadingLoadTest {
+
+    static final int TOMCAT_MAX_THREADS = 10;
+    static final int POOL_SIZE = 100;
+    static final Duration DB_LATENCY = Duration.ofMillis(500);
+    static final int REQUESTS = 200;
+
+    static final String COMMON_PROPERTIES = "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS;
+    // The test profile logs SQL and security at TRACE - console output would dominate the measurement
+    static final String QUIET_ROOT_LOG = "logging.level.root=WARN";
+    static final String QUIET_SECURITY_LOG = "logging.level.org.springframework.security=WARN";
+    static final String QUIET_SQL_LOG = "spring.jpa.show-sql=false";
+    static final String POOL_PROPERTIES = "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE;
+
+    /**
+     * Upper bound on throughput when every request occupies a platform thread for DB_LATENCY
+     */
+    static final double PLATFORM_CEILING = TOMCAT_MAX_THREADS * 1000.0 / DB_LATENCY.toMillis();
+
+    @LocalServerPort
+    private int port;
+
+    /**
+     * @return requests per second achieved for {@link #REQUESTS} concurrent requests
+     */
+    protected LoadResult runLoad() throws Exception {
+        // Warm up (class loading, JIT, Hibernate query plans)
+        fire(TOMCAT_MAX_THREADS);
+        return fire(REQUESTS);
+    }
+
+    private LoadResult fire(int requests) throws Exception {
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/notices"))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                long sent = System.nanoTime();
+                futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> new long[]{response.statusCode(), System.nanoTime() - sent}));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            long elapsedNanos = System.nanoTime() - start;
+
+            long failures = futures.stream().filter(f -> f.join()[0] != 200).count();
+            long[] latencies = futures.stream().mapToLong(f -> f.join()[1]).sorted().toArray();
+            return new LoadResult(requests, failures, elapsedNanos, latencies);
+        }
+    }
+
+    protected void report(String mode, LoadResult result) {
+        System.out.printf("[load] %-8s requests=%d failures=%d throughput=%.0f req/s p50=%d ms p99=%d ms "
+                + "(platform ceiling %.0f req/s)%n",
+            mode, result.requests(), result.failures(), result.throughput(),
+            result.percentileMillis(50), result.percentileMillis(99), PLATFORM_CEILING);
+    }
+
+    record LoadResult(int requests, long failures, long elapsedNanos, long[] latencies) {
+
+        double throughput() {
+            return requests * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        long percentileMillis(int percentile) {
+            int index = Math.min(latencies.length - 1, (int) Math.ceil(percentile / 100.0 * latencies.length) - 1);
+            return Duration.ofNanos(latencies[Math.max(index, 0)]).toMillis();
+        }
+    }
+
+    /**
+     * Wraps the DataSource so every connection checkout blocks for DB_LATENCY while holding the connection
+     */
+    @TestConfiguration
+    static class DatabaseLatencyConfig {
+
+        @Bean
+        static BeanPostProcessor databaseLatencyInjector() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                Connection connection = super.getConnection();
+                                try {
+                                    Thread.sleep(DB_LATENCY);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                return connection;
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    abstract void shouldServeConcurrentRequests() throws Exception;
+}
@@ -0,0 +1,125 @@
+package at.holly.easybankbackend.loadtest;
+
+import at.holly.easybankbackend.repository.UserRepository;
+import at.holly.easybankbackend.support.LocalJwks;
+import at.holly.easybankbackend.support.LocalJwks.TestUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for the authenticated path with real signed tokens.
+ * <p>
+ * {@link #USERS} distinct users are minted by the LocalJwks kit and call /api/v1/user twice:
+ * the first pass verifies every token and JIT-provisions every user, the second pass runs
+ * against the verified-token and identity caches.
+ * <p>
+ * Tagged "load" and excluded from the default build - run with {@code mvn test -Pload-test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "perf"})
+@Tag("load")
+@DisplayName("Load Test - Authenticated Requests")
+class AuthenticatedLoadTest {
+
+    static final int USERS = 2_000;
+    static final int IN_FLIGHT = 64;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<TestUser> users = List.of();
+
+    @DynamicPropertySource
+    static void jwks(DynamicPropertyRegistry registry) {
+        LocalJwks.shared().register(registry);
+    }
+
+    @AfterEach
+    void removeProvisionedUsers() {
+        users.forEach(user -> userRepository.findByEmail(user.email()).ifPresent(userRepository::delete));
+    }
+
+    @Test
+    @DisplayName("Should provision and then serve thousands of distinct token holders")
+    void shouldServeDistinctUsers() throws Exception {
+        // Given - signing happens up front, outside the measured phase
+        LocalJwks jwks = LocalJwks.shared();
+        users = jwks.users("load", USERS, "USER");
+        List<String> tokens = jwks.mintAll(users);
+        long usersBefore = userRepository.count();
+
+        // When
+        Pass provisioning = fire(tokens);
+        Pass warm = fire(tokens);
+        System.out.printf("[load] authenticated users=%d provisioning=%.0f req/s warm=%.0f req/s jwks-fetches=%d%n",
+            USERS, provisioning.throughput(), warm.throughput(), jwks.jwksRequests());
+
+        // Then
+        assertThat(provisioning.failures()).isZero();
+        assertThat(warm.failures()).isZero();
+        assertThat(userRepository.count() - usersBefore).isEqualTo(USERS);
+        assertThat(warm.throughput()).isGreaterThan(provisioning.throughput());
+    }
+
+    private Pass fire(List<String> tokens) throws Exception {
+        Semaphore inFlight = new Semaphore(IN_FLIGHT);
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .build();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/user");
+
+            long start = System.nanoTime();
+            List<CompletableFuture<Integer>> futures = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                inFlight.acquire();
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+                futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(HttpResponse::statusCode)
+                    .whenComplete((status, error) -> inFlight.release()));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            long elapsedNanos = System.nanoTime() - start;
+
+            long failures = futures.stream().filter(f -> f.join() != 200).count();
+            return new Pass(tokens.size(), failures, elapsedNanos);
+        }
+    }
+
+    record Pass(int requests, long failures, long elapsedNanos) {
+
+        double throughput() {
+            return requests * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package at.holly.easybankbackend.loadtest;
+
+import at.holly.easybankbackend.dto.AccountTransactionDto;
+import at.holly.easybankbackend.mapper.AccountTransactionMapper;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.repository.AccountTransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read cost of a 1,000-row transaction page: managed entities + mapper vs a constructor-expression
+ * projection straight into {@link AccountTransactionDto}.
+ * <p>
+ * Both paths run the same WHERE clause in a read-only transaction, like the services do. Measures
+ * mean latency and bytes allocated by the calling thread (H2 runs in-process, so its allocations
+ * are included on both sides).
+ * <p>
+ * Tagged "load" and excluded from the default build - run with {@code mvn test -Pload-test}.
+ */
+@SpringBootTest(properties = {"logging.level.root=WARN", "logging.level.org.springframework.security=WARN",
+    "spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=false"})
+@ActiveProfiles("test")
+@Tag("load")
+@DisplayName("Load Test - DTO Projection")
+class DtoProjectionLoadTest {
+
+    static final long USER_ID = 900_001L;
+    static final int ROWS = 1_000;
+    static final int WARMUP = 200;
+    static final int ITERATIONS = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountTransactionMapper accountTransactionMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should read a 1,000-row page faster and with fewer allocations via DTO projection")
+    void shouldCompareEntityAndProjectionReads() {
+        // Given
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Supplier<List<AccountTransactionDto>> entityPath = () -> readOnly.execute(status ->
+            accountTransactionMapper.toDtoList(entityManager
+                .createQuery("SELECT t FROM AccountTransaction t WHERE t.userId = :userId", AccountTransaction.class)
+                .setParameter("userId", USER_ID)
+                .getResultList()));
+        Supplier<List<AccountTransactionDto>> projectionPath = () -> readOnly.execute(status ->
+            entityManager.createQuery(AccountTransactionRepository.TRANSACTION_DTO, AccountTransactionDto.class)
+                .setParameter("userId", USER_ID)
+                .getResultList());
+        assertThat(entityPath.get()).hasSize(ROWS);
+        assertThat(projectionPath.get()).hasSize(ROWS);
+
+        // When - alternate warm-up so both paths are JIT-compiled before either is measured
+        for (int i = 0; i < WARMUP; i++) {
+            entityPath.get();
+            projectionPath.get();
+        }
+        Measurement entity = measure(entityPath);
+        Measurement projection = measure(projectionPath);
+        System.out.printf("[load] dto-projection rows=%d entity=%.2f ms %.0f KB projection=%.2f ms %.0f KB "
+                + "(latency x%.2f, allocation x%.2f)%n",
+            ROWS, entity.millis(), entity.kilobytes(), projection.millis(), projection.kilobytes(),
+            entity.millis() / projection.millis(), entity.kilobytes() / projection.kilobytes());
+
+        // Then
+        assertThat(projection.kilobytes()).isLessThan(entity.kilobytes());
+    }
+
+    private void seed() {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{String.format("TXN-LOAD%06d", i), USER_ID, USER_ID, Date.valueOf(day.plusDays(i % 365)),
+                "Load test transaction " + i, i % 2 == 0 ? "CREDIT" : "DEBIT", new BigDecimal("12.34"),
+                new BigDecimal("1000.00"), Date.valueOf(day)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO account_transactions (transaction_id, account_number, user_id, "
+            + "transaction_dt, transaction_summary, transaction_type, transaction_amt, closing_balance, create_dt) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static Measurement measure(Supplier<List<AccountTransactionDto>> path) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        return new Measurement(elapsed / 1e6 / ITERATIONS, bytes / 1024.0 / ITERATIONS);
+    }
+
+    private record Measurement(double millis, double kilobytes) {
+    }
+}
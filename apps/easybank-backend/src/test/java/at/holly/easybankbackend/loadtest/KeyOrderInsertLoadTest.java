@@ -0,0 +1,100 @@
+package at.holly.easybankbackend.loadtest;
+
+import at.holly.easybankbackend.id.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput with random vs time-ordered string primary keys.
+ * <p>
+ * Rows go into a file-backed H2 table with a deliberately small page cache, so the primary key
+ * index outgrows memory the way a large InnoDB clustered index does: random keys land on random
+ * pages (evictions and page splits everywhere), ordered keys always append to the rightmost page.
+ * Also counts collisions of the old {@code "SR-" + 8 hex chars} scheme at the same volume.
+ * <p>
+ * Tagged "load" and excluded from the default build - run with {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+@DisplayName("Load Test - Primary Key Order")
+class KeyOrderInsertLoadTest {
+
+    static final int ROWS = 300_000;
+    static final int BATCH_SIZE = 500;
+    static final String CACHE_SIZE_KB = "2048";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should insert time-ordered keys at least as fast as random keys")
+    void shouldCompareInsertThroughput() throws Exception {
+        // Given
+        TimeOrderedIdGenerator ordered = new TimeOrderedIdGenerator(1);
+
+        // When - warm up the JIT and driver before either measured run
+        insert("warmup", () -> ordered.nextId("SR-"), 20_000);
+        double randomRate = insert("random", () -> "SR-" + UUID.randomUUID(), ROWS);
+        double orderedRate = insert("ordered", () -> ordered.nextId("SR-"), ROWS);
+        int legacyCollisions = legacyCollisions();
+        System.out.printf("[load] pk-order rows=%d random=%.0f rows/s ordered=%.0f rows/s (x%.2f) "
+                + "legacy SR-xxxxxxxx collisions=%d%n",
+            ROWS, randomRate, orderedRate, orderedRate / randomRate, legacyCollisions);
+
+        // Then
+        assertThat(orderedRate).isGreaterThan(randomRate * 0.9);
+    }
+
+    private double insert(String name, Supplier<String> keys, int rows) throws SQLException {
+        String url = "jdbc:h2:file:" + tempDir.resolve(name).toAbsolutePath() + ";CACHE_SIZE=" + CACHE_SIZE_KB;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE contact_messages (contact_id VARCHAR(50) PRIMARY KEY, "
+                    + "contact_name VARCHAR(100), contact_email VARCHAR(100), subject VARCHAR(500), "
+                    + "message VARCHAR(2000), create_dt DATE)");
+            }
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO contact_messages VALUES (?, 'Load Test', 'load@easybank.test', "
+                    + "'Support Request', 'I need help with my account', CURRENT_DATE)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setString(1, keys.get());
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            return rows * 1_000_000_000.0 / (System.nanoTime() - start);
+        }
+    }
+
+    private static int legacyCollisions() {
+        Set<String> seen = new HashSet<>();
+        int collisions = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (!seen.add("SR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())) {
+                collisions++;
+            }
+        }
+        return collisions;
+    }
+}
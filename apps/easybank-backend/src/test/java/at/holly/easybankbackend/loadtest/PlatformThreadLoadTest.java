@@ -0,0 +1,37 @@
+package at.holly.easybankbackend.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Baseline: bounded Tomcat platform thread pool under injected DB latency.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        AbstractRequestThreadingLoadTest.COMMON_PROPERTIES,
+        AbstractRequestThreadingLoadTest.POOL_PROPERTIES,
+        AbstractRequestThreadingLoadTest.QUIET_ROOT_LOG,
+        AbstractRequestThreadingLoadTest.QUIET_SECURITY_LOG,
+        AbstractRequestThreadingLoadTest.QUIET_SQL_LOG,
+        "spring.threads.virtual.enabled=false"
+    })
+@DisplayName("Load Test - Platform Threads")
+class PlatformThreadLoadTest extends AbstractRequestThreadingLoadTest {
+
+    @Test
+    @DisplayName("Should saturate the Tomcat thread pool under injected DB latency")
+    @Override
+    void shouldServeConcurrentRequests() throws Exception {
+        // When
+        LoadResult result = runLoad();
+        report("platform", result);
+
+        // Then - requests queue behind the bounded pool
+        assertThat(result.failures()).isZero();
+        assertThat(result.throughput()).isLessThanOrEqualTo(PLATFORM_CEILING * 1.1);
+    }
+}
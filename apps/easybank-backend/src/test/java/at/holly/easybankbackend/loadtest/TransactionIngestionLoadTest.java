@@ -0,0 +1,110 @@
+package at.holly.easybankbackend.loadtest;
+
+import at.holly.easybankbackend.dto.IngestionReport;
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.service.AccountBalanceService;
+import at.holly.easybankbackend.service.TransactionIngestionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write throughput of the bulk ingestion path vs one recordTransaction call per row.
+ * <p>
+ * Both paths write the same feed shape - rows spread over a handful of accounts, every row updating
+ * its account's balance summary. The per-row path pays a transaction, a lock and two statements per
+ * row; the ingestion path pays them once per chunk and sends the inserts as one JDBC batch. Reports
+ * rows/sec for both.
+ * <p>
+ * H2 batches but does not rewrite into multi-row INSERTs the way MySQL's rewriteBatchedStatements
+ * does, so the gap here understates production.
+ * <p>
+ * Tagged "load" and excluded from the default build - run with {@code mvn test -Pload-test}.
+ */
+@SpringBootTest(properties = {"logging.level.root=WARN", "logging.level.org.springframework.security=WARN",
+    "spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=false",
+    "easybank.ingestion.chunk-size=500"})
+@ActiveProfiles("test")
+@Tag("load")
+@DisplayName("Load Test - Bulk Transaction Ingestion")
+class TransactionIngestionLoadTest {
+
+    static final long USER_ID = 900_101L;
+    static final long FIRST_ACCOUNT = 90_010_100L;
+    static final int ACCOUNTS = 8;
+    static final int WARMUP_ROWS = 2_000;
+    static final int ROWS = 20_000;
+
+    @Autowired
+    private TransactionIngestionService transactionIngestionService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Test
+    @DisplayName("Should ingest a 20,000-row feed faster than writing row by row")
+    void shouldCompareBatchedAndPerRowWrites() throws Exception {
+        // Given - warm both paths on their own accounts so the measured runs start from JIT-compiled code
+        ingest(FIRST_ACCOUNT + 100, WARMUP_ROWS);
+        recordOneByOne(FIRST_ACCOUNT + 200, WARMUP_ROWS);
+
+        // When
+        IngestionReport report = ingest(FIRST_ACCOUNT, ROWS);
+        long start = System.nanoTime();
+        recordOneByOne(FIRST_ACCOUNT + 300, ROWS);
+        double perRowSeconds = (System.nanoTime() - start) / 1e9;
+        double perRowRate = ROWS / perRowSeconds;
+        System.out.printf("[load] ingestion rows=%d batched=%.0f rows/s per-row=%.0f rows/s (x%.2f)%n",
+            ROWS, report.getRowsPerSecond(), perRowRate, report.getRowsPerSecond() / perRowRate);
+
+        // Then
+        assertThat(report.getAccepted()).isEqualTo(ROWS);
+        assertThat(report.getRejected()).isZero();
+        assertThat(report.getRowsPerSecond()).isGreaterThan(perRowRate);
+        assertThat(accountBalanceService.verify(false).isConsistent()).isTrue();
+    }
+
+    private IngestionReport ingest(long firstAccount, int rows) throws Exception {
+        StringBuilder body = new StringBuilder(rows * 190);
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            body.append("{\"userId\":").append(USER_ID)
+                .append(",\"accountNumber\":").append(firstAccount + i % ACCOUNTS)
+                .append(",\"transactionDt\":\"").append(day.plusDays(i / 100))
+                .append("\",\"transactionSummary\":\"Load feed ").append(i)
+                .append("\",\"transactionType\":\"").append(i % 3 == 0 ? "DEBIT" : "CREDIT")
+                .append("\",\"transactionAmt\":12.34}\n");
+        }
+        return transactionIngestionService.ingest(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void recordOneByOne(long firstAccount, int rows) {
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        Date today = Date.valueOf(LocalDate.now());
+        for (int i = 0; i < rows; i++) {
+            accountBalanceService.recordTransaction(AccountTransaction.builder()
+                .accountNumber(firstAccount + i % ACCOUNTS)
+                .userId(USER_ID)
+                .transactionDt(Date.valueOf(day.plusDays(i / 100)))
+                .transactionSummary("Load row " + i)
+                .transactionType(i % 3 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT)
+                .transactionAmt(new BigDecimal("12.34"))
+                .closingBalance(BigDecimal.ZERO)
+                .createDt(today)
+                .build());
+        }
+    }
+}
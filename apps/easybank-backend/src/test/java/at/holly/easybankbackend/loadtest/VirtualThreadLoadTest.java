@@ -0,0 +1,45 @@
+package at.holly.easybankbackend.loadtest;
+
+import at.holly.easybankbackend.concurrent.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Virtual request threads under the same injected DB latency as {@link PlatformThreadLoadTest}.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        AbstractRequestThreadingLoadTest.COMMON_PROPERTIES,
+        AbstractRequestThreadingLoadTest.POOL_PROPERTIES,
+        AbstractRequestThreadingLoadTest.QUIET_ROOT_LOG,
+        AbstractRequestThreadingLoadTest.QUIET_SECURITY_LOG,
+        AbstractRequestThreadingLoadTest.QUIET_SQL_LOG,
+        "spring.threads.virtual.enabled=true"
+    })
+@DisplayName("Load Test - Virtual Threads")
+class VirtualThreadLoadTest extends AbstractRequestThreadingLoadTest {
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Test
+    @DisplayName("Should exceed the platform thread ceiling under injected DB latency")
+    @Override
+    void shouldServeConcurrentRequests() throws Exception {
+        // Given
+        assertThat(pinningMonitor.isRunning()).isTrue();
+
+        // When
+        LoadResult result = runLoad();
+        report("virtual", result);
+
+        // Then - only the connection pool limits concurrency
+        assertThat(result.failures()).isZero();
+        assertThat(result.throughput()).isGreaterThan(PLATFORM_CEILING * 1.5);
+    }
+}
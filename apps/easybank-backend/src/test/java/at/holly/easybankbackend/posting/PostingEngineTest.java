@@ -0,0 +1,249 @@
+package at.holly.easybankbackend.posting;
+
+import at.holly.easybankbackend.dto.TransactionIngestItem;
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.exception.ServiceOverloadedException;
+import at.holly.easybankbackend.model.AccountBalance;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.repository.AccountBalanceRepository;
+import at.holly.easybankbackend.service.AccountBalanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for PostingEngine.
+ * Not transactional: postings commit on the engine's own threads, so the rows are removed afterwards.
+ */
+@SpringBootTest(properties = "easybank.posting.group-size=8")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("PostingEngine Integration Tests")
+class PostingEngineTest {
+
+  private static final long FIRST_ACCOUNT = 71_000_001L;
+  private static final long LAST_ACCOUNT = 71_000_099L;
+  private static final long USER_ID = 710L;
+  private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+  @Autowired
+  private PostingEngine postingEngine;
+
+  @Autowired
+  private AccountBalanceRepository accountBalanceRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM account_transactions WHERE account_number BETWEEN ? AND ?",
+        FIRST_ACCOUNT, LAST_ACCOUNT);
+    jdbcTemplate.update("DELETE FROM balance_summary WHERE account_number BETWEEN ? AND ?",
+        FIRST_ACCOUNT, LAST_ACCOUNT);
+  }
+
+  @Test
+  @DisplayName("Should keep every account's balance chain intact under 64 concurrent writers")
+  void shouldKeepBalanceChainsUnderConcurrentWriters() throws Exception {
+    // Given - 64 writers; every writer hits the 4 shared accounts and one account of its own
+    int writers = 64;
+    int postingsPerWriter = 40;
+    long[] hotAccounts = {FIRST_ACCOUNT, FIRST_ACCOUNT + 1, FIRST_ACCOUNT + 2, FIRST_ACCOUNT + 3};
+    CountDownLatch start = new CountDownLatch(1);
+    ConcurrentLinkedQueue<CompletableFuture<AccountTransaction>> postings = new ConcurrentLinkedQueue<>();
+    List<Future<?>> submitted = new ArrayList<>(writers);
+
+    // When
+    try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+      for (int w = 0; w < writers; w++) {
+        long ownAccount = FIRST_ACCOUNT + 10 + w;
+        submitted.add(executor.submit(() -> {
+          start.await();
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          for (int i = 0; i < postingsPerWriter; i++) {
+            long account = i % 2 == 0 ? hotAccounts[random.nextInt(hotAccounts.length)] : ownAccount;
+            TransactionType type = random.nextInt(3) == 0 ? TransactionType.DEBIT : TransactionType.CREDIT;
+            String amount = random.nextInt(1, 100_000) / 100 + "." + String.format("%02d", random.nextInt(100));
+            postings.add(postingEngine.submit(posting(USER_ID, account, DAY, type, amount)));
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : submitted) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    }
+    CompletableFuture.allOf(postings.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+    // Then - each account's rows, in posting order, chain from zero to its summary's current balance
+    assertThat(postings).hasSize(writers * postingsPerWriter);
+    List<Long> accounts = jdbcTemplate.queryForList(
+        "SELECT DISTINCT account_number FROM account_transactions WHERE account_number BETWEEN ? AND ?",
+        Long.class, FIRST_ACCOUNT, LAST_ACCOUNT);
+    assertThat(accounts).hasSize(hotAccounts.length + writers);
+    long rows = 0;
+    for (long account : accounts) {
+      List<Map<String, Object>> chain = jdbcTemplate.queryForList("SELECT transaction_type, transaction_amt, "
+          + "closing_balance FROM account_transactions WHERE account_number = ? ORDER BY transaction_id", account);
+      BigDecimal expected = BigDecimal.ZERO;
+      for (Map<String, Object> row : chain) {
+        BigDecimal amount = (BigDecimal) row.get("TRANSACTION_AMT");
+        expected = "CREDIT".equals(row.get("TRANSACTION_TYPE")) ? expected.add(amount) : expected.subtract(amount);
+        assertThat((BigDecimal) row.get("CLOSING_BALANCE")).as("closing balance of account %d", account)
+            .isEqualByComparingTo(expected);
+      }
+      AccountBalance summary = accountBalanceRepository.findById(account).orElseThrow();
+      assertThat(summary.getCurrentBalance()).isEqualByComparingTo(expected);
+      assertThat(summary.getTransactionCount()).isEqualTo(chain.size());
+      rows += chain.size();
+    }
+    assertThat(rows).isEqualTo((long) writers * postingsPerWriter);
+    assertThat(postingEngine.pending()).isZero();
+    assertThat(meterRegistry.get("easybank.posting.lanes").gauge().value()).isZero();
+    assertThat(meterRegistry.get("easybank.posting.group.size").summary().max()).isGreaterThan(1);
+  }
+
+  @Test
+  @DisplayName("Should reject postings to another user's account and back-dated postings")
+  void shouldRejectForeignAndBackDatedPostings() {
+    // Given
+    long account = FIRST_ACCOUNT + 90;
+    postingEngine.post(posting(USER_ID, account, DAY, TransactionType.CREDIT, "100.00"));
+
+    // When / Then
+    assertThatThrownBy(() -> postingEngine.post(posting(USER_ID + 1, account, DAY, TransactionType.CREDIT, "1.00")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Account 71000091 does not belong to user 711");
+    assertThatThrownBy(() -> postingEngine.post(
+        posting(USER_ID, account, DAY.minusDays(1), TransactionType.DEBIT, "1.00")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("is before the latest posting");
+    AccountTransaction next = postingEngine.post(posting(USER_ID, account, DAY, TransactionType.DEBIT, "30.00"));
+    assertThat(next.getClosingBalance()).isEqualByComparingTo("70.00");
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/internal/transactions - Should return 201 with the closing balance")
+  void shouldPostThroughEndpoint() throws Exception {
+    long account = FIRST_ACCOUNT + 91;
+    postingEngine.post(posting(USER_ID, account, DAY, TransactionType.CREDIT, "500.00"));
+
+    mockMvc.perform(post("/api/v1/internal/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"userId\":710,\"accountNumber\":" + account + ",\"transactionDt\":\"2025-06-02\","
+                + "\"transactionSummary\":\"ATM\",\"transactionType\":\"DEBIT\",\"transactionAmt\":120.50}")
+            .with(jwt().authorities(() -> "ROLE_INGEST")))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.accountNumber").value(account))
+        .andExpect(jsonPath("$.closingBalance").value(379.5));
+
+    mockMvc.perform(post("/api/v1/internal/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"userId\":999,\"accountNumber\":" + account + ",\"transactionDt\":\"2025-06-02\","
+                + "\"transactionSummary\":\"ATM\",\"transactionType\":\"DEBIT\",\"transactionAmt\":1}")
+            .with(jwt().authorities(() -> "ROLE_INGEST")))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("Should retire a lane whose drainer died, so later postings to the account still drain")
+  void shouldRetireLaneAfterDrainerError() throws Exception {
+    // Given - an engine whose first group write dies with an Error
+    AccountBalanceService balances = mock(AccountBalanceService.class);
+    long account = FIRST_ACCOUNT + 92;
+    when(balances.lockBalances(any()))
+        .thenThrow(new Error("boom"))
+        .thenReturn(Map.of(account, AccountBalance.builder().accountNumber(account).userId(USER_ID).build()));
+    PostingEngine engine = standaloneEngine(balances);
+    try {
+      // When / Then - the posting fails instead of hanging, and the lane is gone
+      assertThatThrownBy(() -> engine.submit(posting(USER_ID, account, DAY, TransactionType.CREDIT, "10.00"))
+          .get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+      assertThat(engine.pending()).isZero();
+
+      AccountTransaction next = engine.submit(posting(USER_ID, account, DAY, TransactionType.CREDIT, "10.00"))
+          .get(5, TimeUnit.SECONDS);
+      assertThat(next.getClosingBalance()).isEqualByComparingTo("10.00");
+    } finally {
+      engine.destroy();
+    }
+  }
+
+  @Test
+  @DisplayName("Should refuse postings with 503 once stopped, without keeping them queued")
+  void shouldRejectPostingsAfterDestroy() {
+    // Given
+    PostingEngine engine = standaloneEngine(mock(AccountBalanceService.class));
+    engine.destroy();
+
+    // When / Then
+    assertThatThrownBy(() -> engine.submit(posting(USER_ID, FIRST_ACCOUNT + 93, DAY, TransactionType.CREDIT, "1.00")))
+        .isInstanceOf(ServiceOverloadedException.class);
+    assertThat(engine.pending()).isZero();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static PostingEngine standaloneEngine(AccountBalanceService balances) {
+    return new PostingEngine(balances, prefix -> prefix + System.nanoTime(), mock(ObjectProvider.class),
+        mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 10, 8);
+  }
+
+  private static TransactionIngestItem posting(long userId, long account, LocalDate date, TransactionType type,
+                                               String amount) {
+    return TransactionIngestItem.builder()
+        .userId(userId)
+        .accountNumber(account)
+        .transactionDt(Date.valueOf(date))
+        .transactionSummary("Posting " + type)
+        .transactionType(type)
+        .transactionAmt(new BigDecimal(amount))
+        .build();
+  }
+}
@@ -0,0 +1,159 @@
+package at.holly.easybankbackend.ratelimit;
+
+import at.holly.easybankbackend.config.CachingJwtDecoder;
+import at.holly.easybankbackend.config.CorsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RateLimitFilter
+ */
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CachingJwtDecoder verifiedTokens;
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    verifiedTokens = mock(CachingJwtDecoder.class);
+    RateLimitProperties properties = new RateLimitProperties(true, 1024, 4, List.of(
+        new RateLimitProperties.Route("contact", List.of("/api/v1/contact"), RateLimitProperties.KeyType.IP, 2, 0.1),
+        new RateLimitProperties.Route("account-data", List.of("/api/v1/myBalance/**"), RateLimitProperties.KeyType.USER,
+            1, 0.1)));
+    filter = new RateLimitFilter(properties, new TokenBucketLimiter(1024, 4), verifiedTokens,
+        new CorsConfig().corsConfigurationSource(), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should reject with 429 and Retry-After once the IP bucket is exhausted")
+  void shouldRejectWhenExhausted() throws Exception {
+    // Given
+    assertThat(execute(request("/api/v1/contact", "10.0.0.1")).getStatus()).isEqualTo(200);
+    assertThat(execute(request("/api/v1/contact", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+    // When
+    MockHttpServletResponse response = execute(request("/api/v1/contact", "10.0.0.1"));
+
+    // Then - refill of 0.1/s means the next token is ten seconds away
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("10");
+    assertThat(response.getContentAsString()).contains("\"status\":\"429\"", "/api/v1/contact");
+    assertThat(meterRegistry.get("easybank.ratelimit.rejected").tag("route", "contact").counter().count())
+        .isEqualTo(1);
+    assertThat(execute(request("/api/v1/contact", "10.0.0.2")).getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  @DisplayName("Should not limit requests outside the configured routes")
+  void shouldPassUnmatchedRoutes() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      assertThat(execute(request("/api/v1/notices", "10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+  }
+
+  @Test
+  @DisplayName("Should key user routes by the subject of a verified token, shared across addresses")
+  void shouldKeyByVerifiedSubject() throws Exception {
+    // Given
+    when(verifiedTokens.getIfVerified("token-a")).thenReturn(jwt("alice"));
+    when(verifiedTokens.getIfVerified("token-b")).thenReturn(jwt("bob"));
+    MockHttpServletRequest first = request("/api/v1/myBalance/scroll", "10.0.0.1");
+    first.addHeader("Authorization", "Bearer token-a");
+    assertThat(execute(first).getStatus()).isEqualTo(200);
+
+    // When - same subject from another address, and another subject from the same address
+    MockHttpServletRequest sameUser = request("/api/v1/myBalance/scroll", "10.0.0.2");
+    sameUser.addHeader("Authorization", "Bearer token-a");
+    MockHttpServletRequest otherUser = request("/api/v1/myBalance/scroll", "10.0.0.1");
+    otherUser.addHeader("Authorization", "Bearer token-b");
+
+    // Then
+    assertThat(execute(sameUser).getStatus()).isEqualTo(429);
+    assertThat(execute(otherUser).getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  @DisplayName("Should fall back to the client IP for unverified tokens on user routes")
+  void shouldFallBackToIpForUnverifiedTokens() throws Exception {
+    // Given - tokens the cache has never verified
+    MockHttpServletRequest first = request("/api/v1/myBalance/scroll", "10.0.0.1");
+    first.addHeader("Authorization", "Bearer forged-1");
+    assertThat(execute(first).getStatus()).isEqualTo(200);
+
+    // When - a different forged token cannot buy a fresh bucket
+    MockHttpServletRequest second = request("/api/v1/myBalance/scroll", "10.0.0.1");
+    second.addHeader("Authorization", "Bearer forged-2");
+
+    // Then
+    assertThat(execute(second).getStatus()).isEqualTo(429);
+  }
+
+  @Test
+  @DisplayName("Should send CORS headers with a 429 so browsers can read it")
+  void shouldApplyCorsToRejections() throws Exception {
+    // Given
+    execute(request("/api/v1/contact", "10.0.0.1"));
+    execute(request("/api/v1/contact", "10.0.0.1"));
+
+    // When
+    MockHttpServletRequest request = request("/api/v1/contact", "10.0.0.1");
+    request.addHeader(HttpHeaders.ORIGIN, "http://localhost:4200");
+    MockHttpServletResponse response = execute(request);
+
+    // Then
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo("http://localhost:4200");
+    assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS)).contains("Retry-After");
+  }
+
+  @Test
+  @DisplayName("Should let CORS preflights through without spending tokens")
+  void shouldPassPreflights() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      MockHttpServletRequest preflight = new MockHttpServletRequest("OPTIONS", "/api/v1/contact");
+      preflight.setRemoteAddr("10.0.0.1");
+      preflight.addHeader(HttpHeaders.ORIGIN, "http://localhost:4200");
+      preflight.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+      assertThat(execute(preflight).getStatus()).isEqualTo(200);
+    }
+    assertThat(execute(request("/api/v1/contact", "10.0.0.1")).getStatus()).isEqualTo(200);
+  }
+
+  private MockHttpServletResponse execute(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+
+  private static MockHttpServletRequest request(String uri, String remoteAddr) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+    request.setRemoteAddr(remoteAddr);
+    return request;
+  }
+
+  private static Jwt jwt(String subject) {
+    return Jwt.withTokenValue("token-" + subject)
+        .header("alg", "RS256")
+        .subject(subject)
+        .issuedAt(Instant.now())
+        .expiresAt(Instant.now().plusSeconds(300))
+        .build();
+  }
+}
@@ -0,0 +1,97 @@
+package at.holly.easybankbackend.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TokenBucketLimiter
+ */
+@DisplayName("TokenBucketLimiter Tests")
+class TokenBucketLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  @DisplayName("Should allow a full burst and then reject with the time to the next token")
+  void shouldAllowBurstThenReject() {
+    // Given - 3 tokens, one per second
+    TokenBucketLimiter limiter = new TokenBucketLimiter(1024, 4);
+    TokenBucketLimiter.Limit limit = TokenBucketLimiter.Limit.of(3, 1);
+    long key = TokenBucketLimiter.hash(0, "10.0.0.1");
+    long now = 1_000 * SECOND;
+
+    // When / Then
+    assertThat(limiter.tryAcquire(key, limit, now)).isZero();
+    assertThat(limiter.tryAcquire(key, limit, now)).isZero();
+    assertThat(limiter.tryAcquire(key, limit, now)).isZero();
+    assertThat(limiter.tryAcquire(key, limit, now)).isEqualTo(SECOND);
+    assertThat(limiter.tryAcquire(key, limit, now + SECOND / 2)).isEqualTo(SECOND / 2);
+  }
+
+  @Test
+  @DisplayName("Should refill at the configured rate and cap the bucket at capacity")
+  void shouldRefill() {
+    // Given - an exhausted bucket
+    TokenBucketLimiter limiter = new TokenBucketLimiter(1024, 4);
+    TokenBucketLimiter.Limit limit = TokenBucketLimiter.Limit.of(2, 1);
+    long key = TokenBucketLimiter.hash(0, "user-1");
+    long now = 1_000 * SECOND;
+    limiter.tryAcquire(key, limit, now);
+    limiter.tryAcquire(key, limit, now);
+
+    // When / Then - one token per second
+    assertThat(limiter.tryAcquire(key, limit, now + SECOND)).isZero();
+    assertThat(limiter.tryAcquire(key, limit, now + SECOND)).isPositive();
+
+    // When / Then - a long idle period refills only up to capacity
+    long later = now + 60 * SECOND;
+    assertThat(limiter.tryAcquire(key, limit, later)).isZero();
+    assertThat(limiter.tryAcquire(key, limit, later)).isZero();
+    assertThat(limiter.tryAcquire(key, limit, later)).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should keep separate buckets per client and per route")
+  void shouldIsolateClientsAndRoutes() {
+    // Given
+    TokenBucketLimiter limiter = new TokenBucketLimiter(1024, 4);
+    TokenBucketLimiter.Limit limit = TokenBucketLimiter.Limit.of(1, 1);
+    long now = 1_000 * SECOND;
+    limiter.tryAcquire(TokenBucketLimiter.hash(0, "10.0.0.1"), limit, now);
+
+    // When / Then
+    assertThat(limiter.tryAcquire(TokenBucketLimiter.hash(0, "10.0.0.1"), limit, now)).isPositive();
+    assertThat(limiter.tryAcquire(TokenBucketLimiter.hash(0, "10.0.0.2"), limit, now)).isZero();
+    assertThat(limiter.tryAcquire(TokenBucketLimiter.hash(1, "10.0.0.1"), limit, now)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should stay within its fixed table when far more clients than slots appear")
+  void shouldBoundMemory() {
+    // Given - a tiny table
+    TokenBucketLimiter limiter = new TokenBucketLimiter(64, 4);
+    TokenBucketLimiter.Limit limit = TokenBucketLimiter.Limit.of(1, 1);
+    long now = 1_000 * SECOND;
+
+    // When - 10k distinct clients, each exhausting its bucket
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(limiter.tryAcquire(TokenBucketLimiter.hash(0, "client-" + i), limit, now)).isZero();
+    }
+
+    // Then - table size unchanged; once buckets have refilled, idle ones are reused
+    assertThat(limiter.slots()).isEqualTo(64);
+    assertThat(limiter.tryAcquire(TokenBucketLimiter.hash(0, "client-0"), limit, now + SECOND)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reject non-positive limits")
+  void shouldRejectInvalidLimits() {
+    assertThatThrownBy(() -> TokenBucketLimiter.Limit.of(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> TokenBucketLimiter.Limit.of(5, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
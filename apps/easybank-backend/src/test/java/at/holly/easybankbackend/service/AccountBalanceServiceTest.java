@@ -0,0 +1,283 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.BalanceVerificationReport;
+import at.holly.easybankbackend.enums.TransactionType;
+import at.holly.easybankbackend.model.AccountBalance;
+import at.holly.easybankbackend.model.AccountTransaction;
+import at.holly.easybankbackend.repository.AccountBalanceRepository;
+import at.holly.easybankbackend.repository.AccountTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for AccountBalanceService.
+ * Verifies incremental maintenance of the balance_summary table and drift detection.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("AccountBalanceService Tests")
+class AccountBalanceServiceTest {
+
+  private static final long USER_ID = 900L;
+  private static final long ACCOUNT_NUMBER = 90000001L;
+  private static final long CONCURRENT_ACCOUNT = 90000002L;
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @Autowired
+  private AccountBalanceService accountBalanceService;
+
+  @Autowired
+  private AccountBalanceRepository accountBalanceRepository;
+
+  @Autowired
+  private AccountTransactionRepository accountTransactionRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should update summary row on every recorded transaction")
+  void shouldUpdateSummaryIncrementally() {
+    // When
+    accountBalanceService.recordTransaction(transaction("AB-1", 1, TransactionType.CREDIT, "500", "500"));
+    accountBalanceService.recordTransaction(transaction("AB-2", 3, TransactionType.DEBIT, "200", "300"));
+    // Back-dated transaction must not move the current balance backwards
+    accountBalanceService.recordTransaction(transaction("AB-0", 2, TransactionType.CREDIT, "50", "550"));
+
+    // Then
+    AccountBalance balance = accountBalanceRepository.findById(ACCOUNT_NUMBER).orElseThrow();
+    assertThat(balance.getUserId()).isEqualTo(USER_ID);
+    assertThat(balance.getCurrentBalance()).isEqualByComparingTo("300");
+    assertThat(balance.getTotalCredits()).isEqualByComparingTo("550");
+    assertThat(balance.getTotalDebits()).isEqualByComparingTo("200");
+    assertThat(balance.getTransactionCount()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should report no drift when summary matches transactions")
+  void shouldReportNoDrift() {
+    // Given
+    accountBalanceService.recordTransaction(transaction("AB-1", 1, TransactionType.CREDIT, "500", "500"));
+    accountBalanceService.recordTransaction(transaction("AB-2", 2, TransactionType.DEBIT, "200", "300"));
+
+    // When
+    BalanceVerificationReport report = accountBalanceService.verify(false);
+
+    // Then
+    assertThat(report.isConsistent()).isTrue();
+    assertThat(report.getAccountsChecked()).isGreaterThanOrEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should detect and repair drift from writes that bypassed the summary")
+  void shouldDetectAndRepairDrift() {
+    // Given - one write through the service, one written directly
+    accountBalanceService.recordTransaction(transaction("AB-1", 1, TransactionType.CREDIT, "500", "500"));
+    accountTransactionRepository.saveAndFlush(transaction("AB-2", 2, TransactionType.DEBIT, "200", "300"));
+
+    // When
+    BalanceVerificationReport report = accountBalanceService.verify(true);
+
+    // Then
+    assertThat(report.getDriftedAccounts()).containsExactly(ACCOUNT_NUMBER);
+    assertThat(report.isRepaired()).isTrue();
+
+    accountBalanceRepository.flush();
+    AccountBalance balance = accountBalanceRepository.findById(ACCOUNT_NUMBER).orElseThrow();
+    assertThat(balance.getCurrentBalance()).isEqualByComparingTo("300");
+    assertThat(balance.getTotalDebits()).isEqualByComparingTo("200");
+    assertThat(balance.getTransactionCount()).isEqualTo(2);
+    assertThat(accountBalanceService.verify(false).isConsistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should backfill an empty summary table and leave a filled one alone")
+  void shouldBackfillEmptyTable() {
+    // Given - transactions that predate the table
+    accountTransactionRepository.saveAndFlush(transaction("AB-1", 1, TransactionType.CREDIT, "500", "500"));
+    jdbcTemplate.update("DELETE FROM balance_summary");
+
+    // When
+    BalanceVerificationReport report = accountBalanceService.backfill();
+
+    // Then
+    assertThat(report.getDriftedAccounts()).contains(ACCOUNT_NUMBER);
+    assertThat(report.isRepaired()).isTrue();
+    accountBalanceRepository.flush();
+    assertThat(accountBalanceRepository.findById(ACCOUNT_NUMBER).orElseThrow().getCurrentBalance())
+        .isEqualByComparingTo("500");
+    assertThat(accountBalanceService.verify(false).isConsistent()).isTrue();
+    assertThat(accountBalanceService.backfill().getAccountsChecked()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should create missing rows on the nightly run but only report other drift")
+  void shouldRepairOnlyMissingRowsOnScheduledRun() {
+    // Given - one drifted account and one without a row
+    accountBalanceService.recordTransaction(transaction("AB-1", 1, TransactionType.CREDIT, "500", "500"));
+    accountTransactionRepository.saveAndFlush(transaction("AB-2", 2, TransactionType.DEBIT, "200", "300"));
+    AccountTransaction other = transaction("AB-3", 1, TransactionType.CREDIT, "70", "70");
+    other.setAccountNumber(CONCURRENT_ACCOUNT);
+    accountTransactionRepository.saveAndFlush(other);
+
+    // When
+    accountBalanceService.scheduledVerify();
+
+    // Then
+    accountBalanceRepository.flush();
+    assertThat(accountBalanceRepository.findById(CONCURRENT_ACCOUNT).orElseThrow().getCurrentBalance())
+        .isEqualByComparingTo("70");
+    assertThat(accountBalanceRepository.findById(ACCOUNT_NUMBER).orElseThrow().getTransactionCount()).isEqualTo(1);
+    assertThat(accountBalanceService.verify(false).getDriftedAccounts()).containsExactly(ACCOUNT_NUMBER);
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  @DisplayName("Should not lose a transaction applied while drift is being repaired")
+  void shouldKeepConcurrentWriteDuringRepair() throws Exception {
+    // Given - a drifted account (second row written directly)
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    try {
+      transaction.executeWithoutResult(status ->
+          accountBalanceService.recordTransaction(concurrentTransaction("AB-C1", 1, TransactionType.CREDIT, "500", "500")));
+      transaction.executeWithoutResult(status ->
+          accountTransactionRepository.save(concurrentTransaction("AB-C2", 2, TransactionType.DEBIT, "200", "300")));
+
+      // When - the repair runs while another transaction holds the account's row with a new write
+      Future<BalanceVerificationReport> repair = transaction.execute(status -> {
+        accountBalanceService.recordTransaction(concurrentTransaction("AB-C3", 3, TransactionType.CREDIT, "50", "350"));
+        Future<BalanceVerificationReport> running = executor.submit(() -> accountBalanceService.verify(true));
+        sleep(300);
+        assertThat(running).isNotDone();
+        return running;
+      });
+
+      // Then - the repair waited for the write and recomputed with it
+      assertThat(repair.get(10, TimeUnit.SECONDS).getDriftedAccounts()).contains(CONCURRENT_ACCOUNT);
+      AccountBalance balance = accountBalanceRepository.findById(CONCURRENT_ACCOUNT).orElseThrow();
+      assertThat(balance.getTransactionCount()).isEqualTo(3);
+      assertThat(balance.getCurrentBalance()).isEqualByComparingTo("350");
+      assertThat(balance.getTotalCredits()).isEqualByComparingTo("550");
+    } finally {
+      jdbcTemplate.update("DELETE FROM account_transactions WHERE account_number = ?", CONCURRENT_ACCOUNT);
+      jdbcTemplate.update("DELETE FROM balance_summary WHERE account_number = ?", CONCURRENT_ACCOUNT);
+    }
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  @DisplayName("Should let concurrent first writers of an account share one summary row")
+  void shouldCreateSummaryRowOnceForConcurrentFirstWriters() throws Exception {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    try {
+      // When - the second writer starts while the first one's new row is not yet committed
+      Future<AccountTransaction> second = transaction.execute(status -> {
+        accountBalanceService.recordTransaction(concurrentTransaction("AB-N1", 1, TransactionType.CREDIT, "500", "500"));
+        Future<AccountTransaction> running = executor.submit(() -> transaction.execute(inner ->
+            accountBalanceService.recordTransaction(concurrentTransaction("AB-N2", 2, TransactionType.DEBIT, "200", "300"))));
+        sleep(300);
+        return running;
+      });
+
+      // Then - both applied to the same row
+      second.get(10, TimeUnit.SECONDS);
+      AccountBalance balance = accountBalanceRepository.findById(CONCURRENT_ACCOUNT).orElseThrow();
+      assertThat(balance.getTransactionCount()).isEqualTo(2);
+      assertThat(balance.getCurrentBalance()).isEqualByComparingTo("300");
+      assertThat(balance.getTotalCredits()).isEqualByComparingTo("500");
+      assertThat(balance.getTotalDebits()).isEqualByComparingTo("200");
+    } finally {
+      jdbcTemplate.update("DELETE FROM account_transactions WHERE account_number = ?", CONCURRENT_ACCOUNT);
+      jdbcTemplate.update("DELETE FROM balance_summary WHERE account_number = ?", CONCURRENT_ACCOUNT);
+    }
+  }
+
+  @Test
+  @DisplayName("Should assign a time-ordered id to transactions recorded without one")
+  void shouldAssignTimeOrderedId() {
+    // When
+    AccountTransaction first = accountBalanceService.recordTransaction(transaction(null, 1, TransactionType.CREDIT, "500", "500"));
+    AccountTransaction second = accountBalanceService.recordTransaction(transaction(null, 1, TransactionType.DEBIT, "200", "300"));
+
+    // Then - later ids sort after earlier ones, so same-day ordering follows insertion
+    assertThat(first.getTransactionId()).startsWith(AccountTransaction.ID_PREFIX).hasSize(17);
+    assertThat(second.getTransactionId()).isGreaterThan(first.getTransactionId());
+    assertThat(accountBalanceRepository.findById(ACCOUNT_NUMBER).orElseThrow().getCurrentBalance())
+        .isEqualByComparingTo("300");
+  }
+
+  @Test
+  @DisplayName("Should treat a generated id as newer than a legacy id of the same day")
+  void shouldOrderGeneratedIdAfterLegacyIdOfSameDay() {
+    // When - a legacy row (data.sql scheme), then a generated one dated the same day
+    accountBalanceService.recordTransaction(transaction("TXN-9002", 5, TransactionType.CREDIT, "500", "500"));
+    AccountTransaction posted = accountBalanceService.recordTransaction(transaction(null, 5, TransactionType.DEBIT, "200", "300"));
+
+    // Then - the generated row moved the balance, and a recompute agrees
+    AccountBalance balance = accountBalanceRepository.findById(ACCOUNT_NUMBER).orElseThrow();
+    assertThat(balance.getLastTransactionId()).isEqualTo(posted.getTransactionId());
+    assertThat(balance.getCurrentBalance()).isEqualByComparingTo("300");
+    accountBalanceRepository.flush();
+    assertThat(accountBalanceService.verify(false).isConsistent()).isTrue();
+  }
+
+  private AccountTransaction concurrentTransaction(String id, int day, TransactionType type, String amount,
+                                                   String closing) {
+    AccountTransaction transaction = transaction(id, day, type, amount, closing);
+    transaction.setAccountNumber(CONCURRENT_ACCOUNT);
+    return transaction;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private AccountTransaction transaction(String id, int day, TransactionType type, String amount, String closing) {
+    Date date = Date.valueOf(LocalDate.of(2025, 1, day));
+    return AccountTransaction.builder()
+        .transactionId(id)
+        .accountNumber(ACCOUNT_NUMBER)
+        .userId(USER_ID)
+        .transactionDt(date)
+        .transactionSummary("Test " + id)
+        .transactionType(type)
+        .transactionAmt(new BigDecimal(amount))
+        .closingBalance(new BigDecimal(closing))
+        .createDt(date)
+        .build();
+  }
+}
@@ -2,8 +2,6 @@ package at.holly.easybankbackend.service;
 
 import at.holly.easybankbackend.dto.AccountDto;
 import at.holly.easybankbackend.enums.AccountType;
-import at.holly.easybankbackend.mapper.AccountMapper;
-import at.holly.easybankbackend.model.Account;
 import at.holly.easybankbackend.model.User;
 import at.holly.easybankbackend.repository.AccountRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -32,9 +30,6 @@ class AccountServiceTest {
   @Mock
   private UserProvisioningService userProvisioningService;
 
-  @Mock
-  private AccountMapper accountMapper;
-
   @Mock
   private Authentication authentication;
 
@@ -50,23 +45,16 @@ class AccountServiceTest {
     user.setEmail("john.doe@example.com");
     user.setName("John Doe");
 
-    Account account = new Account();
-    account.setAccountNumber(123456789L);
-    account.setUserId(1L);
-    account.setAccountType(AccountType.SAVINGS);
-    account.setBranchAddress("Main Branch");
-    account.setCreateDt(new Date(System.currentTimeMillis()));
-
     AccountDto accountDto = AccountDto.builder()
         .accountNumber(123456789L)
         .userId(1L)
         .accountType(AccountType.SAVINGS)
         .branchAddress("Main Branch")
+        .createDt(new Date(System.currentTimeMillis()))
         .build();
 
     when(userProvisioningService.getOrCreateUser(authentication)).thenReturn(user);
-    when(accountRepository.findByUserId(1L)).thenReturn(account);
-    when(accountMapper.toDto(account)).thenReturn(accountDto);
+    when(accountRepository.findDtoByUserId(1L)).thenReturn(accountDto);
 
     // When
     AccountDto result = accountService.getAccountForUser(authentication);
@@ -78,8 +66,7 @@ class AccountServiceTest {
     assertThat(result.getAccountType()).isEqualTo(AccountType.SAVINGS);
 
     verify(userProvisioningService).getOrCreateUser(authentication);
-    verify(accountRepository).findByUserId(1L);
-    verify(accountMapper).toDto(account);
+    verify(accountRepository).findDtoByUserId(1L);
   }
 
   @Test
@@ -92,8 +79,7 @@ class AccountServiceTest {
     user.setName("John Doe");
 
     when(userProvisioningService.getOrCreateUser(authentication)).thenReturn(user);
-    when(accountRepository.findByUserId(1L)).thenReturn(null);
-    when(accountMapper.toDto(null)).thenReturn(null);
+    when(accountRepository.findDtoByUserId(1L)).thenReturn(null);
 
     // When
     AccountDto result = accountService.getAccountForUser(authentication);
@@ -102,8 +88,7 @@ class AccountServiceTest {
     assertThat(result).isNull();
 
     verify(userProvisioningService).getOrCreateUser(authentication);
-    verify(accountRepository).findByUserId(1L);
-    verify(accountMapper).toDto(null);
+    verify(accountRepository).findDtoByUserId(1L);
   }
 
   @Test
@@ -115,18 +100,13 @@ class AccountServiceTest {
     newUser.setEmail("new.user@example.com");
     newUser.setName("New User");
 
-    Account account = new Account();
-    account.setAccountNumber(987654321L);
-    account.setUserId(2L);
-
     AccountDto accountDto = AccountDto.builder()
         .accountNumber(987654321L)
         .userId(2L)
         .build();
 
     when(userProvisioningService.getOrCreateUser(authentication)).thenReturn(newUser);
-    when(accountRepository.findByUserId(2L)).thenReturn(account);
-    when(accountMapper.toDto(account)).thenReturn(accountDto);
+    when(accountRepository.findDtoByUserId(2L)).thenReturn(accountDto);
 
     // When
     AccountDto result = accountService.getAccountForUser(authentication);
@@ -136,6 +116,6 @@ class AccountServiceTest {
     assertThat(result.getUserId()).isEqualTo(2L);
 
     verify(userProvisioningService).getOrCreateUser(authentication);
-    verify(accountRepository).findByUserId(2L);
+    verify(accountRepository).findDtoByUserId(2L);
   }
 }
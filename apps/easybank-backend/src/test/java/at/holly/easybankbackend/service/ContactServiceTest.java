@@ -1,6 +1,7 @@
 package at.holly.easybankbackend.service;
 
 import at.holly.easybankbackend.dto.ContactDto;
+import at.holly.easybankbackend.id.TimeOrderedIdGenerator;
 import at.holly.easybankbackend.mapper.ContactMapper;
 import at.holly.easybankbackend.model.Contact;
 import at.holly.easybankbackend.repository.ContactRepository;
@@ -10,7 +11,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.sql.Date;
 
@@ -31,6 +34,12 @@ class ContactServiceTest {
   @Mock
   private ContactMapper contactMapper;
 
+  @Mock
+  private ObjectProvider<ContactWriteBehind> contactWriteBehind;
+
+  @Spy
+  private TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(1);
+
   @InjectMocks
   private ContactService contactService;
 
@@ -112,7 +121,7 @@ class ContactServiceTest {
     Contact savedContact = contactCaptor.getValue();
     assertThat(savedContact.getContactId()).isNotNull();
     assertThat(savedContact.getContactId()).startsWith("SR-");
-    assertThat(savedContact.getContactId()).matches("SR-[A-F0-9]{8}");
+    assertThat(savedContact.getContactId()).matches("SR-[0-9A-HJKMNP-TV-Z]{13}");
   }
 
   @Test
@@ -179,4 +188,31 @@ class ContactServiceTest {
     assertThat(savedContact.getSubject()).isEqualTo("Account Issue");
     assertThat(savedContact.getMessage()).isEqualTo("Cannot access my account dashboard");
   }
+
+  @Test
+  @DisplayName("Should hand the inquiry to write-behind instead of saving when enabled")
+  void shouldSubmitToWriteBehind() {
+    // Given
+    ContactDto inputDto = ContactDto.builder()
+        .contactName("Jane Smith")
+        .contactEmail("jane.smith@example.com")
+        .subject("Account Issue")
+        .message("Cannot access my account dashboard")
+        .build();
+
+    ContactWriteBehind writeBehind = mock(ContactWriteBehind.class);
+    when(contactWriteBehind.getIfAvailable()).thenReturn(writeBehind);
+    when(contactMapper.toEntity(inputDto)).thenReturn(new Contact());
+    when(contactMapper.toDto(any())).thenReturn(new ContactDto());
+
+    // When
+    contactService.saveContactInquiry(inputDto);
+
+    // Then
+    ArgumentCaptor<Contact> contactCaptor = ArgumentCaptor.forClass(Contact.class);
+    verify(writeBehind).submit(contactCaptor.capture());
+    assertThat(contactCaptor.getValue().getContactId()).matches("SR-[0-9A-HJKMNP-TV-Z]{13}");
+    assertThat(contactCaptor.getValue().getCreateDt()).isNotNull();
+    verifyNoInteractions(contactRepository);
+  }
 }
@@ -0,0 +1,291 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.exception.ServiceOverloadedException;
+import at.holly.easybankbackend.mapper.ContactMapper;
+import at.holly.easybankbackend.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ContactWriteBehind against a private in-memory H2 database.
+ */
+@DisplayName("ContactWriteBehind Tests")
+class ContactWriteBehindTest {
+
+  @TempDir
+  Path tempDir;
+
+  private JdbcTemplate jdbcTemplate;
+  private DataSourceTransactionManager transactionManager;
+  private SimpleMeterRegistry meterRegistry;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ContactMapper contactMapper = new ContactMapper();
+  private ContactWriteBehind writeBehind;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE contact_messages (contact_id VARCHAR(50) PRIMARY KEY, "
+        + "contact_name VARCHAR(100), contact_email VARCHAR(100), subject VARCHAR(500), "
+        + "message VARCHAR(2000), create_dt DATE)");
+    transactionManager = new DataSourceTransactionManager(dataSource);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (writeBehind != null && writeBehind.isRunning()) {
+      writeBehind.stop();
+    }
+    jdbcTemplate.execute("SHUTDOWN");
+  }
+
+  @Test
+  @DisplayName("Should write submissions in batches")
+  void shouldFlushInBatches() throws Exception {
+    // Given
+    writeBehind = create(100, 10, Duration.ofMillis(100));
+    writeBehind.start();
+
+    // When
+    for (int i = 0; i < 25; i++) {
+      writeBehind.submit(contact("SR-" + i));
+    }
+
+    // Then
+    awaitRows(25);
+    awaitPending(0);
+    assertThat(meterRegistry.get("easybank.contact.writebehind.batch.size").summary().count())
+        .isBetween(3L, 25L);
+    assertThat(meterRegistry.get("easybank.contact.writebehind.flush").timer().count()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should make concurrent submissions durable with shared fsyncs")
+  void shouldGroupCommitJournal() throws Exception {
+    // Given
+    writeBehind = create(1000, 100, Duration.ofMillis(50), true, DataSize.ofMegabytes(4));
+    writeBehind.start();
+    int threads = 16;
+    int perThread = 20;
+    CountDownLatch start = new CountDownLatch(1);
+
+    // When
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<Future<?>> submitters = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int thread = t;
+        submitters.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < perThread; i++) {
+            writeBehind.submit(contact("SR-" + thread + "-" + i));
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> submitter : submitters) {
+        submitter.get(30, TimeUnit.SECONDS);
+      }
+    }
+
+    // Then - every submission was forced, in fewer fsyncs than submissions
+    DistributionSummary syncs = meterRegistry.get("easybank.contact.writebehind.journal.sync.size").summary();
+    assertThat(syncs.totalAmount()).isEqualTo(threads * perThread);
+    assertThat(syncs.count()).isLessThan(threads * perThread);
+    awaitRows(threads * perThread);
+  }
+
+  @Test
+  @DisplayName("Should roll the journal over into segments and delete fully acked ones")
+  void shouldRotateJournalSegments() throws Exception {
+    // Given - segments of 1 KB, a few inquiries each
+    writeBehind = create(100, 10, Duration.ofMillis(20), false, DataSize.ofKilobytes(1));
+    writeBehind.start();
+
+    // When
+    for (int i = 0; i < 60; i++) {
+      writeBehind.submit(contact("SR-" + i));
+    }
+    awaitRows(60);
+    awaitPending(0);
+    // The last acks are appended asynchronously
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (segments().size() > 1 && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+
+    // Then - only the segment being written to is left
+    assertThat(segments()).hasSize(1);
+    assertThat(segments().getFirst().getFileName().toString()).isNotEqualTo("contact-journal.log.1");
+  }
+
+  @Test
+  @DisplayName("Should count and keep inquiries the database refuses")
+  void shouldReportDroppedInquiries() throws Exception {
+    // Given - a row with the same id already exists
+    jdbcTemplate.update(ContactWriteBehind.INSERT_SQL, "SR-DUP", "Jane", "jane@example.com",
+        "Subject", "Message text", Date.valueOf("2026-10-01"));
+    writeBehind = create(100, 10, Duration.ofMillis(50));
+    writeBehind.start();
+
+    // When
+    writeBehind.submit(contact("SR-OK"));
+    writeBehind.submit(contact("SR-DUP"));
+    awaitRows(2);
+    awaitPending(0);
+
+    // Then
+    assertThat(meterRegistry.get("easybank.contact.writebehind.dropped").counter().count()).isEqualTo(1);
+    assertThat(Files.readAllLines(tempDir.resolve("contact-journal.log.dropped")))
+        .singleElement().asString().contains("\"contactId\":\"SR-DUP\"");
+  }
+
+  @Test
+  @DisplayName("Should reject with ServiceOverloadedException once capacity is pending")
+  void shouldRejectWhenFull() {
+    // Given - long max-delay keeps the first batch open
+    writeBehind = create(2, 100, Duration.ofSeconds(10));
+    writeBehind.start();
+    writeBehind.submit(contact("SR-1"));
+    writeBehind.submit(contact("SR-2"));
+
+    // When / Then
+    assertThatThrownBy(() -> writeBehind.submit(contact("SR-3")))
+        .isInstanceOf(ServiceOverloadedException.class);
+    assertThat(meterRegistry.get("easybank.contact.writebehind.rejected").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("easybank.contact.writebehind.pending").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should flush pending submissions on stop")
+  void shouldFlushOnStop() {
+    // Given
+    writeBehind = create(100, 100, Duration.ofSeconds(10));
+    writeBehind.start();
+    for (int i = 0; i < 5; i++) {
+      writeBehind.submit(contact("SR-" + i));
+    }
+
+    // When
+    writeBehind.stop();
+
+    // Then
+    assertThat(countRows()).isEqualTo(5);
+    assertThat(writeBehind.pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should replay unacknowledged journal entries on start")
+  void shouldReplayJournal() throws Exception {
+    // Given - acked, already written, torn and unacknowledged entries
+    jdbcTemplate.update(ContactWriteBehind.INSERT_SQL, "SR-WRITTEN", "Jane", "jane@example.com",
+        "Subject", "Message text", Date.valueOf("2026-10-01"));
+    Files.write(journal(), List.of(
+        "+" + json(contact("SR-ACKED")),
+        "+" + json(contact("SR-WRITTEN")),
+        "+" + json(contact("SR-LOST")),
+        "-SR-ACKED",
+        "+{\"contactId\":\"SR-TORN\",\"contactNa"));
+    Files.write(tempDir.resolve("contact-journal.log.3"), List.of(
+        "+" + json(contact("SR-SEGMENT")),
+        "-SR-LOST-NEVER-ADDED"));
+    writeBehind = create(100, 10, Duration.ofMillis(100));
+
+    // When
+    writeBehind.start();
+
+    // Then - replayed journals are removed and writing continues in the next segment
+    assertThat(jdbcTemplate.queryForList("SELECT contact_id FROM contact_messages ORDER BY contact_id", String.class))
+        .containsExactly("SR-LOST", "SR-SEGMENT", "SR-WRITTEN");
+    assertThat(journal()).doesNotExist();
+    assertThat(segments()).extracting(path -> path.getFileName().toString()).containsExactly("contact-journal.log.4");
+  }
+
+  private ContactWriteBehind create(int capacity, int batchSize, Duration maxDelay) {
+    return create(capacity, batchSize, maxDelay, false, DataSize.ofMegabytes(4));
+  }
+
+  private ContactWriteBehind create(int capacity, int batchSize, Duration maxDelay, boolean fsync,
+                                    DataSize segmentSize) {
+    return new ContactWriteBehind(jdbcTemplate, transactionManager, contactMapper, objectMapper, meterRegistry,
+        capacity, batchSize, maxDelay, journal(), fsync, segmentSize);
+  }
+
+  private Path journal() {
+    return tempDir.resolve("contact-journal.log");
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.filter(path -> path.getFileName().toString().matches("contact-journal\\.log\\.\\d+"))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private String json(Contact contact) throws Exception {
+    return objectMapper.writeValueAsString(contactMapper.toDto(contact));
+  }
+
+  private static Contact contact(String id) {
+    return Contact.builder()
+        .contactId(id)
+        .contactName("John Doe")
+        .contactEmail("john.doe@example.com")
+        .subject("Support Request")
+        .message("I need help with my account")
+        .createDt(Date.valueOf("2026-10-17"))
+        .build();
+  }
+
+  private int countRows() {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contact_messages", Integer.class);
+  }
+
+  private void awaitRows(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (countRows() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(countRows()).isEqualTo(expected);
+  }
+
+  private void awaitPending(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (writeBehind.pending() != expected && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(writeBehind.pending()).isEqualTo(expected);
+  }
+}
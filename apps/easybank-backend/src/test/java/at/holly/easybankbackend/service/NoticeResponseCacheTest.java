@@ -0,0 +1,80 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.dto.NoticeDto;
+import at.holly.easybankbackend.service.NoticeResponseCache.EncodedPage;
+import at.holly.easybankbackend.service.NoticeResponseCache.Encoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NoticeResponseCache
+ */
+@DisplayName("NoticeResponseCache Tests")
+class NoticeResponseCacheTest {
+
+  private final NoticeResponseCache cache = new NoticeResponseCache(new ObjectMapper(), 16);
+
+  @Test
+  @DisplayName("Should reuse encoded bytes for the same snapshot and page")
+  void shouldReuseEncodedBytes() {
+    // Given
+    NoticeSnapshot snapshot = snapshot("Original");
+
+    // When
+    EncodedPage first = cache.get(snapshot, PageRequest.of(0, 10));
+    EncodedPage second = cache.get(snapshot, PageRequest.of(0, 10));
+
+    // Then
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  @DisplayName("Should drop all encoded pages when the snapshot version changes")
+  void shouldSwapGenerationOnNewSnapshot() {
+    // Given
+    EncodedPage original = cache.get(snapshot("Original"), PageRequest.of(0, 10));
+
+    // When
+    EncodedPage edited = cache.get(snapshot("Edited"), PageRequest.of(0, 10));
+
+    // Then
+    assertThat(edited).isNotSameAs(original);
+    assertThat(new String(edited.identity())).contains("Edited");
+  }
+
+  @Test
+  @DisplayName("Should negotiate Accept-Encoding by q-value and server preference")
+  void shouldNegotiateEncoding() {
+    assertThat(Encoding.negotiate(null)).isEqualTo(Encoding.IDENTITY);
+    assertThat(Encoding.negotiate("gzip, deflate, br")).isEqualTo(Encoding.GZIP);
+    assertThat(Encoding.negotiate("br, deflate")).isEqualTo(Encoding.DEFLATE);
+    assertThat(Encoding.negotiate("gzip;q=0.1, deflate;q=0.9")).isEqualTo(Encoding.DEFLATE);
+    assertThat(Encoding.negotiate("gzip;q=0")).isEqualTo(Encoding.IDENTITY);
+    assertThat(Encoding.negotiate("*")).isEqualTo(Encoding.GZIP);
+    assertThat(Encoding.negotiate("br")).isEqualTo(Encoding.IDENTITY);
+  }
+
+  @Test
+  @DisplayName("Should fall back to identity when compression does not shrink the body")
+  void shouldFallBackToIdentityForTinyBodies() {
+    // Given
+    EncodedPage page = new EncodedPage("\"tag\"", new byte[]{'{', '}'}, new byte[20], new byte[10]);
+
+    // Then
+    assertThat(page.effective(Encoding.GZIP)).isEqualTo(Encoding.IDENTITY);
+    assertThat(page.etag(Encoding.GZIP)).isEqualTo("\"tag\"");
+    assertThat(page.body(Encoding.DEFLATE)).isSameAs(page.identity());
+  }
+
+  private static NoticeSnapshot snapshot(String summary) {
+    return NoticeSnapshot.of(LocalDate.now(), List.of(
+        NoticeDto.builder().noticeId(1L).noticeSummary(summary).noticeDetails("Details").build()));
+  }
+}
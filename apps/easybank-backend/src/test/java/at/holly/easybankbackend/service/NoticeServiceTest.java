@@ -11,12 +11,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
 import java.sql.Date;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 /**
@@ -69,7 +75,7 @@ class NoticeServiceTest {
 
     List<NoticeDto> dtos = Arrays.asList(dto1, dto2);
 
-    when(noticeRepository.findAllActiveNotices()).thenReturn(notices);
+    when(noticeRepository.findAllActiveNotices(any())).thenReturn(notices);
     when(noticeMapper.toDtoList(notices)).thenReturn(dtos);
 
     // When
@@ -81,7 +87,8 @@ class NoticeServiceTest {
     assertThat(result.get(0).getNoticeSummary()).isEqualTo("System Maintenance");
     assertThat(result.get(1).getNoticeSummary()).isEqualTo("New Feature");
 
-    verify(noticeRepository).findAllActiveNotices();
+    // the application's date is passed to the query, not the database's
+    verify(noticeRepository).findAllActiveNotices(Date.valueOf(noticeService.getSnapshot().day()));
     verify(noticeMapper).toDtoList(notices);
   }
 
@@ -89,7 +96,7 @@ class NoticeServiceTest {
   @DisplayName("Should return empty list when no active notices exist")
   void shouldReturnEmptyListWhenNoActiveNotices() {
     // Given
-    when(noticeRepository.findAllActiveNotices()).thenReturn(Collections.emptyList());
+    when(noticeRepository.findAllActiveNotices(any())).thenReturn(Collections.emptyList());
     when(noticeMapper.toDtoList(Collections.emptyList())).thenReturn(Collections.emptyList());
 
     // When
@@ -99,7 +106,7 @@ class NoticeServiceTest {
     assertThat(result).isNotNull();
     assertThat(result).isEmpty();
 
-    verify(noticeRepository).findAllActiveNotices();
+    verify(noticeRepository).findAllActiveNotices(any());
     verify(noticeMapper).toDtoList(Collections.emptyList());
   }
 
@@ -120,7 +127,7 @@ class NoticeServiceTest {
         .noticeDetails("This notice is currently active")
         .build();
 
-    when(noticeRepository.findAllActiveNotices()).thenReturn(activeNotices);
+    when(noticeRepository.findAllActiveNotices(any())).thenReturn(activeNotices);
     when(noticeMapper.toDtoList(activeNotices)).thenReturn(Collections.singletonList(dto));
 
     // When
@@ -130,7 +137,84 @@ class NoticeServiceTest {
     assertThat(result).hasSize(1);
     assertThat(result.getFirst().getNoticeSummary()).isEqualTo("Active Notice");
 
-    verify(noticeRepository).findAllActiveNotices();
+    verify(noticeRepository).findAllActiveNotices(any());
     verify(noticeMapper).toDtoList(activeNotices);
   }
+
+  @Test
+  @DisplayName("Should serve repeated reads from the snapshot without querying again")
+  void shouldServeRepeatedReadsFromSnapshot() {
+    // Given
+    Notice notice = new Notice();
+    notice.setNoticeId(1L);
+    List<Notice> notices = Collections.singletonList(notice);
+    NoticeDto dto = NoticeDto.builder().noticeId(1L).noticeSummary("Cached").build();
+
+    when(noticeRepository.findAllActiveNotices(any())).thenReturn(notices);
+    when(noticeMapper.toDtoList(notices)).thenReturn(Collections.singletonList(dto));
+
+    // When
+    noticeService.getActiveNotices();
+    noticeService.getActiveNotices(PageRequest.of(0, 10));
+    List<NoticeDto> result = noticeService.getActiveNotices();
+
+    // Then
+    assertThat(result).extracting(NoticeDto::getNoticeSummary).containsExactly("Cached");
+    verify(noticeRepository, times(1)).findAllActiveNotices(any());
+  }
+
+  @Test
+  @DisplayName("Should sort and slice pages from the snapshot")
+  void shouldSortAndSlicePagesFromSnapshot() {
+    // Given
+    List<NoticeDto> dtos = Arrays.asList(
+        NoticeDto.builder().noticeId(1L).noticeSummary("B").noticBegDt(Date.valueOf("2025-01-02")).build(),
+        NoticeDto.builder().noticeId(2L).noticeSummary("A").noticBegDt(Date.valueOf("2025-01-03")).build(),
+        NoticeDto.builder().noticeId(3L).noticeSummary("C").noticBegDt(Date.valueOf("2025-01-01")).build());
+
+    when(noticeRepository.findAllActiveNotices(any())).thenReturn(Collections.emptyList());
+    when(noticeMapper.toDtoList(Collections.emptyList())).thenReturn(dtos);
+
+    // When
+    Page<NoticeDto> first = noticeService.getActiveNotices(
+        PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "noticBegDt")));
+    Page<NoticeDto> second = noticeService.getActiveNotices(
+        PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "noticBegDt")));
+
+    // Then
+    assertThat(first.getContent()).extracting(NoticeDto::getNoticeId).containsExactly(2L, 1L);
+    assertThat(second.getContent()).extracting(NoticeDto::getNoticeId).containsExactly(3L);
+    assertThat(first.getTotalElements()).isEqualTo(3);
+    assertThat(first.getTotalPages()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should reject sorting by an unknown property")
+  void shouldRejectUnknownSortProperty() {
+    // Given
+    when(noticeRepository.findAllActiveNotices(any())).thenReturn(Collections.emptyList());
+    when(noticeMapper.toDtoList(Collections.emptyList())).thenReturn(Collections.emptyList());
+
+    // When / Then
+    assertThatThrownBy(() -> noticeService.getActiveNotices(PageRequest.of(0, 10, Sort.by("createDt"))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("createDt");
+  }
+
+  @Test
+  @DisplayName("Should change the ETag only when the notices or the page request change")
+  void shouldDeriveStableETags() {
+    // Given
+    NoticeDto dto = NoticeDto.builder().noticeId(1L).noticeSummary("Original").build();
+    NoticeSnapshot snapshot = NoticeSnapshot.of(LocalDate.now(), List.of(dto));
+    NoticeSnapshot same = NoticeSnapshot.of(LocalDate.now(), List.of(
+        NoticeDto.builder().noticeId(1L).noticeSummary("Original").build()));
+    NoticeSnapshot edited = NoticeSnapshot.of(LocalDate.now(), List.of(
+        NoticeDto.builder().noticeId(1L).noticeSummary("Edited").build()));
+
+    // Then
+    assertThat(same.etag(PageRequest.of(0, 10))).isEqualTo(snapshot.etag(PageRequest.of(0, 10)));
+    assertThat(edited.etag(PageRequest.of(0, 10))).isNotEqualTo(snapshot.etag(PageRequest.of(0, 10)));
+    assertThat(snapshot.etag(PageRequest.of(1, 10))).isNotEqualTo(snapshot.etag(PageRequest.of(0, 10)));
+  }
 }
@@ -0,0 +1,138 @@
+package at.holly.easybankbackend.service;
+
+import at.holly.easybankbackend.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for JIT provisioning races against the real database.
+ * Not transactional: callers run in their own read-only transactions, as the services do,
+ * and keep them open after provisioning so an uncommitted create would be visible as a race.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("UserProvisioningService Integration Tests")
+class UserProvisioningIntegrationTest {
+
+  private static final String EMAIL_PATTERN = "jit.race.%@example.com";
+
+  @Autowired
+  private UserProvisioningService userProvisioningService;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PATTERN);
+  }
+
+  @Test
+  @DisplayName("Should commit a new user before returning, while the caller's transaction is still open")
+  void shouldCommitNewUserBeforeReturning() throws Exception {
+    // Given
+    String email = "jit.race.commit@example.com";
+    TransactionTemplate readOnly = readOnlyTransaction();
+
+    try (ExecutorService other = Executors.newSingleThreadExecutor()) {
+      // When
+      long visibleElsewhere = readOnly.execute(status -> {
+        userProvisioningService.getOrCreateUser(authentication("sub-commit", email));
+        // Then - another connection sees the row before the caller's transaction ends
+        try {
+          return other.submit(() -> countUsers(email)).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      });
+      assertThat(visibleElsewhere).isEqualTo(1);
+    }
+  }
+
+  @Test
+  @DisplayName("Should create only one user for concurrent first logins with the same email")
+  void shouldCreateSingleUserForConcurrentFirstLogins() throws Exception {
+    // Given - 16 first logins whose request transactions outlive the provisioning call
+    String email = "jit.race.concurrent@example.com";
+    TransactionTemplate readOnly = readOnlyTransaction();
+    int threads = 16;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Long>> results = new ArrayList<>(threads);
+
+    // When
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      for (int i = 0; i < threads; i++) {
+        Authentication authentication = authentication("sub-concurrent", email);
+        results.add(executor.submit(() -> {
+          start.await();
+          return readOnly.execute(status -> {
+            User user = userProvisioningService.getOrCreateUser(authentication);
+            sleep(50);
+            return user.getId();
+          });
+        }));
+      }
+      start.countDown();
+
+      // Then - every caller resolves the same committed user
+      Long first = results.getFirst().get(10, TimeUnit.SECONDS);
+      for (Future<Long> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(first);
+      }
+    }
+    assertThat(countUsers(email)).isEqualTo(1);
+  }
+
+  private TransactionTemplate readOnlyTransaction() {
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(true);
+    return template;
+  }
+
+  private long countUsers(String email) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Long.class, email);
+  }
+
+  private static Authentication authentication(String subject, String email) {
+    Jwt jwt = Jwt.withTokenValue("token")
+        .header("alg", "none")
+        .subject(subject)
+        .claim("email", email)
+        .claim("given_name", "Jit")
+        .claim("family_name", "Racer")
+        .build();
+    return new JwtAuthenticationToken(jwt);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
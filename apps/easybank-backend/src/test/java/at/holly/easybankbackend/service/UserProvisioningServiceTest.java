@@ -1,21 +1,30 @@
 package at.holly.easybankbackend.service;
 
+import at.holly.easybankbackend.datasource.ReadYourWrites;
 import at.holly.easybankbackend.model.User;
 import at.holly.easybankbackend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.Date;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,7 +50,16 @@ class UserProvisioningServiceTest {
     @Mock
     private Jwt jwt;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<ReadYourWrites> readYourWrites;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserIdentityCache userIdentityCache;
+
     private UserProvisioningService userProvisioningService;
 
     private static final String TEST_EMAIL = "john.doe@example.com";
@@ -50,8 +68,11 @@ class UserProvisioningServiceTest {
 
     @BeforeEach
     void setUp() {
-        // This method is intentionally empty
         // Mocks are configured per-test as needed
+        meterRegistry = new SimpleMeterRegistry();
+        userIdentityCache = new UserIdentityCache(100, Duration.ofMinutes(10), meterRegistry);
+        userProvisioningService = new UserProvisioningService(userRepository, jwtService, userIdentityCache,
+            transactionManager, readYourWrites, meterRegistry);
     }
 
     @Test
@@ -197,6 +218,97 @@ class UserProvisioningServiceTest {
         assertThat(capturedUser.getName()).isEqualTo("john.doe");
     }
 
+    @Test
+    @DisplayName("Should serve repeat lookups from the identity cache")
+    void shouldServeRepeatLookupsFromCache() {
+        // Given
+        when(jwtService.extractEmail(authentication)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(createTestUser()));
+
+        // When
+        userProvisioningService.getOrCreateUser(authentication);
+        User second = userProvisioningService.getOrCreateUser(authentication);
+
+        // Then
+        assertThat(second.getId()).isEqualTo(1L);
+        assertThat(second.getName()).isEqualTo("John Doe");
+        verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reload user after cache eviction")
+    void shouldReloadUserAfterEviction() {
+        // Given
+        when(jwtService.extractEmail(authentication)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(createTestUser()));
+        userProvisioningService.getOrCreateUser(authentication);
+
+        // When
+        userIdentityCache.evictByUserId(1L);
+        userProvisioningService.getOrCreateUser(authentication);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(TEST_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should bypass cached identity when JWT subject differs")
+    void shouldBypassCacheOnSubjectMismatch() {
+        // Given
+        when(jwtService.extractEmail(authentication)).thenReturn(TEST_EMAIL);
+        when(jwtService.extractSubject(authentication)).thenReturn("sub-1", "sub-2");
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(createTestUser()));
+
+        // When
+        userProvisioningService.getOrCreateUser(authentication);
+        userProvisioningService.getOrCreateUser(authentication);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(TEST_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should not block lookups of existing users while another user is being created")
+    void shouldNotBlockExistingUsersDuringCreation() throws Exception {
+        // Given - creation of a new user stalls inside save()
+        String newEmail = "new.user@example.com";
+        Authentication newAuth = mock(Authentication.class);
+        when(newAuth.getPrincipal()).thenReturn(jwt);
+        when(jwt.getClaimAsString("email")).thenReturn(newEmail);
+        when(jwtService.extractEmail(newAuth)).thenReturn(newEmail);
+        when(jwtService.extractEmail(authentication)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByEmail(newEmail)).thenReturn(Optional.empty());
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(createTestUser()));
+
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<User> creating = executor.submit(() -> userProvisioningService.getOrCreateUser(newAuth));
+            assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When - an existing user is resolved while the creation is still in progress
+            Future<User> existing = executor.submit(() -> userProvisioningService.getOrCreateUser(authentication));
+
+            // Then - it completes without waiting for the creation
+            assertThat(existing.get(1, TimeUnit.SECONDS).getEmail()).isEqualTo(TEST_EMAIL);
+            assertThat(creating.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(creating.get(5, TimeUnit.SECONDS).getEmail()).isEqualTo(newEmail);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Helper method to create a test user
      */
@@ -0,0 +1,66 @@
+package at.holly.easybankbackend.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ShardMap and its construction from ShardProperties.
+ */
+@DisplayName("ShardMap Tests")
+class ShardMapTest {
+
+  @Test
+  @DisplayName("Should spread sequential user ids evenly and deterministically over hash shards")
+  void shouldSpreadHashShards() {
+    // Given
+    ShardMap shardMap = ShardMap.hash(4);
+    int[] users = new int[4];
+
+    // When
+    for (long userId = 1; userId <= 40_000; userId++) {
+      int shard = shardMap.shardFor(userId);
+      assertThat(shard).isBetween(0, 3);
+      users[shard]++;
+    }
+
+    // Then - within 5% of an even split
+    for (int count : users) {
+      assertThat(count).isBetween(9_500, 10_500);
+    }
+    assertThat(shardMap.shardFor(12345)).isEqualTo(ShardMap.hash(4).shardFor(12345));
+  }
+
+  @Test
+  @DisplayName("Should assign contiguous id ranges with an open-ended last shard")
+  void shouldAssignRanges() {
+    // Given
+    ShardMap shardMap = ShardMap.range(List.of(1000L, 5000L));
+
+    // When / Then
+    assertThat(shardMap.shardCount()).isEqualTo(3);
+    assertThat(shardMap.shardFor(1)).isZero();
+    assertThat(shardMap.shardFor(999)).isZero();
+    assertThat(shardMap.shardFor(1000)).isEqualTo(1);
+    assertThat(shardMap.shardFor(4999)).isEqualTo(1);
+    assertThat(shardMap.shardFor(5000)).isEqualTo(2);
+    assertThat(shardMap.shardFor(Long.MAX_VALUE)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should reject invalid shard configurations")
+  void shouldRejectInvalidConfiguration() {
+    assertThatThrownBy(() -> ShardMap.hash(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ShardMap.range(List.of(5000L, 1000L))).isInstanceOf(IllegalArgumentException.class);
+
+    ShardProperties missingBound = new ShardProperties(List.of("jdbc:h2:mem:a", "jdbc:h2:mem:b", "jdbc:h2:mem:c"),
+        null, null, 10, ShardProperties.Strategy.RANGE, List.of(1000L));
+    assertThatThrownBy(missingBound::toShardMap)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("needs 2 bounds");
+  }
+}
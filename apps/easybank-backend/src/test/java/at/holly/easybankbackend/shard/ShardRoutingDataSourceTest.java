@@ -0,0 +1,202 @@
+package at.holly.easybankbackend.shard;
+
+import at.holly.easybankbackend.concurrent.QueryFanOut;
+import at.holly.easybankbackend.concurrent.QueryScope;
+import at.holly.easybankbackend.model.User;
+import at.holly.easybankbackend.service.UserProvisioningService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ShardRoutingDataSource, ShardScatterGather and the request binding.
+ * Directory and shards are private in-memory H2 databases that answer "who are you" differently.
+ */
+@DisplayName("ShardRoutingDataSource Tests")
+class ShardRoutingDataSourceTest {
+
+  private static final int SHARDS = 3;
+
+  private SimpleMeterRegistry meterRegistry;
+  private JdbcTemplate directory;
+  private List<JdbcTemplate> shards;
+  private JdbcTemplate routed;
+  private DataSourceTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    directory = database("directory");
+    shards = List.of(database("shard-0"), database("shard-1"), database("shard-2"));
+    ShardRoutingDataSource routing = new ShardRoutingDataSource(directory.getDataSource(),
+        shards.stream().map(JdbcTemplate::getDataSource).toList(), meterRegistry);
+
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+    routed = new JdbcTemplate(dataSource);
+    transactionManager = new DataSourceTransactionManager(dataSource);
+    // The proxy probes one connection for its defaults on first use
+    whoAmI();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    directory.execute("SHUTDOWN");
+    shards.forEach(shard -> shard.execute("SHUTDOWN"));
+  }
+
+  @Test
+  @DisplayName("Should route to the bound shard and to the directory when none is bound")
+  void shouldRouteByBinding() {
+    assertThat(whoAmI()).isEqualTo("directory");
+
+    try (ShardContext.Scope outer = ShardContext.bind(1)) {
+      assertThat(whoAmI()).isEqualTo("shard-1");
+      assertThat(ShardContext.callOn(null, this::whoAmI)).isEqualTo("directory");
+      assertThat(ShardContext.callOn(2, this::whoAmI)).isEqualTo("shard-2");
+      assertThat(whoAmI()).isEqualTo("shard-1");
+    }
+
+    assertThat(ShardContext.current()).isNull();
+    assertThat(routes("shard-1")).isEqualTo(2);
+    assertThat(routes("shard-2")).isEqualTo(1);
+    assertThatThrownBy(() -> ShardContext.callOn(SHARDS, this::whoAmI))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("No shard 3");
+  }
+
+  @Test
+  @DisplayName("Should run scatter-gather tasks on every shard in parallel and gather in shard order")
+  void shouldScatterAcrossShards() {
+    // Given - a task that can only finish once it runs on all shards at the same time
+    ShardScatterGather scatterGather = scatterGather(ShardMap.hash(SHARDS));
+    CountDownLatch allStarted = new CountDownLatch(SHARDS);
+
+    // When
+    List<String> results = scatterGather.onAllShards("test", () -> {
+      allStarted.countDown();
+      await(allStarted);
+      return whoAmI();
+    });
+
+    // Then
+    assertThat(results).containsExactly("shard-0", "shard-1", "shard-2");
+    assertThat(meterRegistry.get("easybank.shard.scatter").tag("name", "test").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should fail scatter-gather on the first failing shard")
+  void shouldFailScatterOnShardFailure() {
+    // Given
+    shards.get(1).execute("DROP TABLE source");
+    ShardScatterGather scatterGather = scatterGather(ShardMap.hash(SHARDS));
+
+    // When / Then
+    assertThatThrownBy(() -> scatterGather.onAllShards("test", this::whoAmI))
+        .isInstanceOf(BadSqlGrammarException.class);
+  }
+
+  @Test
+  @DisplayName("Should run once on the current database when sharding is not configured")
+  void shouldRunOnceWithoutSharding() {
+    assertThat(scatterGather(null).onAllShards("test", this::whoAmI)).containsExactly("directory");
+  }
+
+  @Test
+  @DisplayName("Should carry the bound shard into parallel query forks")
+  void shouldPropagateShardToForks() {
+    // Given
+    QueryFanOut fanOut = new QueryFanOut(true, 4, transactionManager, meterRegistry);
+
+    // When
+    Supplier<String> forked;
+    try (ShardContext.Scope bound = ShardContext.bind(2); QueryScope scope = fanOut.open("test")) {
+      forked = scope.fork(this::whoAmI);
+      scope.join();
+    }
+
+    // Then
+    assertThat(forked.get()).isEqualTo("shard-2");
+  }
+
+  @Test
+  @DisplayName("Should bind the authenticated user's shard for the request and unbind afterwards")
+  void shouldBindUserShardPerRequest() {
+    // Given
+    UserProvisioningService userProvisioningService = mock(UserProvisioningService.class);
+    when(userProvisioningService.getOrCreateUser(any())).thenReturn(User.builder().id(4500L).build());
+    ShardMap shardMap = ShardMap.range(List.of(1000L, 5000L));
+    ShardBindingInterceptor interceptor = new ShardBindingInterceptor(userProvisioningService, shardMap);
+    Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("alice").build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/myCards");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    interceptor.preHandle(request, response, new Object());
+    String during = whoAmI();
+    interceptor.afterCompletion(request, response, new Object(), null);
+
+    // Then
+    assertThat(during).isEqualTo("shard-1");
+    assertThat(request.getAttribute(ShardBindingInterceptor.SHARD_ATTRIBUTE)).isEqualTo(1);
+    assertThat(ShardContext.current()).isNull();
+  }
+
+  private ShardScatterGather scatterGather(ShardMap shardMap) {
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+        shardMap != null ? Map.of("shardMap", shardMap) : Map.of());
+    return new ShardScatterGather(beanFactory.getBeanProvider(ShardMap.class), transactionManager, meterRegistry);
+  }
+
+  private String whoAmI() {
+    return routed.queryForObject("SELECT name FROM source", String.class);
+  }
+
+  private double routes(String target) {
+    return meterRegistry.get("easybank.datasource.shard.route").tag("target", target).counter().count();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static JdbcTemplate database(String name) {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(
+        new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    jdbcTemplate.execute("CREATE TABLE source (name VARCHAR(20))");
+    jdbcTemplate.update("INSERT INTO source VALUES (?)", name);
+    return jdbcTemplate;
+  }
+}
@@ -0,0 +1,235 @@
+package at.holly.easybankbackend.support;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Keycloak JWKS endpoint plus an offline token mint.
+ * <p>
+ * Generates an RSA key pair, serves its public half as a JWK set over HTTP on an ephemeral
+ * loopback port, and signs Keycloak-shaped access tokens (email, names, preferred_username,
+ * realm_access.roles) with the private half. Pointing {@code jwk-set-uri} at {@link #jwkSetUri()}
+ * lets tests go through the real decoder, {@code KeyCloakRoleConverter}, {@code JwtService}
+ * and JIT provisioning instead of the {@code jwt()} MockMvc post-processor.
+ * <p>
+ * Typical use:
+ * <pre>{@code
+ * @DynamicPropertySource
+ * static void jwks(DynamicPropertyRegistry registry) {
+ *   LocalJwks.shared().register(registry);
+ * }
+ * }</pre>
+ */
+public final class LocalJwks implements AutoCloseable {
+
+  public static final String ISSUER = "http://localhost/realms/EasyBankLocal";
+  public static final Duration DEFAULT_LIFETIME = Duration.ofHours(1);
+
+  private static volatile LocalJwks shared;
+
+  private final String keyId = UUID.randomUUID().toString();
+  private final RSAPublicKey publicKey;
+  private final JWSSigner signer;
+  private final HttpServer server;
+  private final AtomicInteger jwksRequests = new AtomicInteger();
+
+  /**
+   * A test user as Keycloak would describe them in an access token
+   *
+   * @param subject the Keycloak user id (sub)
+   * @param username preferred_username
+   * @param email email claim - the key JIT provisioning uses
+   * @param givenName given_name
+   * @param familyName family_name
+   * @param roles realm roles (without the ROLE_ prefix)
+   */
+  public record TestUser(String subject, String username, String email, String givenName, String familyName,
+                         List<String> roles) {
+
+    /**
+     * Build a user with a random subject and names derived from the username
+     */
+    public static TestUser of(String username, List<String> roles) {
+      return new TestUser(UUID.randomUUID().toString(), username, username + "@easybank.test",
+          "Load", username, List.copyOf(roles));
+    }
+  }
+
+  private LocalJwks() {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      KeyPair keyPair = generator.generateKeyPair();
+      this.publicKey = (RSAPublicKey) keyPair.getPublic();
+      this.signer = new RSASSASigner((RSAPrivateKey) keyPair.getPrivate());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("RSA not available", e);
+    }
+
+    byte[] jwks = new JWKSet(new RSAKey.Builder(publicKey)
+        .keyID(keyId)
+        .keyUse(KeyUse.SIGNATURE)
+        .algorithm(JWSAlgorithm.RS256)
+        .build()).toString().getBytes(StandardCharsets.UTF_8);
+    try {
+      this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    server.createContext("/certs", exchange -> {
+      jwksRequests.incrementAndGet();
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, jwks.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(jwks);
+      }
+    });
+    server.start();
+  }
+
+  /**
+   * Start a new, independent JWKS endpoint with its own key
+   */
+  public static LocalJwks start() {
+    return new LocalJwks();
+  }
+
+  /**
+   * The JVM-wide instance, started on first use and stopped on JVM exit.
+   * Shared so cached Spring contexts keep a valid jwk-set-uri across test classes.
+   */
+  public static LocalJwks shared() {
+    LocalJwks instance = shared;
+    if (instance == null) {
+      synchronized (LocalJwks.class) {
+        instance = shared;
+        if (instance == null) {
+          instance = new LocalJwks();
+          Runtime.getRuntime().addShutdownHook(new Thread(instance::close, "local-jwks-shutdown"));
+          shared = instance;
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Point the resource server at this endpoint
+   */
+  public void register(DynamicPropertyRegistry registry) {
+    registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", this::jwkSetUri);
+  }
+
+  /**
+   * @return URL of the JWK set
+   */
+  public String jwkSetUri() {
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/certs";
+  }
+
+  /**
+   * @return number of times the JWK set has been fetched (shows the decoder's key cache at work)
+   */
+  public int jwksRequests() {
+    return jwksRequests.get();
+  }
+
+  /**
+   * Generate distinct users, e.g. {@code users("load", 5000, "USER")} gives load-00000 .. load-04999
+   *
+   * @param prefix username prefix
+   * @param count number of users
+   * @param roles realm roles every user gets
+   * @return the users
+   */
+  public List<TestUser> users(String prefix, int count, String... roles) {
+    List<TestUser> users = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      users.add(TestUser.of(String.format("%s-%05d", prefix, i), List.of(roles)));
+    }
+    return users;
+  }
+
+  /**
+   * Sign an access token valid for {@link #DEFAULT_LIFETIME}
+   */
+  public String mint(TestUser user) {
+    return mint(user, Instant.now().plus(DEFAULT_LIFETIME));
+  }
+
+  /**
+   * Sign an access token expiring at the given instant
+   */
+  public String mint(TestUser user, Instant expiresAt) {
+    // Backdate iat for already-expired tokens, so they fail on exp and not on iat > exp
+    Instant now = Instant.now();
+    Instant issuedAt = expiresAt.isAfter(now) ? now : expiresAt.minus(DEFAULT_LIFETIME);
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .issuer(ISSUER)
+        .subject(user.subject())
+        .audience("account")
+        .issueTime(Date.from(issuedAt))
+        .notBeforeTime(Date.from(issuedAt.minusSeconds(1)))
+        .expirationTime(Date.from(expiresAt))
+        .jwtID(UUID.randomUUID().toString())
+        .claim("typ", "Bearer")
+        .claim("azp", "easybank-frontend")
+        .claim("preferred_username", user.username())
+        .claim("email", user.email())
+        .claim("email_verified", true)
+        .claim("given_name", user.givenName())
+        .claim("family_name", user.familyName())
+        .claim("name", user.givenName() + " " + user.familyName())
+        .claim("realm_access", Map.of("roles", user.roles()))
+        .build();
+    SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(), claims);
+    try {
+      jwt.sign(signer);
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Failed to sign test token", e);
+    }
+    return jwt.serialize();
+  }
+
+  /**
+   * Mint one token per user (signing is the expensive part - do it before the measured phase)
+   */
+  public List<String> mintAll(List<TestUser> users) {
+    return users.stream().map(this::mint).toList();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+}